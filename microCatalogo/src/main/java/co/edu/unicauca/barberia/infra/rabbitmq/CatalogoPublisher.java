@@ -1,10 +1,16 @@
 package co.edu.unicauca.barberia.infra.rabbitmq;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Publica en el exchange del catálogo cada cambio de un servicio, con una clave de ruteo
+ * por tipo de cambio. Turnos mantiene con estos eventos su réplica de duraciones y estados.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CatalogoPublisher {
@@ -17,8 +23,27 @@ public class CatalogoPublisher {
     @Value("${app.rabbitmq.routingKey}")
     private String routingKey;
 
-    public void enviarServicioCreado(Object mensaje) {
-        rabbitTemplate.convertAndSend(exchange, routingKey, mensaje);
-        System.out.println("[Catalogo] Mensaje enviado a RabbitMQ: " + mensaje);
+    @Value("${app.rabbitmq.routingKeyActualizado}")
+    private String routingKeyActualizado;
+
+    @Value("${app.rabbitmq.routingKeyEliminado}")
+    private String routingKeyEliminado;
+
+    public void enviarServicioCreado(EventoServicio evento) {
+        enviar(routingKey, evento);
+    }
+
+    // También para activar/desactivar: el evento lleva el estado nuevo
+    public void enviarServicioActualizado(EventoServicio evento) {
+        enviar(routingKeyActualizado, evento);
+    }
+
+    public void enviarServicioEliminado(EventoServicio evento) {
+        enviar(routingKeyEliminado, evento);
+    }
+
+    private void enviar(String clave, EventoServicio evento) {
+        rabbitTemplate.convertAndSend(exchange, clave, evento);
+        log.debug("Mensaje enviado a RabbitMQ ({}): {}", clave, evento);
     }
 }
@@ -0,0 +1,25 @@
+package co.edu.unicauca.barberia.infra.rabbitmq;
+
+import co.edu.unicauca.barberia.entity.Servicio;
+import lombok.Data;
+
+/**
+ * Estado de un servicio tal como queda después de crearlo, actualizarlo, cambiarle el
+ * estado o eliminarlo; la clave de ruteo indica cuál de los casos es.
+ */
+@Data
+public class EventoServicio {
+    private Long id;
+    private String nombre;
+    private Integer duracion;
+    private Double precio;
+    private Boolean estado;
+
+    public EventoServicio(Servicio servicio) {
+        this.id = servicio.getId();
+        this.nombre = servicio.getNombre();
+        this.duracion = servicio.getDuracion();
+        this.precio = servicio.getPrecio();
+        this.estado = servicio.getEstado();
+    }
+}
@@ -1,5 +1,6 @@
 package co.edu.unicauca.barberia.infra.rabbitmq;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,4 +33,10 @@ public class RabbitMQConfig {
                 .to(catalogoExchange())
                 .with(routingKey);
     }
+
+    // Los eventos viajan en JSON para que los lean servicios escritos con otras clases
+    @Bean
+    public Jackson2JsonMessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
 }
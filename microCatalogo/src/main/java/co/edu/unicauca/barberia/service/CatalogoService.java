@@ -5,7 +5,7 @@ import co.edu.unicauca.barberia.infra.excepciones.EstadoInvalidoException;
 import co.edu.unicauca.barberia.infra.excepciones.RecursoNoEncontradoException;
 import co.edu.unicauca.barberia.infra.excepciones.RecursoYaExisteException;
 import co.edu.unicauca.barberia.infra.rabbitmq.CatalogoPublisher;
-import co.edu.unicauca.barberia.infra.rabbitmq.EventoServicioCreado;
+import co.edu.unicauca.barberia.infra.rabbitmq.EventoServicio;
 import co.edu.unicauca.barberia.repository.CatalogosRepository;
 import co.edu.unicauca.barberia.service.Dtos.ServicioDTOPeticion;
 import co.edu.unicauca.barberia.service.Dtos.ServicioDTORespuesta;
@@ -64,11 +64,8 @@ public class CatalogoService {
         // 4. Guardar servicio en BD
         Servicio guardado = catalogoRepository.save(servicio);
 
-        // 5. Crear DTO del evento (solo id + nombre)
-        EventoServicioCreado evento = new EventoServicioCreado(
-                guardado.getId(),
-                guardado.getNombre()
-        );
+        // 5. Crear DTO del evento (id, nombre, duración, precio y estado)
+        EventoServicio evento = new EventoServicio(guardado);
 
         // 6. Enviar evento por RabbitMQ
         publisher.enviarServicioCreado(evento);
@@ -138,6 +135,7 @@ public class CatalogoService {
         }
 
         Servicio actualizado = catalogoRepository.save(servicio);
+        publisher.enviarServicioActualizado(new EventoServicio(actualizado));
         return modelMapper.map(actualizado, ServicioDTORespuesta.class);
     }
 
@@ -164,6 +162,7 @@ public class CatalogoService {
         }
 
         catalogoRepository.delete(servicio);
+        publisher.enviarServicioEliminado(new EventoServicio(servicio));
     }
 
     // CAMBIAR ESTADO DEL SERVICIO (ACTIVAR/DESACTIVAR)
@@ -174,7 +173,8 @@ public class CatalogoService {
         
         servicio.setEstado(nuevoEstado);
         Servicio actualizado = catalogoRepository.save(servicio);
-        
+        publisher.enviarServicioActualizado(new EventoServicio(actualizado));
+
         return modelMapper.map(actualizado, ServicioDTORespuesta.class);
     }
 
@@ -0,0 +1,7 @@
+package co.edu.unicauca.microserviceturnos.Excepciones;
+
+public class CarrilOcupadoException extends RuntimeException {
+    public CarrilOcupadoException(String message) {
+        super(message);
+    }
+}
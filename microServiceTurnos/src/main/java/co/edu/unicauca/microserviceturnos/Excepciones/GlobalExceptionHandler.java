@@ -1,5 +1,6 @@
 package co.edu.unicauca.microserviceturnos.Excepciones;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -47,6 +48,23 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, ex, req);
     }
 
+    @ExceptionHandler(CarrilOcupadoException.class)
+    public ResponseEntity<ErrorResponse> handleCarrilOcupado(CarrilOcupadoException ex, WebRequest req) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex, req);
+    }
+
+    @ExceptionHandler(ServicioNoDisponibleException.class)
+    public ResponseEntity<ErrorResponse> handleServicioNoDisponible(ServicioNoDisponibleException ex, WebRequest req) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex, req);
+    }
+
+    // Otra instancia cambió el turno entre la lectura y el commit
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencia(OptimisticLockingFailureException ex, WebRequest req) {
+        return buildResponse(HttpStatus.CONFLICT,
+                new TurnoModificadoException("El turno cambió mientras se procesaba, intenta de nuevo."), req);
+    }
+
     // Fallback general
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneral(Exception ex, WebRequest req) {
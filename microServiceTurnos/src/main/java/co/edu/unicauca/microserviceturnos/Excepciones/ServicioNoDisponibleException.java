@@ -0,0 +1,7 @@
+package co.edu.unicauca.microserviceturnos.Excepciones;
+
+public class ServicioNoDisponibleException extends RuntimeException {
+    public ServicioNoDisponibleException(String message) {
+        super(message);
+    }
+}
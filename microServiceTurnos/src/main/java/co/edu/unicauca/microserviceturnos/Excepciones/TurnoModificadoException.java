@@ -0,0 +1,7 @@
+package co.edu.unicauca.microserviceturnos.Excepciones;
+
+public class TurnoModificadoException extends RuntimeException {
+    public TurnoModificadoException(String message) {
+        super(message);
+    }
+}
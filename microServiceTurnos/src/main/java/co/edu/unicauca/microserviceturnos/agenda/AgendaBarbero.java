@@ -0,0 +1,143 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Índice de intervalos de un barbero ordenado por minuto de inicio.
+ *
+ * Para saber si un rango choca solo se revisan los turnos cuyo inicio cae en
+ * (inicio - duracionMaxima - buffer, fin + buffer), así que la consulta es O(log n + k)
+ * con k casi siempre 0 o 1.
+ *
+ * Además guarda, por día, la máscara de ocupación en celdas de 5 minutos (turno + buffer
+ * a cada lado). Al agregar un turno se marcan sus celdas; al retirarlo se descarta la
+ * máscara de los días afectados y se recalcula la próxima vez que se pida.
+ */
+class AgendaBarbero {
+
+    private final int buffer;
+
+    private final TreeMap<Long, List<IntervaloTurno>> porInicio = new TreeMap<>();
+    private final Map<UUID, IntervaloTurno> porId = new HashMap<>();
+    private final Map<Long, long[]> mascaras = new HashMap<>();
+
+    // Solo crece: al retirar un turno largo la ventana queda un poco más ancha, nunca incorrecta
+    private int duracionMaxima;
+
+    AgendaBarbero(int buffer) {
+        this.buffer = buffer;
+    }
+
+    synchronized void agregar(IntervaloTurno intervalo) {
+        retirar(intervalo.getId());
+        porId.put(intervalo.getId(), intervalo);
+        porInicio.computeIfAbsent(intervalo.getInicio(), k -> new ArrayList<>(1)).add(intervalo);
+        duracionMaxima = Math.max(duracionMaxima, intervalo.getDuracion());
+
+        long desde = intervalo.getInicio() - buffer;
+        long hasta = intervalo.getFin() + buffer;
+        for (long dia = diaDe(desde); dia <= diaDe(hasta - 1); dia++) {
+            long[] mascara = mascaras.get(dia);
+            if (mascara != null) marcar(mascara, dia, desde, hasta);
+        }
+    }
+
+    synchronized IntervaloTurno retirar(UUID id) {
+        IntervaloTurno existente = porId.remove(id);
+        if (existente == null) return null;
+
+        List<IntervaloTurno> mismos = porInicio.get(existente.getInicio());
+        if (mismos != null) {
+            mismos.removeIf(i -> i.getId().equals(id));
+            if (mismos.isEmpty()) porInicio.remove(existente.getInicio());
+        }
+
+        // Los buffers de turnos vecinos pueden compartir celdas: se recalcula el día completo
+        for (long dia = diaDe(existente.getInicio() - buffer); dia <= diaDe(existente.getFin() + buffer - 1); dia++) {
+            mascaras.remove(dia);
+        }
+        return existente;
+    }
+
+    /**
+     * Misma regla que createTurno: el turno existente ocupa
+     * [inicio - buffer, fin + buffer) y choca si se cruza con [inicio, fin) del nuevo.
+     */
+    synchronized boolean haySolapamiento(long inicio, long fin, UUID excluir) {
+        for (List<IntervaloTurno> lista : candidatos(inicio, fin).values()) {
+            for (IntervaloTurno existente : lista) {
+                if (existente.getId().equals(excluir)) continue;
+
+                long inicioExist = existente.getInicio() - buffer;
+                long finExist = existente.getFin() + buffer;
+                if (inicio < finExist && fin > inicioExist) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Minutos libres desde {@code inicio} (sin contar el turno excluido) hasta el próximo
+     * turno menos su buffer, sin pasar de {@code tope}. 0 si {@code inicio} ya está ocupado.
+     */
+    synchronized long minutosLibres(long inicio, long tope, UUID excluir) {
+        if (haySolapamiento(inicio, inicio + 1, excluir)) return 0;
+
+        for (Map.Entry<Long, List<IntervaloTurno>> e : porInicio.tailMap(inicio, false).entrySet()) {
+            if (e.getKey() - buffer >= tope) break;
+            for (IntervaloTurno siguiente : e.getValue()) {
+                if (!siguiente.getId().equals(excluir)) {
+                    return Math.max(0, e.getKey() - buffer - inicio);
+                }
+            }
+        }
+        return tope - inicio;
+    }
+
+    /** Copia de la máscara de ocupación del día (días desde epoch). */
+    synchronized long[] ocupacion(long dia) {
+        return mascaras.computeIfAbsent(dia, this::calcularMascara).clone();
+    }
+
+    synchronized int tamanio() {
+        return porId.size();
+    }
+
+    private long[] calcularMascara(long dia) {
+        long inicioDia = dia * MascaraDia.MINUTOS_DIA;
+        long finDia = inicioDia + MascaraDia.MINUTOS_DIA;
+        long[] mascara = MascaraDia.nueva();
+
+        for (List<IntervaloTurno> lista : candidatos(inicioDia, finDia).values()) {
+            for (IntervaloTurno i : lista) {
+                marcar(mascara, dia, i.getInicio() - buffer, i.getFin() + buffer);
+            }
+        }
+        return mascara;
+    }
+
+    private NavigableMap<Long, List<IntervaloTurno>> candidatos(long inicio, long fin) {
+        return porInicio.subMap(inicio - duracionMaxima - buffer, false, fin + buffer, false);
+    }
+
+    private static void marcar(long[] mascara, long dia, long desde, long hasta) {
+        long inicioDia = dia * MascaraDia.MINUTOS_DIA;
+        int desdeDia = (int) Math.max(0, desde - inicioDia);
+        int hastaDia = (int) Math.min(MascaraDia.MINUTOS_DIA, hasta - inicioDia);
+        if (hastaDia <= desdeDia) return;
+
+        MascaraDia.marcar(mascara, MascaraDia.celdaInicio(desdeDia), MascaraDia.celdaFin(hastaDia));
+    }
+
+    private static long diaDe(long minuto) {
+        return Math.floorDiv(minuto, MascaraDia.MINUTOS_DIA);
+    }
+}
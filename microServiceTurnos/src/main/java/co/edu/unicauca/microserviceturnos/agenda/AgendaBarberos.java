@@ -0,0 +1,174 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import co.edu.unicauca.microserviceturnos.util.TransaccionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Agenda en memoria de todos los barberos.
+ *
+ * Se precarga al arrancar con los turnos activos desde ayer hasta el horizonte configurado
+ * y se mantiene al día con cada transición (crear, actualizar, cancelar, no asistió, reasignar).
+ * Los cambios se aplican después del commit para no indexar turnos que luego se revierten.
+ * La base de datos sigue siendo el árbitro final: la agenda solo evita consultas cuando
+ * ya sabe que hay choque.
+ *
+ * Cada cambio aplicado se publica como {@link CambioAgenda}.
+ */
+@Slf4j
+@Component
+public class AgendaBarberos implements ApplicationEventPublisherAware {
+
+    // Estados que liberan el horario del barbero
+    public static final Set<EstadoTurnoEnum> ESTADOS_LIBRES =
+            EnumSet.of(EstadoTurnoEnum.CANCELADO, EstadoTurnoEnum.NO_ASISTIO);
+
+    private final TurnoRepository turnoRepository;
+    private final int minDurationMinutes;
+    private final int bufferMinutes;
+    private final int diasHorizonte;
+
+    private final Map<String, AgendaBarbero> agendas = new ConcurrentHashMap<>();
+    private final Map<UUID, String> barberoPorTurno = new ConcurrentHashMap<>();
+
+    private ApplicationEventPublisher eventos;
+
+    public AgendaBarberos(TurnoRepository turnoRepository,
+                          @Value("${turnos.min-duration-minutes:45}") int minDurationMinutes,
+                          @Value("${turnos.buffer-minutes:5}") int bufferMinutes,
+                          @Value("${turnos.agenda.dias-horizonte:365}") int diasHorizonte) {
+        this.turnoRepository = turnoRepository;
+        this.minDurationMinutes = minDurationMinutes;
+        this.bufferMinutes = bufferMinutes;
+        this.diasHorizonte = diasHorizonte;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventos) {
+        this.eventos = eventos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        List<Turno> activos = turnoRepository.findByFechaHoraBetweenAndEstadoNotIn(
+                inicioHorizonte(), finHorizonte(), ESTADOS_LIBRES);
+
+        activos.stream()
+                .collect(Collectors.groupingBy(Turno::getBarberoId))
+                .forEach((barberoId, turnos) ->
+                        agendas.computeIfAbsent(barberoId, id -> construir(id, turnos)));
+
+        log.info("Agenda precargada con {} turnos activos de {} barberos", activos.size(), agendas.size());
+    }
+
+    public boolean haySolapamiento(String barberoId, LocalDateTime inicio, int duracion, UUID excluir) {
+        long desde = IntervaloTurno.aMinutos(inicio);
+        return agenda(barberoId).haySolapamiento(desde, desde + duracion, excluir);
+    }
+
+    /**
+     * Minutos libres a partir de {@code inicio} hasta el siguiente turno del barbero
+     * (respetando el buffer) o hasta el fin del día, ignorando el turno {@code excluir}.
+     */
+    public int minutosLibres(String barberoId, LocalDateTime inicio, UUID excluir) {
+        long desde = IntervaloTurno.aMinutos(inicio);
+        long finDia = IntervaloTurno.aMinutos(inicio.toLocalDate().plusDays(1).atStartOfDay());
+        return (int) agenda(barberoId).minutosLibres(desde, finDia, excluir);
+    }
+
+    /**
+     * Máscara de ocupación del día (ver {@link MascaraDia}), incluyendo la duración
+     * real de cada turno y el buffer a ambos lados.
+     */
+    public long[] ocupacion(String barberoId, LocalDate fecha) {
+        return agenda(barberoId).ocupacion(fecha.toEpochDay());
+    }
+
+    /**
+     * Refleja en la agenda el estado actual del turno. Si hay una transacción activa
+     * el cambio se aplica al confirmarse.
+     */
+    public void sincronizar(Turno turno) {
+        if (turno == null || turno.getId() == null) return;
+
+        UUID id = turno.getId();
+        IntervaloTurno intervalo = ocupaAgenda(turno.getEstado()) ? aIntervalo(turno) : null;
+
+        TransaccionUtils.trasCommit(() -> aplicar(id, intervalo));
+    }
+
+    public static boolean ocupaAgenda(EstadoTurnoEnum estado) {
+        return estado == null || !ESTADOS_LIBRES.contains(estado);
+    }
+
+    private void aplicar(UUID id, IntervaloTurno intervalo) {
+        IntervaloTurno anterior = null;
+        String barberoAnterior = barberoPorTurno.remove(id);
+        if (barberoAnterior != null) {
+            AgendaBarbero agendaAnterior = agendas.get(barberoAnterior);
+            if (agendaAnterior != null) anterior = agendaAnterior.retirar(id);
+        }
+
+        if (intervalo != null) {
+            agenda(intervalo.getBarberoId()).agregar(intervalo);
+            barberoPorTurno.put(id, intervalo.getBarberoId());
+        }
+
+        if (eventos != null && (anterior != null || intervalo != null)) {
+            eventos.publishEvent(new CambioAgenda(id, anterior, intervalo));
+        }
+    }
+
+    private AgendaBarbero agenda(String barberoId) {
+        return agendas.computeIfAbsent(barberoId, this::cargar);
+    }
+
+    private AgendaBarbero cargar(String barberoId) {
+        return construir(barberoId, turnoRepository.findByBarberoIdAndFechaHoraBetween(
+                barberoId, inicioHorizonte(), finHorizonte()));
+    }
+
+    private AgendaBarbero construir(String barberoId, List<Turno> turnos) {
+        AgendaBarbero agenda = new AgendaBarbero(bufferMinutes);
+
+        for (Turno t : turnos) {
+            // Turnos sin persistir no se indexan
+            if (t.getId() == null || !ocupaAgenda(t.getEstado())) continue;
+            agenda.agregar(aIntervalo(t));
+            barberoPorTurno.put(t.getId(), barberoId);
+        }
+        return agenda;
+    }
+
+    private IntervaloTurno aIntervalo(Turno t) {
+        int duracion = t.getDuracionMinutos() != null ? t.getDuracionMinutos() : minDurationMinutes;
+        return new IntervaloTurno(t.getId(), t.getBarberoId(), t.getClienteId(),
+                IntervaloTurno.aMinutos(t.getFechaHora()), duracion);
+    }
+
+    private LocalDateTime inicioHorizonte() {
+        return LocalDate.now().minusDays(1).atStartOfDay();
+    }
+
+    private LocalDateTime finHorizonte() {
+        return LocalDate.now().plusDays(diasHorizonte).atStartOfDay();
+    }
+}
@@ -0,0 +1,137 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.DisponibilidadBarbero;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Disponibilidades ya calculadas por (barbero, fecha de inicio, días, duración), con una versión por
+ * barbero que sube con cada cambio de su agenda ({@link CambioAgenda}) o de su horario
+ * ({@link CambioHorario}).
+ *
+ * Una entrada vale mientras la versión del barbero y el día actual sean los mismos con que
+ * se calculó. La misma versión, junto con una versión del catálogo que sube con cada
+ * {@link CambioCatalogo}, da el ETag de la respuesta, así un {@code If-None-Match}
+ * se contesta con 304 sin calcular nada. El ETag se decide antes de saber la duración del
+ * servicio pedido; sin la versión del catálogo, un servicio que cambió de duración seguiría
+ * contestando 304 con los huecos de la duración vieja. Guarda como máximo
+ * {@code turnos.disponibilidad.cache.max-entradas} entradas y descarta la menos usada.
+ */
+@Component
+public class CacheDisponibilidad {
+
+    // Distingue los ETag de este arranque de los de uno anterior (las versiones vuelven a 0)
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<String, AtomicLong> versiones = new ConcurrentHashMap<>();
+    private final AtomicLong versionCatalogo = new AtomicLong();
+    private final Map<Clave, Entrada> entradas;
+
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final Counter noModificados;
+
+    public CacheDisponibilidad(@Value("${turnos.disponibilidad.cache.max-entradas:5000}") int maxEntradas,
+                               MeterRegistry meterRegistry) {
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, Entrada> mayor) {
+                return size() > maxEntradas;
+            }
+        };
+        this.aciertos = contador(meterRegistry, "acierto");
+        this.fallos = contador(meterRegistry, "fallo");
+        this.noModificados = contador(meterRegistry, "no_modificado");
+    }
+
+    /**
+     * Devuelve la disponibilidad guardada si sigue vigente; si no, la calcula y la guarda.
+     */
+    public DisponibilidadBarbero obtener(String barberoId, LocalDate fechaInicio, int dias, int minutos,
+                                         Supplier<DisponibilidadBarbero> calcular) {
+        // La versión se lee antes de calcular: si cambia durante el cálculo la entrada nace vieja
+        long version = version(barberoId);
+        Clave clave = new Clave(barberoId, fechaInicio, dias, minutos);
+        LocalDate hoy = LocalDate.now();
+
+        synchronized (entradas) {
+            Entrada e = entradas.get(clave);
+            if (e != null && e.version() == version && e.dia().equals(hoy)) {
+                aciertos.increment();
+                return e.disponibilidad();
+            }
+        }
+
+        fallos.increment();
+        DisponibilidadBarbero disponibilidad = calcular.get();
+        synchronized (entradas) {
+            entradas.put(clave, new Entrada(version, hoy, disponibilidad));
+        }
+        return disponibilidad;
+    }
+
+    /**
+     * ETag fuerte de la disponibilidad actual del barbero.
+     */
+    public String etag(String barberoId) {
+        return "\"" + arranque + "-" + version(barberoId) + "-" + versionCatalogo.get()
+                + "-" + LocalDate.now().toEpochDay() + "\"";
+    }
+
+    public void contarNoModificado() {
+        noModificados.increment();
+    }
+
+    @EventListener
+    public void alCambiarAgenda(CambioAgenda cambio) {
+        if (cambio.getAnterior() != null) subirVersion(cambio.getAnterior().getBarberoId());
+        if (cambio.getActual() != null) subirVersion(cambio.getActual().getBarberoId());
+    }
+
+    @EventListener
+    public void alCambiarHorario(CambioHorario cambio) {
+        subirVersion(cambio.getBarberoId());
+    }
+
+    // Las entradas van por minutos ya resueltos y siguen valiendo; solo cambia el ETag
+    @EventListener
+    public void alCambiarCatalogo(CambioCatalogo cambio) {
+        versionCatalogo.incrementAndGet();
+    }
+
+    public int tamanio() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    private long version(String barberoId) {
+        AtomicLong v = versiones.get(barberoId);
+        return v != null ? v.get() : 0;
+    }
+
+    private void subirVersion(String barberoId) {
+        versiones.computeIfAbsent(barberoId, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("turnos.disponibilidad.cache")
+                .description("Consultas de disponibilidad por resultado en la caché")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private record Clave(String barberoId, LocalDate fechaInicio, int dias, int minutos) {}
+
+    private record Entrada(long version, LocalDate dia, DisponibilidadBarbero disponibilidad) {}
+}
@@ -0,0 +1,20 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Evento que publica {@link AgendaBarberos} cuando un turno entra, sale o se mueve en la agenda.
+ * Se publica después del commit. {@code anterior} o {@code actual} es null si el turno
+ * no ocupaba (o deja de ocupar) horario.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioAgenda {
+
+    private final UUID turnoId;
+    private final IntervaloTurno anterior;
+    private final IntervaloTurno actual;
+}
@@ -0,0 +1,15 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento que publica la réplica del catálogo cuando cambia la duración o el estado de un
+ * servicio (o aparece o desaparece uno). {@code servicioId} es null si lo cambió una carga completa.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioCatalogo {
+
+    private final String servicioId;
+}
@@ -0,0 +1,15 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento que publica {@link HorariosBarberos} cuando cambia el horario de un barbero.
+ * Se publica después del commit.
+ */
+@Getter
+@AllArgsConstructor
+public class CambioHorario {
+
+    private final String barberoId;
+}
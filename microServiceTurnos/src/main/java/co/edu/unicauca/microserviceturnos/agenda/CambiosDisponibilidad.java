@@ -0,0 +1,314 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.dto.CambioDisponibilidad;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flujo SSE de cambios de disponibilidad por barbero (horario ocupado / liberado).
+ *
+ * Escucha los {@link CambioAgenda} de la agenda en memoria, les asigna un id creciente,
+ * guarda los últimos en un buffer circular y los reparte a los suscriptores de ese barbero.
+ * Los suscriptores son {@link SseEmitter} asíncronos: no retienen un hilo mientras esperan.
+ * Un único hilo hace el reparto y los latidos, así el commit que produjo el cambio no espera
+ * a los clientes; el reparto solo encola en cada suscriptor y un pool aparte escribe, de a un
+ * envío por suscriptor a la vez. Un cliente lento retiene como mucho un hilo del pool, y si
+ * acumula más de {@code turnos.sse.pendientes-maximos} eventos se lo desconecta.
+ *
+ * El id de cada evento es {@code <época>-<secuencia>}, con la época tomada al arrancar. Un
+ * cliente que reconecta con {@code Last-Event-ID} recibe lo que se perdió si el id es de esta
+ * época y el evento sigue en el buffer; si no (otra instancia, un reinicio, buffer superado),
+ * recibe un evento {@code REINICIO} y debe volver a pedir la disponibilidad.
+ */
+@Slf4j
+@Component
+public class CambiosDisponibilidad {
+
+    public static final String OCUPADO = "OCUPADO";
+    public static final String LIBERADO = "LIBERADO";
+    public static final String REINICIO = "REINICIO";
+
+    private final long timeoutMs;
+    private final int eventosRetenidos;
+    private final int pendientesMaximos;
+
+    // Distingue los ids de este arranque de los de otro proceso con la misma secuencia
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Deque<CambioDisponibilidad> recientes = new ArrayDeque<>();
+    private long secuencia;
+
+    private final Map<String, Set<Suscripcion>> porBarbero = new ConcurrentHashMap<>();
+    private final Set<Suscripcion> suscripciones = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService reparto = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "sse-disponibilidad");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final ExecutorService envios;
+
+    public CambiosDisponibilidad(@Value("${turnos.sse.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${turnos.sse.eventos-retenidos:1000}") int eventosRetenidos,
+                                 @Value("${turnos.sse.hilos-envio:4}") int hilosEnvio,
+                                 @Value("${turnos.sse.pendientes-maximos:200}") int pendientesMaximos,
+                                 MeterRegistry meterRegistry) {
+        this.timeoutMs = timeoutMs;
+        this.eventosRetenidos = eventosRetenidos;
+        this.pendientesMaximos = pendientesMaximos;
+        AtomicInteger contador = new AtomicInteger();
+        this.envios = Executors.newFixedThreadPool(hilosEnvio, r -> {
+            Thread hilo = new Thread(r, "sse-envio-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        Gauge.builder("turnos.sse.suscriptores", suscripciones, Set::size)
+                .description("Clientes conectados al flujo de disponibilidad")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre un flujo para los barberos dados. Si {@code ultimoEventoId} no es null se
+     * reenvían antes los eventos posteriores a él.
+     */
+    public SseEmitter suscribir(Collection<String> barberoIds, String ultimoEventoId) {
+        return suscribir(new SseEmitter(timeoutMs), barberoIds, ultimoEventoId);
+    }
+
+    SseEmitter suscribir(SseEmitter emitter, Collection<String> barberoIds, String ultimoEventoId) {
+        Suscripcion s = new Suscripcion(emitter, Set.copyOf(barberoIds));
+
+        emitter.onCompletion(() -> retirar(s));
+        emitter.onTimeout(() -> retirar(s));
+        emitter.onError(e -> retirar(s));
+
+        // Bajo el mismo candado que publicar: ningún evento queda entre la repetición y el registro
+        synchronized (this) {
+            if (ultimoEventoId != null) {
+                Optional<List<CambioDisponibilidad>> perdidos = eventosDesde(s.barberoIds, ultimoEventoId);
+                if (perdidos.isPresent()) {
+                    perdidos.get().forEach(s::enviar);
+                } else {
+                    s.enviarReinicio(idEvento(secuencia));
+                }
+            }
+            s.ultimoEnviado = Math.max(s.ultimoEnviado, secuencia);
+
+            for (String barberoId : s.barberoIds) {
+                porBarbero.compute(barberoId, (k, set) -> {
+                    Set<Suscripcion> destino = set != null ? set : ConcurrentHashMap.<Suscripcion>newKeySet();
+                    destino.add(s);
+                    return destino;
+                });
+            }
+            suscripciones.add(s);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void alCambiarAgenda(CambioAgenda cambio) {
+        IntervaloTurno anterior = cambio.getAnterior();
+        IntervaloTurno actual = cambio.getActual();
+
+        // Cambios de estado que no mueven el horario no interesan a la disponibilidad
+        if (anterior != null && actual != null
+                && anterior.getBarberoId().equals(actual.getBarberoId())
+                && anterior.getInicio() == actual.getInicio()
+                && anterior.getDuracion() == actual.getDuracion()) {
+            return;
+        }
+
+        List<CambioDisponibilidad> nuevos = new ArrayList<>(2);
+        synchronized (this) {
+            if (anterior != null) nuevos.add(registrar(anterior, LIBERADO));
+            if (actual != null) nuevos.add(registrar(actual, OCUPADO));
+        }
+        reparto.execute(() -> nuevos.forEach(this::repartir));
+    }
+
+    @Scheduled(fixedDelayString = "${turnos.sse.latido-ms:15000}")
+    public void latido() {
+        if (suscripciones.isEmpty()) return;
+        reparto.execute(() -> suscripciones.forEach(Suscripcion::latir));
+    }
+
+    public int suscriptores() {
+        return suscripciones.size();
+    }
+
+    /**
+     * Eventos de los barberos dados posteriores a {@code ultimoEventoId}, o vacío si el id
+     * no es de esta época o alguno ya salió del buffer y el cliente tiene que recargar la
+     * disponibilidad.
+     */
+    synchronized Optional<List<CambioDisponibilidad>> eventosDesde(Set<String> barberoIds, String ultimoEventoId) {
+        int separador = ultimoEventoId.lastIndexOf('-');
+        if (separador < 0 || !epoca.equals(ultimoEventoId.substring(0, separador))) return Optional.empty();
+
+        long ultimo;
+        try {
+            ultimo = Long.parseLong(ultimoEventoId.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        return eventosDesde(barberoIds, ultimo);
+    }
+
+    private Optional<List<CambioDisponibilidad>> eventosDesde(Set<String> barberoIds, long ultimoEventoId) {
+        if (ultimoEventoId > secuencia) return Optional.empty();
+
+        long primero = recientes.isEmpty() ? secuencia + 1 : recientes.peekFirst().getId();
+        if (ultimoEventoId < primero - 1) return Optional.empty();
+
+        List<CambioDisponibilidad> resultado = new ArrayList<>();
+        for (CambioDisponibilidad c : recientes) {
+            if (c.getId() > ultimoEventoId && barberoIds.contains(c.getBarberoId())) resultado.add(c);
+        }
+        return Optional.of(resultado);
+    }
+
+    String idEvento(long secuencia) {
+        return epoca + "-" + secuencia;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        reparto.shutdownNow();
+        envios.shutdownNow();
+        suscripciones.forEach(s -> s.emitter.complete());
+    }
+
+    private CambioDisponibilidad registrar(IntervaloTurno intervalo, String tipo) {
+        CambioDisponibilidad c = new CambioDisponibilidad(++secuencia, intervalo.getBarberoId(), tipo,
+                LocalDateTime.ofEpochSecond(intervalo.getInicio() * 60, 0, ZoneOffset.UTC),
+                intervalo.getDuracion());
+        recientes.addLast(c);
+        if (recientes.size() > eventosRetenidos) recientes.removeFirst();
+        return c;
+    }
+
+    private void repartir(CambioDisponibilidad c) {
+        Set<Suscripcion> destino = porBarbero.get(c.getBarberoId());
+        if (destino != null) destino.forEach(s -> s.enviar(c));
+    }
+
+    private void retirar(Suscripcion s) {
+        suscripciones.remove(s);
+        for (String barberoId : s.barberoIds) {
+            porBarbero.computeIfPresent(barberoId, (k, set) -> {
+                set.remove(s);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private final class Suscripcion {
+        private final SseEmitter emitter;
+        private final Set<String> barberoIds;
+        private long ultimoEnviado;
+
+        // Lo que falta escribir; un solo envío en curso por suscriptor mantiene el orden
+        private final Queue<SseEmitter.SseEventBuilder> pendientes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger enCola = new AtomicInteger();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private volatile boolean cerrada;
+
+        private Suscripcion(SseEmitter emitter, Set<String> barberoIds) {
+            this.emitter = emitter;
+            this.barberoIds = barberoIds;
+        }
+
+        // Un evento repetido al suscribirse puede volver a llegar por el reparto: se descarta
+        synchronized void enviar(CambioDisponibilidad c) {
+            if (c.getId() <= ultimoEnviado) return;
+            ultimoEnviado = c.getId();
+            encolar(SseEmitter.event()
+                    .id(idEvento(c.getId()))
+                    .name(c.getTipo())
+                    .data(c, MediaType.APPLICATION_JSON));
+        }
+
+        synchronized void enviarReinicio(String id) {
+            encolar(SseEmitter.event().id(id).name(REINICIO).data(""));
+        }
+
+        synchronized void latir() {
+            encolar(SseEmitter.event().comment("latido"));
+        }
+
+        private void encolar(SseEmitter.SseEventBuilder evento) {
+            if (cerrada) return;
+            if (enCola.incrementAndGet() > pendientesMaximos) {
+                // No da abasto: que reconecte y recupere desde el buffer o con REINICIO
+                log.debug("Suscriptor de disponibilidad con {} eventos pendientes, se desconecta", pendientesMaximos);
+                cerrar();
+                emitter.complete();
+                return;
+            }
+            pendientes.add(evento);
+            if (enviando.compareAndSet(false, true)) envios.execute(this::vaciar);
+        }
+
+        private void vaciar() {
+            try {
+                SseEmitter.SseEventBuilder evento;
+                while (!cerrada && (evento = pendientes.poll()) != null) {
+                    enCola.decrementAndGet();
+                    escribir(evento);
+                }
+            } finally {
+                enviando.set(false);
+            }
+            // Lo encolado mientras se soltaba la marca no puede quedar esperando
+            if (!cerrada && !pendientes.isEmpty() && enviando.compareAndSet(false, true)) envios.execute(this::vaciar);
+        }
+
+        private void escribir(SseEmitter.SseEventBuilder evento) {
+            try {
+                emitter.send(evento);
+            } catch (IOException e) {
+                log.debug("Suscriptor de disponibilidad desconectado: {}", e.getMessage());
+                cerrar();
+                emitter.completeWithError(e);
+            } catch (IllegalStateException e) {
+                // El emitter ya terminó (timeout o cierre del cliente)
+                cerrar();
+            }
+        }
+
+        private void cerrar() {
+            cerrada = true;
+            pendientes.clear();
+            retirar(this);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.CarrilOcupadoException;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Un carril (lock) por barbero para serializar todas las escrituras sobre su agenda.
+ *
+ * El carril se toma antes de abrir la transacción y se suelta después del commit, cuando
+ * la agenda en memoria ya se actualizó. Así la siguiente reserva del mismo barbero siempre
+ * ve la anterior, sin depender del nivel de aislamiento de la base de datos. Barberos
+ * distintos no comparten carril y corren en paralelo.
+ *
+ * Si una operación toca dos barberos (mover un turno) toma ambos carriles en orden
+ * alfabético para no bloquearse con otra que los tome al revés.
+ * Los carriles son por instancia: con varias réplicas hay que enrutar por barbero.
+ */
+@Component
+public class CarrilesBarbero {
+
+    private static final Object REINTENTAR = new Object();
+
+    private final TurnoRepository turnoRepository;
+    private final long esperaMaximaMs;
+    private final Timer espera;
+
+    private final Map<String, ReentrantLock> carriles = new ConcurrentHashMap<>();
+
+    public CarrilesBarbero(TurnoRepository turnoRepository,
+                           @Value("${turnos.carriles.espera-maxima-ms:5000}") long esperaMaximaMs,
+                           MeterRegistry meterRegistry) {
+        this.turnoRepository = turnoRepository;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.espera = Timer.builder("turnos.carriles.espera")
+                .description("Tiempo esperando el carril del barbero")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la acción con el carril del barbero (o de los barberos) tomado.
+     */
+    public <T> T ejecutar(Supplier<T> accion, String... barberoIds) {
+        return ejecutar(esperaMaximaMs, accion, barberoIds);
+    }
+
+    private <T> T ejecutar(long esperaMs, Supplier<T> accion, String... barberoIds) {
+        List<ReentrantLock> tomados = new ArrayList<>();
+        try {
+            for (String barberoId : ordenados(Arrays.asList(barberoIds))) {
+                tomados.add(tomar(barberoId, esperaMs));
+            }
+            return accion.get();
+        } finally {
+            for (int i = tomados.size() - 1; i >= 0; i--) {
+                tomados.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una acción sobre un turno existente con el carril de su barbero actual
+     * (y el del barbero destino si lo mueve). Si el turno cambió de barbero mientras
+     * se esperaba el carril, vuelve a intentarlo con el nuevo.
+     */
+    public <T> T ejecutarParaTurno(UUID turnoId, String barberoDestino, Supplier<T> accion) {
+        return ejecutarParaTurno(turnoId, barberoDestino, esperaMaximaMs, accion);
+    }
+
+    public <T> T ejecutarParaTurno(UUID turnoId, Supplier<T> accion) {
+        return ejecutarParaTurno(turnoId, null, esperaMaximaMs, accion);
+    }
+
+    /**
+     * Como {@link #ejecutarParaTurno(UUID, Supplier)} pero sin esperar: si el carril está tomado
+     * lanza {@link CarrilOcupadoException} en el acto. Para tareas de fondo que pueden
+     * reintentar más tarde en vez de bloquear su hilo detrás de un barbero ocupado.
+     */
+    public <T> T intentarParaTurno(UUID turnoId, Supplier<T> accion) {
+        return ejecutarParaTurno(turnoId, null, 0, accion);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T ejecutarParaTurno(UUID turnoId, String barberoDestino, long esperaMs, Supplier<T> accion) {
+        while (true) {
+            String actual = barberoDe(turnoId);
+            Object resultado = ejecutar(esperaMs,
+                    () -> Objects.equals(actual, barberoDe(turnoId)) ? accion.get() : REINTENTAR,
+                    actual, barberoDestino);
+            if (resultado != REINTENTAR) return (T) resultado;
+        }
+    }
+
+    private ReentrantLock tomar(String barberoId, long esperaMs) {
+        ReentrantLock carril = carriles.computeIfAbsent(barberoId, id -> new ReentrantLock());
+
+        if (!carril.isHeldByCurrentThread() && TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Dentro de la transacción el carril se soltaría antes del commit
+            throw new IllegalStateException("El carril del barbero debe tomarse fuera de la transacción.");
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            if (!carril.tryLock(esperaMs, TimeUnit.MILLISECONDS)) {
+                throw new CarrilOcupadoException(
+                        "La agenda del barbero " + barberoId + " está ocupada, intenta de nuevo.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CarrilOcupadoException("Se interrumpió la espera por la agenda del barbero " + barberoId + ".");
+        } finally {
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+        return carril;
+    }
+
+    private String barberoDe(UUID turnoId) {
+        if (turnoId == null) return null;
+        return turnoRepository.findById(turnoId).map(Turno::getBarberoId).orElse(null);
+    }
+
+    private static TreeSet<String> ordenados(List<String> barberoIds) {
+        TreeSet<String> orden = new TreeSet<>();
+        for (String id : barberoIds) {
+            if (id != null) orden.add(id);
+        }
+        return orden;
+    }
+}
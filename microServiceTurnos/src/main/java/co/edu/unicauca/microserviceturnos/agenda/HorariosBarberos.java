@@ -0,0 +1,156 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.ExcepcionHorario;
+import co.edu.unicauca.microserviceturnos.entities.HorarioSemanal;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Horario de atención de cada barbero compilado a una {@link JornadaDia} por día de la
+ * semana y por fecha con excepción.
+ *
+ * Se compila la primera vez que se consulta un barbero y queda en memoria hasta que su
+ * horario cambia ({@link #invalidar}); las consultas de disponibilidad y las reservas solo
+ * leen las máscaras ya armadas. Un barbero sin horario semanal atiende todos los días en
+ * el horario por defecto ({@code turnos.horario.apertura} a {@code turnos.horario.cierre}).
+ */
+@Component
+public class HorariosBarberos implements ApplicationEventPublisherAware {
+
+    private final HorarioSemanalRepository horarioSemanalRepository;
+    private final ExcepcionHorarioRepository excepcionHorarioRepository;
+    private final JornadaDia porDefecto;
+
+    // La versión se lee antes de compilar: si el horario cambia mientras tanto, lo compilado nace viejo
+    private final Map<String, AtomicLong> versiones = new ConcurrentHashMap<>();
+    private final Map<String, HorarioCompilado> compilados = new ConcurrentHashMap<>();
+
+    private ApplicationEventPublisher eventos;
+
+    public HorariosBarberos(HorarioSemanalRepository horarioSemanalRepository,
+                            ExcepcionHorarioRepository excepcionHorarioRepository,
+                            @Value("${turnos.horario.apertura:09:00}") LocalTime apertura,
+                            @Value("${turnos.horario.cierre:18:00}") LocalTime cierre) {
+        this.horarioSemanalRepository = horarioSemanalRepository;
+        this.excepcionHorarioRepository = excepcionHorarioRepository;
+        this.porDefecto = JornadaDia.de(minutoDelDia(apertura), minutoDelDia(cierre));
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventos) {
+        this.eventos = eventos;
+    }
+
+    public JornadaDia jornada(String barberoId, LocalDate fecha) {
+        return compilado(barberoId).jornada(fecha);
+    }
+
+    /**
+     * true si el turno [inicio, inicio + duracion) cae entero dentro de un tramo de atención.
+     */
+    public boolean atiende(String barberoId, LocalDateTime inicio, int duracion) {
+        int desde = inicio.getHour() * 60 + inicio.getMinute();
+        return jornada(barberoId, inicio.toLocalDate()).abierto(desde, desde + duracion);
+    }
+
+    /**
+     * Minutos desde {@code inicio} hasta que termina el tramo de atención en que cae; 0 si
+     * a esa hora el barbero no atiende.
+     */
+    public int minutosAbiertos(String barberoId, LocalDateTime inicio) {
+        int desde = minutoDelDia(inicio.toLocalTime());
+        return jornada(barberoId, inicio.toLocalDate()).finTramo(desde) - desde;
+    }
+
+    /**
+     * Descarta lo compilado del barbero; se llama después del commit que cambia su horario.
+     */
+    public void invalidar(String barberoId) {
+        versiones.computeIfAbsent(barberoId, k -> new AtomicLong()).incrementAndGet();
+        compilados.remove(barberoId);
+        if (eventos != null) eventos.publishEvent(new CambioHorario(barberoId));
+    }
+
+    public static int minutoDelDia(LocalTime hora) {
+        return hora.getHour() * 60 + hora.getMinute();
+    }
+
+    private HorarioCompilado compilado(String barberoId) {
+        AtomicLong v = versiones.get(barberoId);
+        long version = v != null ? v.get() : 0;
+
+        HorarioCompilado c = compilados.get(barberoId);
+        if (c != null && c.version() == version) return c;
+
+        c = compilar(barberoId, version);
+        compilados.put(barberoId, c);
+        return c;
+    }
+
+    private HorarioCompilado compilar(String barberoId, long version) {
+        List<HorarioSemanal> semanal = horarioSemanalRepository.findByBarberoId(barberoId);
+
+        Map<DayOfWeek, JornadaDia> semana = new EnumMap<>(DayOfWeek.class);
+        if (semanal.isEmpty()) {
+            for (DayOfWeek d : DayOfWeek.values()) semana.put(d, porDefecto);
+        } else {
+            Map<DayOfWeek, List<LocalTime[]>> porDia = semanal.stream().collect(Collectors.groupingBy(
+                    HorarioSemanal::getDiaSemana,
+                    Collectors.mapping(h -> new LocalTime[]{h.getHoraInicio(), h.getHoraFin()}, Collectors.toList())));
+            for (DayOfWeek d : DayOfWeek.values()) {
+                semana.put(d, jornada(porDia.getOrDefault(d, List.of())));
+            }
+        }
+
+        Map<LocalDate, List<LocalTime[]>> porFecha = new HashMap<>();
+        for (ExcepcionHorario e : excepcionHorarioRepository.findByBarberoId(barberoId)) {
+            List<LocalTime[]> tramos = porFecha.computeIfAbsent(e.getFecha(), k -> new ArrayList<>());
+            if (e.getHoraInicio() != null && e.getHoraFin() != null) {
+                tramos.add(new LocalTime[]{e.getHoraInicio(), e.getHoraFin()});
+            }
+        }
+        Map<LocalDate, JornadaDia> excepciones = new HashMap<>();
+        porFecha.forEach((fecha, tramos) -> excepciones.put(fecha, jornada(tramos)));
+
+        return new HorarioCompilado(version, semana, excepciones);
+    }
+
+    private static JornadaDia jornada(List<LocalTime[]> tramos) {
+        List<LocalTime[]> ordenados = new ArrayList<>(tramos);
+        ordenados.sort(Comparator.comparing(t -> t[0]));
+
+        int[] minutos = new int[ordenados.size() * 2];
+        for (int i = 0; i < ordenados.size(); i++) {
+            minutos[2 * i] = minutoDelDia(ordenados.get(i)[0]);
+            minutos[2 * i + 1] = minutoDelDia(ordenados.get(i)[1]);
+        }
+        return JornadaDia.de(minutos);
+    }
+
+    private record HorarioCompilado(long version, Map<DayOfWeek, JornadaDia> semana,
+                                    Map<LocalDate, JornadaDia> excepciones) {
+
+        JornadaDia jornada(LocalDate fecha) {
+            JornadaDia excepcion = excepciones.get(fecha);
+            return excepcion != null ? excepcion : semana.get(fecha.getDayOfWeek());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Ocupación de un turno en la agenda en memoria.
+ * Los tiempos se guardan en minutos desde epoch (UTC) para comparar con aritmética entera.
+ */
+@Getter
+@AllArgsConstructor
+public final class IntervaloTurno {
+
+    private final UUID id;
+    private final String barberoId;
+    private final String clienteId;
+    private final long inicio;
+    private final int duracion;
+
+    public long getFin() {
+        return inicio + duracion;
+    }
+
+    public static long aMinutos(LocalDateTime fechaHora) {
+        return fechaHora.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
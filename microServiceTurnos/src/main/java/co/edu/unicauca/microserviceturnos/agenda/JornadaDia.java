@@ -0,0 +1,78 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+/**
+ * Horario de atención de un barbero en un día, ya compilado: los tramos en minutos del
+ * día y la máscara de celdas cerradas (fuera de todo tramo) en el formato de
+ * {@link MascaraDia}. Es inmutable y se comparte entre consultas.
+ */
+public final class JornadaDia {
+
+    public static final JornadaDia CERRADA = new JornadaDia(new int[0]);
+
+    private final int[] tramos;      // [inicio0, fin0, inicio1, fin1, ...] ordenados
+    private final long[] cerrado;
+    private final int minutos;
+
+    private JornadaDia(int[] tramos) {
+        this.tramos = tramos;
+
+        long[] abierto = MascaraDia.nueva();
+        int total = 0;
+        for (int i = 0; i < tramos.length; i += 2) {
+            MascaraDia.marcar(abierto, MascaraDia.celdaInicio(tramos[i]), MascaraDia.celdaFin(tramos[i + 1]));
+            total += tramos[i + 1] - tramos[i];
+        }
+        this.cerrado = MascaraDia.complemento(abierto);
+        this.minutos = total;
+    }
+
+    /**
+     * Jornada a partir de pares (inicio, fin) en minutos del día, ordenados y sin cruces.
+     */
+    public static JornadaDia de(int... tramos) {
+        if (tramos.length % 2 != 0) throw new IllegalArgumentException("Los tramos van en pares (inicio, fin).");
+        return tramos.length == 0 ? CERRADA : new JornadaDia(tramos.clone());
+    }
+
+    public int tramos() {
+        return tramos.length / 2;
+    }
+
+    public int inicio(int tramo) {
+        return tramos[2 * tramo];
+    }
+
+    public int fin(int tramo) {
+        return tramos[2 * tramo + 1];
+    }
+
+    /**
+     * Fin del tramo que contiene el minuto indicado, o el mismo minuto si a esa hora no
+     * se atiende.
+     */
+    public int finTramo(int minuto) {
+        for (int i = 0; i < tramos.length; i += 2) {
+            if (tramos[i] <= minuto && minuto < tramos[i + 1]) return tramos[i + 1];
+        }
+        return minuto;
+    }
+
+    /** Minutos de atención del día. */
+    public int minutos() {
+        return minutos;
+    }
+
+    /** true si [desde, hasta) en minutos del día cae entero dentro de un tramo. */
+    public boolean abierto(int desde, int hasta) {
+        return hasta <= MascaraDia.MINUTOS_DIA
+                && MascaraDia.rangoLibre(cerrado, MascaraDia.celdaInicio(desde), MascaraDia.celdaFin(hasta));
+    }
+
+    /**
+     * Marca como ocupado en {@code ocupacion} todo lo que está fuera del horario, así una
+     * sola {@link MascaraDia#rangoLibre} responde por agenda y horario a la vez.
+     */
+    public void bloquear(long[] ocupacion) {
+        MascaraDia.unir(ocupacion, cerrado);
+    }
+}
@@ -0,0 +1,81 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+/**
+ * Operaciones sobre la máscara de bits de un día: una celda por cada
+ * {@link #MINUTOS_CELDA} minutos, 288 celdas en cinco {@code long}.
+ * Bit en 1 = celda ocupada.
+ */
+public final class MascaraDia {
+
+    public static final int MINUTOS_CELDA = 5;
+    public static final int MINUTOS_DIA = 24 * 60;
+    public static final int CELDAS_DIA = MINUTOS_DIA / MINUTOS_CELDA;
+
+    private static final int PALABRAS = (CELDAS_DIA + 63) / 64;
+
+    private MascaraDia() {}
+
+    public static long[] nueva() {
+        return new long[PALABRAS];
+    }
+
+    /** Celda que contiene el minuto indicado (redondeo hacia abajo). */
+    public static int celdaInicio(int minutoDelDia) {
+        return Math.max(0, minutoDelDia / MINUTOS_CELDA);
+    }
+
+    /** Primera celda libre después del minuto indicado (redondeo hacia arriba). */
+    public static int celdaFin(int minutoDelDia) {
+        return Math.min(CELDAS_DIA, (minutoDelDia + MINUTOS_CELDA - 1) / MINUTOS_CELDA);
+    }
+
+    /** Marca las celdas [desde, hasta). */
+    public static void marcar(long[] mascara, int desde, int hasta) {
+        for (int celda = desde; celda < hasta; ) {
+            int palabra = celda >>> 6;
+            int bit = celda & 63;
+            int n = Math.min(64 - bit, hasta - celda);
+            mascara[palabra] |= bloque(bit, n);
+            celda += n;
+        }
+    }
+
+    /** true si la celda está marcada. */
+    public static boolean ocupada(long[] mascara, int celda) {
+        return (mascara[celda >>> 6] & (1L << (celda & 63))) != 0;
+    }
+
+    /** true si ninguna celda de [desde, hasta) está marcada. */
+    public static boolean rangoLibre(long[] mascara, int desde, int hasta) {
+        if (desde < 0 || hasta > CELDAS_DIA) return false;
+
+        for (int celda = desde; celda < hasta; ) {
+            int palabra = celda >>> 6;
+            int bit = celda & 63;
+            int n = Math.min(64 - bit, hasta - celda);
+            if ((mascara[palabra] & bloque(bit, n)) != 0) return false;
+            celda += n;
+        }
+        return true;
+    }
+
+    /** Máscara con las celdas de {@code mascara} invertidas. */
+    public static long[] complemento(long[] mascara) {
+        long[] resultado = nueva();
+        for (int i = 0; i < PALABRAS; i++) resultado[i] = ~mascara[i];
+        // La última palabra tiene bits de sobra más allá de CELDAS_DIA
+        int sobrantes = PALABRAS * 64 - CELDAS_DIA;
+        if (sobrantes > 0) resultado[PALABRAS - 1] &= -1L >>> sobrantes;
+        return resultado;
+    }
+
+    /** Agrega a {@code destino} las celdas marcadas en {@code otra}. */
+    public static void unir(long[] destino, long[] otra) {
+        for (int i = 0; i < PALABRAS; i++) destino[i] |= otra[i];
+    }
+
+    private static long bloque(int bit, int n) {
+        long unos = (n == 64) ? -1L : (1L << n) - 1;
+        return unos << bit;
+    }
+}
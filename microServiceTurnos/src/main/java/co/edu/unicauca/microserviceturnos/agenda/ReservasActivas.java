@@ -0,0 +1,100 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.util.TransaccionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Turnos activos (no cancelados ni no asistidos) de los clientes vistos recientemente.
+ *
+ * Solo responde "sí": si aquí no aparece una reserva, createTurno consulta la base de datos.
+ * Se alimenta con las mismas transiciones que la agenda y se aplica después del commit.
+ * Guarda como máximo {@code turnos.reservas-activas.max-clientes} clientes; al pasarse
+ * descarta el menos usado.
+ */
+@Component
+public class ReservasActivas {
+
+    private final Map<String, Map<UUID, Reserva>> porCliente;
+    private final Map<UUID, String> clientePorTurno = new HashMap<>();
+
+    public ReservasActivas(@Value("${turnos.reservas-activas.max-clientes:10000}") int maxClientes) {
+        this.porCliente = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<UUID, Reserva>> mayor) {
+                if (size() <= maxClientes) return false;
+                mayor.getValue().keySet().forEach(clientePorTurno::remove);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * true si se sabe que el cliente tiene un turno activo con el barbero después de {@code ahora}.
+     */
+    public synchronized boolean tieneReservaActiva(String clienteId, String barberoId, LocalDateTime ahora) {
+        Map<UUID, Reserva> reservas = porCliente.get(clienteId);
+        if (reservas == null) return false;
+
+        boolean encontrada = false;
+        for (Iterator<Map.Entry<UUID, Reserva>> it = reservas.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<UUID, Reserva> e = it.next();
+            Reserva r = e.getValue();
+            if (!r.fechaHora().isAfter(ahora)) {
+                // Ya pasó: deja de contar como reserva futura
+                it.remove();
+                clientePorTurno.remove(e.getKey());
+            } else if (r.barberoId().equals(barberoId)) {
+                encontrada = true;
+            }
+        }
+        if (reservas.isEmpty()) porCliente.remove(clienteId);
+        return encontrada;
+    }
+
+    /**
+     * Refleja el estado actual del turno. Si hay una transacción activa el cambio
+     * se aplica al confirmarse.
+     */
+    public void sincronizar(Turno turno) {
+        if (turno == null || turno.getId() == null) return;
+
+        UUID id = turno.getId();
+        String clienteId = turno.getClienteId();
+        Reserva reserva = AgendaBarberos.ocupaAgenda(turno.getEstado()) && clienteId != null
+                ? new Reserva(turno.getBarberoId(), turno.getFechaHora())
+                : null;
+
+        TransaccionUtils.trasCommit(() -> aplicar(id, clienteId, reserva));
+    }
+
+    public synchronized int tamanio() {
+        return porCliente.size();
+    }
+
+    private synchronized void aplicar(UUID id, String clienteId, Reserva reserva) {
+        String anterior = clientePorTurno.remove(id);
+        if (anterior != null) {
+            Map<UUID, Reserva> reservas = porCliente.get(anterior);
+            if (reservas != null) {
+                reservas.remove(id);
+                if (reservas.isEmpty()) porCliente.remove(anterior);
+            }
+        }
+
+        if (reserva != null) {
+            porCliente.computeIfAbsent(clienteId, k -> new HashMap<>(2)).put(id, reserva);
+            clientePorTurno.put(id, clienteId);
+        }
+    }
+
+    private record Reserva(String barberoId, LocalDateTime fechaHora) {}
+}
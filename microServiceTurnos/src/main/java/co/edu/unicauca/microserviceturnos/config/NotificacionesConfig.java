@@ -0,0 +1,77 @@
+package co.edu.unicauca.microserviceturnos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class NotificacionesConfig {
+
+    public static final String EJECUTOR_NOTIFICACIONES = "ejecutorNotificaciones";
+    public static final String LISTENER_NOTIFICACIONES = "listenerNotificaciones";
+
+    /**
+     * Pool propio para las notificaciones (llamadas bloqueantes a usuarios + publicación en RabbitMQ),
+     * separado del ForkJoinPool común. Cola acotada: al llenarse rechaza y NotificacionService
+     * deriva la notificación a la cola duradera de pendientes.
+     * Métricas en executor.* con tag name=turnos.notificaciones (cola, activos, completados).
+     */
+    @Bean(name = EJECUTOR_NOTIFICACIONES, destroyMethod = "shutdown")
+    public ThreadPoolExecutor ejecutorNotificaciones(
+            @Value("${turnos.notificaciones.hilos:8}") int hilos,
+            @Value("${turnos.notificaciones.cola-maxima:500}") int colaMaxima,
+            MeterRegistry meterRegistry) {
+
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor ejecutor = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(colaMaxima),
+                r -> {
+                    Thread hilo = new Thread(r, "notificaciones-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ejecutor.allowCoreThreadTimeOut(true);
+
+        new ExecutorServiceMetrics(ejecutor, "turnos.notificaciones", Tags.empty()).bindTo(meterRegistry);
+        return ejecutor;
+    }
+
+    /**
+     * Listeners de las colas de pendientes: si la notificación falla (usuarios caído, broker
+     * sin publicar) se reintenta en el mismo hilo con espera creciente, y al agotar los
+     * intentos el mensaje se republica en {@link RabbitMQConfig#QUEUE_NOTIFICACIONES_FALLIDAS}
+     * con la traza en las cabeceras, en vez de confirmarse y perderse.
+     */
+    @Bean(name = LISTENER_NOTIFICACIONES)
+    public SimpleRabbitListenerContainerFactory listenerNotificaciones(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            RabbitTemplate rabbitTemplate,
+            @Value("${turnos.notificaciones.intentos:3}") int intentos,
+            @Value("${turnos.notificaciones.espera-reintento-ms:1000}") long esperaReintentoMs) {
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(intentos)
+                .backOffOptions(esperaReintentoMs, 2.0, esperaReintentoMs * 10)
+                .recoverer(new RepublishMessageRecoverer(rabbitTemplate, "", RabbitMQConfig.QUEUE_NOTIFICACIONES_FALLIDAS))
+                .build());
+        return factory;
+    }
+}
@@ -7,7 +7,12 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
 
 
 @Configuration
@@ -16,6 +21,22 @@ public class RabbitMQConfig {
     // Nombre de la cola que el Microservicio de Notificaciones está escuchando
     public static final String QUEUE_NOTIFICACIONES = "TurnoNotificacionesQueue";
 
+    // Notificaciones por atender en Turnos: las publica el relay del outbox y las que no cupieron en el pool
+    public static final String QUEUE_NOTIFICACIONES_PENDIENTES = "TurnoNotificacionesPendientesQueue";
+
+    // Notificaciones agrupadas (transiciones masivas): un mensaje con todos los turnos
+    public static final String QUEUE_NOTIFICACIONES_LOTE = "TurnoNotificacionesLoteQueue";
+
+    // Pendientes que agotaron los reintentos: quedan para revisión en vez de perderse
+    public static final String QUEUE_NOTIFICACIONES_FALLIDAS = "TurnoNotificacionesFallidasQueue";
+
+    // Exchange fanout donde Usuarios difunde las actualizaciones de usuarios
+    public static final String USUARIOS_EXCHANGE = "usuarios.eventos";
+
+    // Exchange topic donde Catalogo publica catalogo.servicio.{creado,actualizado,eliminado}
+    public static final String CATALOGO_EXCHANGE = "catalogo.exchange";
+    public static final String CATALOGO_SERVICIOS_ROUTING_KEY = "catalogo.servicio.*";
+
     /**
      * Define y registra la cola en RabbitMQ si no existe.
      */
@@ -24,6 +45,59 @@ public class RabbitMQConfig {
         // La cola es duradera (durable: true)
         return new Queue(QUEUE_NOTIFICACIONES, true);
     }
+
+    @Bean
+    public Queue notificacionPendienteQueue() {
+        return new Queue(QUEUE_NOTIFICACIONES_PENDIENTES, true);
+    }
+
+    @Bean
+    public Queue notificacionLoteQueue() {
+        return new Queue(QUEUE_NOTIFICACIONES_LOTE, true);
+    }
+
+    @Bean
+    public Queue notificacionFallidaQueue() {
+        return new Queue(QUEUE_NOTIFICACIONES_FALLIDAS, true);
+    }
+
+    @Bean
+    public FanoutExchange usuariosExchange() {
+        return new FanoutExchange(USUARIOS_EXCHANGE, true, false);
+    }
+
+    /**
+     * Cola propia de cada instancia (exclusiva, se borra al desconectarse):
+     * todas las instancias reciben cada actualización para refrescar su caché.
+     */
+    @Bean
+    public Queue usuariosActualizadosQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding usuariosActualizadosBinding() {
+        return BindingBuilder.bind(usuariosActualizadosQueue()).to(usuariosExchange());
+    }
+
+    @Bean
+    public TopicExchange catalogoExchange() {
+        return new TopicExchange(CATALOGO_EXCHANGE);
+    }
+
+    /**
+     * Igual que con usuarios: cada instancia mantiene su réplica del catálogo con su propia cola.
+     */
+    @Bean
+    public Queue catalogoServiciosQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding catalogoServiciosBinding() {
+        return BindingBuilder.bind(catalogoServiciosQueue()).to(catalogoExchange()).with(CATALOGO_SERVICIOS_ROUTING_KEY);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
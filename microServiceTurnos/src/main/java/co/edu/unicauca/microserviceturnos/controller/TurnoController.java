@@ -1,15 +1,50 @@
 package co.edu.unicauca.microserviceturnos.controller;
 
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.CacheDisponibilidad;
+import co.edu.unicauca.microserviceturnos.agenda.CambiosDisponibilidad;
+import co.edu.unicauca.microserviceturnos.agenda.CarrilesBarbero;
+import co.edu.unicauca.microserviceturnos.dto.EstadisticaDia;
+import co.edu.unicauca.microserviceturnos.dto.ExcepcionHorarioRequest;
+import co.edu.unicauca.microserviceturnos.dto.FiltroTurnos;
+import co.edu.unicauca.microserviceturnos.dto.HorarioBarberoResponse;
+import co.edu.unicauca.microserviceturnos.dto.HuecoDisponible;
+import co.edu.unicauca.microserviceturnos.dto.OcupacionDia;
+import co.edu.unicauca.microserviceturnos.dto.PaginaTurnos;
+import co.edu.unicauca.microserviceturnos.dto.PosicionEspera;
+import co.edu.unicauca.microserviceturnos.dto.ResultadoLote;
+import co.edu.unicauca.microserviceturnos.dto.ResultadoTransicionMasiva;
+import co.edu.unicauca.microserviceturnos.dto.TasaNoShowBarbero;
+import co.edu.unicauca.microserviceturnos.dto.TramoHorario;
+import co.edu.unicauca.microserviceturnos.dto.TransicionHistorial;
 import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
 import co.edu.unicauca.microserviceturnos.dto.TurnoStateResponse;
 import co.edu.unicauca.microserviceturnos.dto.TurnoUpdate;
 import co.edu.unicauca.microserviceturnos.entities.DisponibilidadBarbero;
+import co.edu.unicauca.microserviceturnos.service.BusquedaHuecosService;
+import co.edu.unicauca.microserviceturnos.service.EstadisticasService;
+import co.edu.unicauca.microserviceturnos.service.HorarioService;
+import co.edu.unicauca.microserviceturnos.service.ListaEsperaService;
+import co.edu.unicauca.microserviceturnos.service.LoteTurnosService;
+import co.edu.unicauca.microserviceturnos.service.ProyeccionesService;
+import co.edu.unicauca.microserviceturnos.service.TransicionMasivaService;
 import co.edu.unicauca.microserviceturnos.service.TurnoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,18 +52,64 @@ import java.util.UUID;
 @RequestMapping("/turnos")
 public class TurnoController {
 
+    private static final String HEADER_SIGUIENTE_CURSOR = "X-Siguiente-Cursor";
+    private static final String MEDIA_NDJSON = "application/x-ndjson";
+
     @Autowired
     private TurnoService turnoService;
 
+    @Autowired
+    private LoteTurnosService loteTurnosService;
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private BusquedaHuecosService busquedaHuecosService;
+
+    @Autowired
+    private TransicionMasivaService transicionMasivaService;
+
+    @Autowired
+    private ProyeccionesService proyeccionesService;
+
+    @Autowired
+    private EstadisticasService estadisticasService;
+
+    @Autowired
+    private HorarioService horarioService;
+
+    @Autowired
+    private CarrilesBarbero carriles;
+
+    @Autowired
+    private CambiosDisponibilidad cambiosDisponibilidad;
+
+    @Autowired
+    private CacheDisponibilidad cacheDisponibilidad;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // -----------------------------
     // CREAR TURNO
     // -----------------------------
     @PostMapping
     public ResponseEntity<TurnoRequest> createTurno(@RequestBody TurnoRequest dto) {
-        TurnoRequest response = turnoService.createTurno(dto);
+        // Todas las escrituras de un barbero pasan por su carril
+        TurnoRequest response = carriles.ejecutar(() -> turnoService.createTurno(dto),
+                dto != null ? dto.getBarberoId() : null);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // -----------------------------
+    // CREAR TURNOS EN LOTE
+    // -----------------------------
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLote> createTurnosLote(@RequestBody List<TurnoRequest> dtos) {
+        return ResponseEntity.ok(loteTurnosService.crearLote(dtos));
+    }
+
     // -----------------------------
     // ACTUALIZAR TURNO
     // -----------------------------
@@ -37,16 +118,52 @@ public class TurnoController {
             @PathVariable UUID id,
             @RequestBody TurnoUpdate dto) {
 
-        TurnoRequest response = turnoService.updateTurno(id, dto);
+        TurnoRequest response = carriles.ejecutarParaTurno(id, dto != null ? dto.getBarberoId() : null,
+                () -> turnoService.updateTurno(id, dto));
         return ResponseEntity.ok(response);
     }
 
     // -----------------------------
-    // OBTENER TODOS LOS TURNOS
+    // LISTAR TURNOS (FILTROS + CURSOR)
     // -----------------------------
     @GetMapping
-    public ResponseEntity<List<TurnoRequest>> getAllTurnos() {
-        return ResponseEntity.ok(turnoService.getAllTurnos());
+    public ResponseEntity<List<TurnoRequest>> getTurnos(
+            FiltroTurnos filtro,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+
+        PaginaTurnos pagina = turnoService.buscarTurnos(filtro, cursor, limite);
+
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (pagina.getSiguienteCursor() != null) {
+            respuesta.header(HEADER_SIGUIENTE_CURSOR, pagina.getSiguienteCursor());
+        }
+        return respuesta.body(pagina.getTurnos());
+    }
+
+    // -----------------------------
+    // EXPORTAR TURNOS (NDJSON)
+    // -----------------------------
+    @GetMapping(produces = MEDIA_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportarTurnos(
+            FiltroTurnos filtro,
+            @RequestParam(required = false) String cursor) {
+
+        StreamingResponseBody cuerpo = salida -> {
+            turnoService.exportarTurnos(filtro, cursor, turno -> {
+                try {
+                    salida.write(objectMapper.writeValueAsBytes(turno));
+                    salida.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            salida.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_NDJSON))
+                .body(cuerpo);
     }
 
     // -----------------------------
@@ -70,27 +187,41 @@ public class TurnoController {
     // -----------------------------
     @PostMapping("/{id}/confirmar")
     public ResponseEntity<TurnoStateResponse> confirmar(@PathVariable UUID id) {
-        return ResponseEntity.ok(turnoService.confirmarTurno(id));
+        return ResponseEntity.ok(carriles.ejecutarParaTurno(id, () -> turnoService.confirmarTurno(id)));
     }
 
     @PostMapping("/{id}/iniciar")
     public ResponseEntity<TurnoStateResponse> iniciar(@PathVariable UUID id) {
-        return ResponseEntity.ok(turnoService.iniciarTurno(id));
+        return ResponseEntity.ok(carriles.ejecutarParaTurno(id, () -> turnoService.iniciarTurno(id)));
     }
 
     @PostMapping("/{id}/finalizar")
     public ResponseEntity<TurnoStateResponse> finalizar(@PathVariable UUID id) {
-        return ResponseEntity.ok(turnoService.finalizarTurno(id));
+        return ResponseEntity.ok(carriles.ejecutarParaTurno(id, () -> turnoService.finalizarTurno(id)));
     }
 
     @PostMapping("/{id}/cancelar")
     public ResponseEntity<TurnoStateResponse> cancelar(@PathVariable UUID id) {
-        return ResponseEntity.ok(turnoService.cancelarTurno(id));
+        return ResponseEntity.ok(carriles.ejecutarParaTurno(id, () -> turnoService.cancelarTurno(id)));
     }
 
     @PostMapping("/{id}/no_asistio")
     public ResponseEntity<TurnoStateResponse> noAsistio(@PathVariable UUID id) {
-        return ResponseEntity.ok(turnoService.marcarNoAsistio(id));
+        return ResponseEntity.ok(carriles.ejecutarParaTurno(id, () -> turnoService.marcarNoAsistio(id)));
+    }
+
+    // -----------------------------
+    // CAMBIO DE ESTADO MASIVO (BARBERO + RANGO)
+    // -----------------------------
+    @PostMapping("/barberos/{barberoId}/turnos/{accion}")
+    public ResponseEntity<ResultadoTransicionMasiva> transicionMasiva(
+            @PathVariable String barberoId,
+            @PathVariable String accion,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(defaultValue = "true") boolean reasignar) {
+
+        return ResponseEntity.ok(transicionMasivaService.aplicar(barberoId, accion, desde, hasta, reasignar));
     }
 
     // -----------------------------
@@ -100,10 +231,139 @@ public class TurnoController {
     public ResponseEntity<DisponibilidadBarbero> getDisponibilidadBarbero(
             @PathVariable String barberoId,
             @RequestParam(required = false) String fechaInicio,
-            @RequestParam(required = false) Integer dias) {
+            @RequestParam(required = false) Integer dias,
+            @RequestParam(required = false) String servicioId,
+            @RequestParam(required = false) Integer duracion,
+            WebRequest request) {
+
+        // Si el cliente ya tiene esta versión se responde 304 sin calcular nada
+        String etag = cacheDisponibilidad.etag(barberoId);
+        if (request.checkNotModified(etag)) {
+            cacheDisponibilidad.contarNoModificado();
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(turnoService.getDisponibilidadBarbero(barberoId, fechaInicio, dias, servicioId, duracion));
+    }
+
+    // -----------------------------
+    // PRIMEROS HUECOS LIBRES (TODOS LOS BARBEROS)
+    // -----------------------------
+    @GetMapping("/huecos")
+    public ResponseEntity<List<HuecoDisponible>> buscarHuecos(
+            @RequestParam(required = false) String servicioId,
+            @RequestParam(required = false) Integer duracion,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) Integer limite) {
+
+        return ResponseEntity.ok(busquedaHuecosService.buscar(servicioId, duracion, desde, hasta, limite));
+    }
+
+    // -----------------------------
+    // CAMBIOS DE DISPONIBILIDAD (SSE)
+    // -----------------------------
+    @GetMapping(value = "/disponibilidad/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirDisponibilidad(
+            @RequestParam List<String> barberoIds,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+
+        if (barberoIds.isEmpty())
+            throw new ValidacionTurnoException("Debe indicar al menos un barbero.");
+
+        return cambiosDisponibilidad.suscribir(barberoIds, ultimoEventoId);
+    }
+
+    // -----------------------------
+    // HORARIO DE ATENCIÓN DEL BARBERO
+    // -----------------------------
+    @GetMapping("/barberos/{barberoId}/horario")
+    public ResponseEntity<HorarioBarberoResponse> getHorario(@PathVariable String barberoId) {
+        return ResponseEntity.ok(horarioService.obtener(barberoId));
+    }
+
+    @PutMapping("/barberos/{barberoId}/horario")
+    public ResponseEntity<HorarioBarberoResponse> definirHorario(
+            @PathVariable String barberoId,
+            @RequestBody List<TramoHorario> tramos) {
+
+        return ResponseEntity.ok(horarioService.definirPlantilla(barberoId, tramos));
+    }
+
+    @PutMapping("/barberos/{barberoId}/horario/excepciones/{fecha}")
+    public ResponseEntity<Void> definirExcepcionHorario(
+            @PathVariable String barberoId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @RequestBody(required = false) ExcepcionHorarioRequest excepcion) {
+
+        horarioService.definirExcepcion(barberoId, fecha, excepcion);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/barberos/{barberoId}/horario/excepciones/{fecha}")
+    public ResponseEntity<Void> eliminarExcepcionHorario(
+            @PathVariable String barberoId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+
+        horarioService.eliminarExcepcion(barberoId, fecha);
+        return ResponseEntity.noContent().build();
+    }
+
+    // -----------------------------
+    // POSICIÓN EN LISTA DE ESPERA
+    // -----------------------------
+    @GetMapping("/barberos/{barberoId}/lista-espera/posicion")
+    public ResponseEntity<PosicionEspera> getPosicionEspera(
+            @PathVariable String barberoId,
+            @RequestParam String clienteId) {
+
+        return listaEsperaService.posicion(barberoId, clienteId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // -----------------------------
+    // PROYECCIONES DE LA BITÁCORA
+    // -----------------------------
+    @GetMapping("/proyecciones/ocupacion")
+    public ResponseEntity<List<OcupacionDia>> getOcupacion(
+            @RequestParam String barberoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        return ResponseEntity.ok(proyeccionesService.ocupacion(barberoId, desde, hasta));
+    }
+
+    @GetMapping("/proyecciones/no-show")
+    public ResponseEntity<List<TasaNoShowBarbero>> getTasasNoShow(
+            @RequestParam(required = false) String barberoId) {
+
+        return ResponseEntity.ok(proyeccionesService.tasasNoShow(barberoId));
+    }
+
+    // -----------------------------
+    // ESTADÍSTICAS DIARIAS
+    // -----------------------------
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<EstadisticaDia>> getEstadisticas(
+            @RequestParam(required = false) String barberoId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+
+        return ResponseEntity.ok(estadisticasService.estadisticas(barberoId, desde, hasta));
+    }
+
+    // -----------------------------
+    // HISTORIAL DEL CLIENTE
+    // -----------------------------
+    @GetMapping("/clientes/{clienteId}/historial")
+    public ResponseEntity<List<TransicionHistorial>> getHistorialCliente(
+            @PathVariable String clienteId,
+            @RequestParam(required = false) Integer limite) {
 
-        return ResponseEntity.ok(
-                turnoService.getDisponibilidadBarbero(barberoId, fechaInicio, dias)
-        );
+        return ResponseEntity.ok(proyeccionesService.historialCliente(clienteId, limite));
     }
 }
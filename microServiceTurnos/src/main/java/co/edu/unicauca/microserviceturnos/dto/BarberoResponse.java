@@ -0,0 +1,12 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BarberoResponse {
+    private String id;
+    private String nombre;
+    private boolean estado;     // false = barbero desactivado
+}
@@ -0,0 +1,16 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class CambioDisponibilidad {
+    private long id;
+    private String barberoId;
+    private String tipo;            // OCUPADO o LIBERADO
+    private LocalDateTime fechaHora;
+    private int duracionMinutos;
+}
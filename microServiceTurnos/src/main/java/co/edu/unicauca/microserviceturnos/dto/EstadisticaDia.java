@@ -0,0 +1,21 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class EstadisticaDia {
+    private String barberoId;
+    private LocalDate fecha;
+    private int pendientes;
+    private int confirmados;
+    private int enProceso;
+    private int finalizados;
+    private int cancelados;
+    private int noAsistio;
+    private int minutosReservados;
+    private double ocupacion;   // minutosReservados / minutos de la jornada
+}
@@ -0,0 +1,17 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcepcionHorarioRequest {
+    private LocalDate fecha;
+    private String motivo;
+    private List<TramoHorario> tramos;   // vacío = no atiende ese día
+}
@@ -0,0 +1,17 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HorarioBarberoResponse {
+    private String barberoId;
+    private boolean porDefecto;                        // sin plantilla propia
+    private List<TramoHorario> semana;
+    private List<ExcepcionHorarioRequest> excepciones; // de hoy en adelante
+}
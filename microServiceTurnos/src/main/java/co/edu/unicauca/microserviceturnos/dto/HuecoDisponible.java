@@ -0,0 +1,15 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class HuecoDisponible {
+    private String barberoId;
+    private String servicioId;
+    private LocalDateTime fechaHora;
+    private int duracionMinutos;
+}
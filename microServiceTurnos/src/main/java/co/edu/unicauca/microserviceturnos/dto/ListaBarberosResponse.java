@@ -0,0 +1,14 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.List;
+
+// Respuesta de GET /usuarios/barberos
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ListaBarberosResponse {
+    private boolean success;
+    private List<BarberoResponse> data;
+}
@@ -0,0 +1,14 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class OcupacionDia {
+    private LocalDate fecha;
+    private int turnos;           // turnos que ocupan el horario (no cancelados ni no asistidos)
+    private int minutosOcupados;
+}
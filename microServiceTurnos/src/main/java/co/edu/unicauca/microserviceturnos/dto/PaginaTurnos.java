@@ -0,0 +1,13 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PaginaTurnos {
+    private List<TurnoRequest> turnos;
+    private String siguienteCursor; // null cuando no hay más resultados
+}
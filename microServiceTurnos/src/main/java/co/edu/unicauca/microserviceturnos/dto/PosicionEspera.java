@@ -0,0 +1,13 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PosicionEspera {
+    private String barberoId;
+    private String clienteId;
+    private int posicion;   // 1 = siguiente en ser atendido
+    private int total;
+}
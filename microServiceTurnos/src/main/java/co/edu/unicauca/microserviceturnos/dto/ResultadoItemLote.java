@@ -0,0 +1,24 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItemLote {
+
+    private int indice;          // posición en el lote recibido
+    private boolean creado;
+    private TurnoRequest turno;  // turno guardado (con id) si se creó
+    private String error;        // motivo del rechazo
+
+    public static ResultadoItemLote creado(int indice, TurnoRequest turno) {
+        return new ResultadoItemLote(indice, true, turno, null);
+    }
+
+    public static ResultadoItemLote rechazado(int indice, String error) {
+        return new ResultadoItemLote(indice, false, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ResultadoLote {
+    private int creados;
+    private int rechazados;
+    private List<ResultadoItemLote> resultados; // en el mismo orden del lote
+}
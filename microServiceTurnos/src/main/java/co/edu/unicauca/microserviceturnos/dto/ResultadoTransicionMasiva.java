@@ -0,0 +1,15 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ResultadoTransicionMasiva {
+    private String estado;            // estado en que quedaron los turnos
+    private int afectados;
+    private int reasignados;          // huecos que tomó alguien de la lista de espera
+    private List<String> turnoIds;    // turnos que cambiaron de estado, en orden de fecha
+}
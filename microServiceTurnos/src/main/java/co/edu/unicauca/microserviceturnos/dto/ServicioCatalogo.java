@@ -0,0 +1,27 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Servicio del catálogo: lo que devuelve GET /catalogo/servicios y lo que Catalogo
+ * difunde en {@code catalogo.exchange} al cambiar un servicio.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ServicioCatalogo {
+    private Long id;
+    private String nombre;
+    private Integer duracion;
+    private Double precio;
+    private Boolean estado;
+
+    // El catálogo trata un estado null como activo
+    public boolean activo() {
+        return !Boolean.FALSE.equals(estado);
+    }
+}
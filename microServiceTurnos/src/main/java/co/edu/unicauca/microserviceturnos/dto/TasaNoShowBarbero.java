@@ -0,0 +1,13 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TasaNoShowBarbero {
+    private String barberoId;
+    private long finalizados;
+    private long noAsistio;
+    private double tasa;   // noAsistio / (finalizados + noAsistio)
+}
@@ -0,0 +1,17 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TramoHorario {
+    private DayOfWeek diaSemana;   // solo en la plantilla semanal
+    private LocalTime inicio;
+    private LocalTime fin;
+}
@@ -0,0 +1,18 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class TransicionHistorial {
+    private long secuencia;
+    private String turnoId;
+    private String tipo;
+    private String estado;
+    private String barberoId;
+    private LocalDateTime fechaHora;
+    private LocalDateTime registradaEn;
+}
@@ -0,0 +1,15 @@
+package co.edu.unicauca.microserviceturnos.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+// Evento que difunde Usuarios (exchange usuarios.eventos) al actualizar un usuario
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UsuarioActualizadoEvent {
+    private String id;
+    private String nombre;
+    private String telefono;
+    private String rol;
+    private boolean estado;
+}
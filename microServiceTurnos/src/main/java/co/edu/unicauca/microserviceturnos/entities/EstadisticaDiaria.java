@@ -0,0 +1,53 @@
+package co.edu.unicauca.microserviceturnos.entities;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Turnos de un barbero en un día, contados por estado, y minutos que ocupan la agenda
+ * (los que no están cancelados ni marcados como no asistió).
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_estadistica_fecha", columnList = "fecha")
+})
+@Data
+public class EstadisticaDiaria {
+
+    @EmbeddedId
+    private EstadisticaDiariaId id;
+
+    private int pendientes;
+    private int confirmados;
+    private int enProceso;
+    private int finalizados;
+    private int cancelados;
+    private int noAsistio;
+    private int minutosReservados;
+
+    public EstadisticaDiaria() {}
+
+    public EstadisticaDiaria(EstadisticaDiariaId id) {
+        this.id = id;
+    }
+
+    /**
+     * Suma (signo 1) o descuenta (signo -1) un turno en el estado dado.
+     */
+    public void sumar(EstadoTurnoEnum estado, int minutos, int signo) {
+        switch (estado) {
+            case PENDIENTE -> pendientes += signo;
+            case CONFIRMADO -> confirmados += signo;
+            case EN_PROCESO -> enProceso += signo;
+            case FINALIZADO -> finalizados += signo;
+            case CANCELADO -> cancelados += signo;
+            case NO_ASISTIO -> noAsistio += signo;
+        }
+        if (estado != EstadoTurnoEnum.CANCELADO && estado != EstadoTurnoEnum.NO_ASISTIO) {
+            minutosReservados += signo * minutos;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package co.edu.unicauca.microserviceturnos.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticaDiariaId implements Serializable {
+
+    @Column(nullable = false)
+    private String barberoId;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+}
@@ -0,0 +1,37 @@
+package co.edu.unicauca.microserviceturnos.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendiente de publicar en RabbitMQ (outbox). Se guarda en la transacción que lo
+ * produce y el relay lo borra cuando el broker confirma la publicación.
+ */
+@Entity
+@Data
+public class EventoSaliente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String tipo;
+
+    @Column(nullable = false)
+    private String destino; // cola de RabbitMQ
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // JSON
+
+    @Column(nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    public EventoSaliente() {}
+}
@@ -0,0 +1,50 @@
+package co.edu.unicauca.microserviceturnos.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Tramo de atención para una fecha puntual; las filas de una fecha reemplazan el horario
+ * semanal de ese día. Sin horas, el barbero no atiende ese día.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_excepcion_horario_barbero_fecha", columnList = "barbero_id, fecha")
+})
+@Data
+public class ExcepcionHorario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String barberoId;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    private LocalTime horaInicio; // null = día cerrado
+    private LocalTime horaFin;
+
+    private String motivo;
+
+    public ExcepcionHorario() {}
+
+    public ExcepcionHorario(String barberoId, LocalDate fecha, LocalTime horaInicio, LocalTime horaFin, String motivo) {
+        this.barberoId = barberoId;
+        this.fecha = fecha;
+        this.horaInicio = horaInicio;
+        this.horaFin = horaFin;
+        this.motivo = motivo;
+    }
+}
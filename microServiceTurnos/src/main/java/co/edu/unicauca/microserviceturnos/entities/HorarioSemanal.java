@@ -0,0 +1,53 @@
+package co.edu.unicauca.microserviceturnos.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Tramo de atención de un barbero en un día de la semana. Un día puede tener varios;
+ * lo que queda entre ellos es descanso.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_horario_semanal_barbero", columnList = "barbero_id")
+})
+@Data
+public class HorarioSemanal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String barberoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DayOfWeek diaSemana;
+
+    @Column(nullable = false)
+    private LocalTime horaInicio;
+
+    @Column(nullable = false)
+    private LocalTime horaFin;
+
+    public HorarioSemanal() {}
+
+    public HorarioSemanal(String barberoId, DayOfWeek diaSemana, LocalTime horaInicio, LocalTime horaFin) {
+        this.barberoId = barberoId;
+        this.diaSemana = diaSemana;
+        this.horaInicio = horaInicio;
+        this.horaFin = horaFin;
+    }
+}
@@ -1,20 +1,27 @@
 package co.edu.unicauca.microserviceturnos.entities;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_espera_barbero_prioridad_fecha", columnList = "barbero_id, prioridad, fecha_solicitud")
+})
 @Data
 public class ListaEspera {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "BINARY(16)")
     private UUID id;
 
     private String clienteId;
@@ -22,6 +29,7 @@ public class ListaEspera {
     private String servicioId;
     private LocalDateTime fechaSolicitud;
     private Integer prioridad; // menor valor = mayor prioridad
+    private Integer duracionMinutos; // duración del servicio pedido, para ver si cabe en un hueco
 
     public ListaEspera() {}
 }
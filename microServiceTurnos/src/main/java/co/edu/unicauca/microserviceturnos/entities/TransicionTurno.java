@@ -0,0 +1,57 @@
+package co.edu.unicauca.microserviceturnos.entities;
+
+import co.edu.unicauca.microserviceturnos.journal.TipoTransicion;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entrada de la bitácora de turnos. Lleva los datos del turno tal como quedaron, así las
+ * proyecciones se arman solo con la bitácora, sin leer la tabla turno. Nunca se modifica.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_transicion_cliente_secuencia", columnList = "cliente_id, secuencia")
+})
+@Data
+public class TransicionTurno {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long secuencia;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID turnoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoTransicion tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private EstadoTurnoEnum estadoAnterior; // null al crear
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoTurnoEnum estado;
+
+    private String clienteId;
+    private String barberoId;
+    private LocalDateTime fechaHora;
+    private Integer duracionMinutos;
+
+    @Column(nullable = false)
+    private LocalDateTime registradaEn;
+
+    public TransicionTurno() {}
+}
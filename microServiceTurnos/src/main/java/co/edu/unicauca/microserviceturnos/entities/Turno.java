@@ -1,7 +1,8 @@
 package co.edu.unicauca.microserviceturnos.entities;
 
 
-import co.edu.unicauca.microserviceturnos.states.*;
+import co.edu.unicauca.microserviceturnos.states.AccionTurno;
+import co.edu.unicauca.microserviceturnos.states.EstadoTurno;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -11,6 +12,13 @@ import java.util.Date;
 import java.util.UUID;
 
 @Entity
+// El esquema lo manejan las migraciones de Flyway (db/migration); los índices se repiten aquí como referencia
+@Table(indexes = {
+        @Index(name = "idx_turno_estado_fecha", columnList = "estado, fecha_hora"),
+        @Index(name = "idx_turno_barbero_fecha", columnList = "barbero_id, fecha_hora"),
+        @Index(name = "idx_turno_cliente_estado_fecha", columnList = "cliente_id, estado, fecha_hora"),
+        @Index(name = "idx_turno_cliente_barbero_fecha", columnList = "cliente_id, barbero_id, fecha_hora")
+})
 @Data
 public class Turno {
 
@@ -36,9 +44,10 @@ public class Turno {
 
     private String notas;
 
-
-    @Transient
-    private EstadoTurno estadoTurno;
+    // Los carriles son por instancia; con varias réplicas dos escrituras del mismo turno
+    // pueden cruzarse, y la que confirme después falla en vez de pisar a la otra
+    @Version
+    private Long version;
 
 
     public Turno() {}
@@ -50,68 +59,36 @@ public class Turno {
         this.servicioId = servicioId;
         this.fechaHora = fechaHora;
         this.estado = EstadoTurnoEnum.PENDIENTE;
-        this.estadoTurno = new EstadoPendiente(this);
         this.notas = notas;
     }
 
     public EstadoTurno getEstadoTurnoObjeto() {
-        switch (this.estado) {
-            case PENDIENTE: return new EstadoPendiente(this);
-            case CONFIRMADO: return new EstadoConfirmado(this);
-            case EN_PROCESO: return new EstadoEnProceso(this);
-            case FINALIZADO: return new EstadoFinalizado(this);
-            case CANCELADO: return new EstadoCancelado(this);
-            case NO_ASISTIO: return new EstadoNoAsistio(this);
-            default: throw new IllegalStateException("Estado desconocido: " + estado);
-        }
-    }
-    public void setEstadoTurno(EstadoTurno nuevoEstado) {
-        this.estado = mapEstadoTurnoToEnum(nuevoEstado);
-        this.estadoTurno = nuevoEstado;
-    }
-    private EstadoTurnoEnum mapEstadoTurnoToEnum(EstadoTurno estadoTurno) {
-        if (estadoTurno instanceof EstadoPendiente) return EstadoTurnoEnum.PENDIENTE;
-        if (estadoTurno instanceof EstadoConfirmado) return EstadoTurnoEnum.CONFIRMADO;
-        if (estadoTurno instanceof EstadoEnProceso) return EstadoTurnoEnum.EN_PROCESO;
-        if (estadoTurno instanceof EstadoFinalizado) return EstadoTurnoEnum.FINALIZADO;
-        if (estadoTurno instanceof EstadoCancelado) return EstadoTurnoEnum.CANCELADO;
-        if (estadoTurno instanceof EstadoNoAsistio) return EstadoTurnoEnum.NO_ASISTIO;
-        throw new IllegalArgumentException("Estado desconocido: " + estadoTurno.getClass());
-    }
-    private void ensureEstadoTurnoInitialized() {
-        if (this.estadoTurno == null) {
-            if (this.estado != null) {
-                this.estadoTurno = getEstadoTurnoObjeto();
-            } else {
-                // Fallback: default to PENDIENTE
-                this.estado = EstadoTurnoEnum.PENDIENTE;
-                this.estadoTurno = new EstadoPendiente(this);
-            }
-        }
+        return EstadoTurno.de(estado != null ? estado : EstadoTurnoEnum.PENDIENTE);
     }
 
     public void confirmar() {
-        ensureEstadoTurnoInitialized();
-        estadoTurno.confirmar();
+        aplicar(AccionTurno.CONFIRMAR);
     }
 
     public void iniciar() {
-        ensureEstadoTurnoInitialized();
-        estadoTurno.iniciar();
+        aplicar(AccionTurno.INICIAR);
     }
 
     public void finalizar() {
-        ensureEstadoTurnoInitialized();
-        estadoTurno.finalizar();
+        aplicar(AccionTurno.FINALIZAR);
     }
 
     public void cancelar() {
-        ensureEstadoTurnoInitialized();
-        estadoTurno.cancelar();
+        aplicar(AccionTurno.CANCELAR);
     }
 
     public void noAsistio() {
-        ensureEstadoTurnoInitialized();
-        estadoTurno.marcarNoAsistio();
+        aplicar(AccionTurno.MARCAR_NO_ASISTIO);
+    }
+
+    // Sin estado se toma PENDIENTE; el siguiente sale de la tabla de EstadoTurno
+    private void aplicar(AccionTurno accion) {
+        if (this.estado == null) this.estado = EstadoTurnoEnum.PENDIENTE;
+        this.estado = EstadoTurno.de(this.estado).aplicar(accion);
     }
 }
@@ -0,0 +1,101 @@
+package co.edu.unicauca.microserviceturnos.espera;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Cola de espera de un barbero ordenada por (prioridad, fechaSolicitud).
+ *
+ * Encolar y retirar son O(log n); la cabeza se guarda aparte para que consultarla sea O(1).
+ * Además agrupa las entradas por (duración, prioridad): dentro de cada grupo la más antigua
+ * es siempre la mejor candidata, así que para reasignar un hueco basta mirar la primera de
+ * cada grupo cuya duración quepa (ver {@link MotorReasignacion}).
+ */
+class ColaEsperaBarbero {
+
+    // Clave de duración para solicitudes sin duración guardada
+    static final int DURACION_DESCONOCIDA = 0;
+
+    private final TreeSet<EntradaEspera> orden = new TreeSet<>(EntradaEspera.ORDEN);
+    private final Map<UUID, EntradaEspera> porId = new HashMap<>();
+    private final TreeMap<Integer, TreeMap<Integer, TreeSet<EntradaEspera>>> porDuracion = new TreeMap<>();
+
+    private EntradaEspera cabeza;
+
+    synchronized void encolar(EntradaEspera entrada) {
+        retirar(entrada.getId());
+        orden.add(entrada);
+        porId.put(entrada.getId(), entrada);
+        porDuracion.computeIfAbsent(duracion(entrada), k -> new TreeMap<>())
+                .computeIfAbsent(entrada.getPrioridad(), k -> new TreeSet<>(EntradaEspera.ORDEN))
+                .add(entrada);
+
+        if (cabeza == null || EntradaEspera.ORDEN.compare(entrada, cabeza) < 0) {
+            cabeza = entrada;
+        }
+    }
+
+    synchronized EntradaEspera retirar(UUID id) {
+        EntradaEspera existente = porId.remove(id);
+        if (existente == null) return null;
+
+        orden.remove(existente);
+        TreeMap<Integer, TreeSet<EntradaEspera>> porPrioridad = porDuracion.get(duracion(existente));
+        TreeSet<EntradaEspera> grupo = porPrioridad.get(existente.getPrioridad());
+        grupo.remove(existente);
+        if (grupo.isEmpty()) porPrioridad.remove(existente.getPrioridad());
+        if (porPrioridad.isEmpty()) porDuracion.remove(duracion(existente));
+
+        if (existente == cabeza) {
+            cabeza = orden.isEmpty() ? null : orden.first();
+        }
+        return existente;
+    }
+
+    synchronized EntradaEspera cabeza() {
+        return cabeza;
+    }
+
+    /**
+     * Entrega la más antigua no excluida de cada grupo (duración, prioridad) con duración
+     * hasta {@code duracionMaxima}, incluidas las de duración desconocida.
+     */
+    synchronized void candidatos(int duracionMaxima, Predicate<EntradaEspera> excluida,
+                                 Consumer<EntradaEspera> consumidor) {
+        for (TreeMap<Integer, TreeSet<EntradaEspera>> porPrioridad : porDuracion.headMap(duracionMaxima, true).values()) {
+            for (TreeSet<EntradaEspera> grupo : porPrioridad.values()) {
+                for (EntradaEspera e : grupo) {
+                    if (!excluida.test(e)) {
+                        consumidor.accept(e);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Posición (desde 1) del cliente en la cola, o 0 si no está.
+     */
+    synchronized int posicion(String clienteId) {
+        int posicion = 1;
+        for (EntradaEspera e : orden) {
+            if (e.getClienteId().equals(clienteId)) return posicion;
+            posicion++;
+        }
+        return 0;
+    }
+
+    synchronized int tamanio() {
+        return orden.size();
+    }
+
+    private static int duracion(EntradaEspera entrada) {
+        return entrada.getDuracionMinutos() != null ? entrada.getDuracionMinutos() : DURACION_DESCONOCIDA;
+    }
+}
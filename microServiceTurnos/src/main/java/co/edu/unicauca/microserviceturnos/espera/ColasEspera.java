@@ -0,0 +1,79 @@
+package co.edu.unicauca.microserviceturnos.espera;
+
+import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
+import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import co.edu.unicauca.microserviceturnos.util.TransaccionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Colas de espera en memoria, una por barbero. Cada cola se carga desde la base de datos
+ * la primera vez que se usa y después se mantiene con las escrituras de
+ * {@link co.edu.unicauca.microserviceturnos.service.ListaEsperaService}, que primero
+ * escribe en ListaEspera y aplica el cambio en memoria al confirmar la transacción.
+ */
+@Component
+public class ColasEspera {
+
+    private final ListaEsperaRepository listaEsperaRepository;
+    private final Map<String, ColaEsperaBarbero> colas = new ConcurrentHashMap<>();
+
+    public ColasEspera(ListaEsperaRepository listaEsperaRepository) {
+        this.listaEsperaRepository = listaEsperaRepository;
+    }
+
+    public Optional<EntradaEspera> siguiente(String barberoId) {
+        return Optional.ofNullable(cola(barberoId).cabeza());
+    }
+
+    public int posicion(String barberoId, String clienteId) {
+        return cola(barberoId).posicion(clienteId);
+    }
+
+    public int tamanio(String barberoId) {
+        return cola(barberoId).tamanio();
+    }
+
+    /**
+     * Mejores candidatas del barbero para un hueco de hasta {@code duracionMaxima} minutos
+     * (ver {@link ColaEsperaBarbero#candidatos}).
+     */
+    public void candidatos(String barberoId, int duracionMaxima, Predicate<EntradaEspera> excluida,
+                           Consumer<EntradaEspera> consumidor) {
+        cola(barberoId).candidatos(duracionMaxima, excluida, consumidor);
+    }
+
+    public void encolar(ListaEspera le) {
+        EntradaEspera entrada = EntradaEspera.desde(le);
+        TransaccionUtils.trasCommit(() -> cola(entrada.getBarberoId()).encolar(entrada));
+    }
+
+    public void retirar(String barberoId, UUID id) {
+        TransaccionUtils.trasCommit(() -> cola(barberoId).retirar(id));
+    }
+
+    /**
+     * Saca la entrada de la cola en el acto, sin esperar un commit: para entradas que la
+     * base de datos ya no tiene (las borró otra transacción).
+     */
+    public void descartar(String barberoId, UUID id) {
+        cola(barberoId).retirar(id);
+    }
+
+    private ColaEsperaBarbero cola(String barberoId) {
+        return colas.computeIfAbsent(barberoId, this::cargar);
+    }
+
+    private ColaEsperaBarbero cargar(String barberoId) {
+        ColaEsperaBarbero cola = new ColaEsperaBarbero();
+        listaEsperaRepository.findByBarberoId(barberoId)
+                .forEach(le -> cola.encolar(EntradaEspera.desde(le)));
+        return cola;
+    }
+}
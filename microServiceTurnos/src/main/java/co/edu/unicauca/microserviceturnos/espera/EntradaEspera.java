@@ -0,0 +1,42 @@
+package co.edu.unicauca.microserviceturnos.espera;
+
+import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Copia inmutable de una fila de ListaEspera dentro de la cola en memoria.
+ */
+@Getter
+@AllArgsConstructor
+public final class EntradaEspera {
+
+    // Menor prioridad primero, luego el que pidió antes; el id desempata
+    static final Comparator<EntradaEspera> ORDEN = Comparator
+            .comparingInt(EntradaEspera::getPrioridad)
+            .thenComparing(EntradaEspera::getFechaSolicitud)
+            .thenComparing(EntradaEspera::getId);
+
+    private final UUID id;
+    private final String clienteId;
+    private final String barberoId;
+    private final String servicioId;
+    private final int prioridad;
+    private final LocalDateTime fechaSolicitud;
+    private final Integer duracionMinutos; // null en solicitudes anteriores a guardar la duración
+
+    public static EntradaEspera desde(ListaEspera le) {
+        return new EntradaEspera(
+                le.getId(),
+                le.getClienteId(),
+                le.getBarberoId(),
+                le.getServicioId(),
+                le.getPrioridad() != null ? le.getPrioridad() : 0,
+                le.getFechaSolicitud() != null ? le.getFechaSolicitud() : LocalDateTime.MIN,
+                le.getDuracionMinutos());
+    }
+}
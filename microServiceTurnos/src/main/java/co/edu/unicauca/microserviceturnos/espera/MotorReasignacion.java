@@ -0,0 +1,131 @@
+package co.edu.unicauca.microserviceturnos.espera;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Elige a quién darle un hueco que se liberó (cancelación o no-show).
+ *
+ * Candidatas: las de la cola del barbero del hueco y, si está configurado, las de los
+ * barberos intercambiables con él. Solo entran las que caben en los minutos libres.
+ * Puntaje (mayor gana):
+ * <ul>
+ *     <li>prioridad: un nivel de prioridad pesa más que todo lo demás junto,</li>
+ *     <li>tiempo esperando, saturado en torno a un día,</li>
+ *     <li>ajuste: qué tanto del hueco usa el servicio,</li>
+ *     <li>un pequeño extra si esperaba a este mismo barbero.</li>
+ * </ul>
+ * Gracias a los grupos (duración, prioridad) de {@link ColaEsperaBarbero} solo se puntúa
+ * una entrada por grupo, no toda la cola.
+ */
+@Component
+public class MotorReasignacion {
+
+    private static final double PESO_PRIORIDAD = 10.0;
+    private static final double PESO_ESPERA = 3.0;
+    private static final double PESO_AJUSTE = 2.0;
+    private static final double PESO_MISMO_BARBERO = 1.0;
+    private static final double MINUTOS_ESPERA_MEDIA = 24 * 60;
+
+    private final ColasEspera colasEspera;
+    private final int minDurationMinutes;
+    private final Map<String, List<String>> intercambiables;
+
+    /**
+     * @param grupos barberos intercambiables: ids separados por coma y grupos por punto y coma,
+     *               por ejemplo {@code "b1,b2;b3,b4,b5"}. Vacío = cada barbero solo.
+     */
+    public MotorReasignacion(ColasEspera colasEspera,
+                             @Value("${turnos.min-duration-minutes:45}") int minDurationMinutes,
+                             @Value("${turnos.reasignacion.barberos-intercambiables:}") String grupos) {
+        this.colasEspera = colasEspera;
+        this.minDurationMinutes = minDurationMinutes;
+        this.intercambiables = parsearGrupos(grupos);
+    }
+
+    /**
+     * Mejor candidata para un hueco de {@code minutosLibres} minutos del barbero, si alguna cabe.
+     */
+    public Optional<EntradaEspera> mejorCandidato(String barberoId, int minutosLibres, LocalDateTime ahora) {
+        return mejorCandidato(barberoId, minutosLibres, ahora, e -> false);
+    }
+
+    /**
+     * Igual, sin tener en cuenta las entradas {@code excluida}s; en su grupo pasa a contar la siguiente.
+     */
+    public Optional<EntradaEspera> mejorCandidato(String barberoId, int minutosLibres, LocalDateTime ahora,
+                                                  Predicate<EntradaEspera> excluida) {
+        if (minutosLibres <= 0) return Optional.empty();
+
+        Mejor mejor = new Mejor();
+        for (String candidato : barberosPara(barberoId)) {
+            boolean mismo = candidato.equals(barberoId);
+            colasEspera.candidatos(candidato, minutosLibres, excluida, e -> {
+                int duracion = duracion(e);
+                if (duracion > minutosLibres) return; // las de duración desconocida usan la mínima
+
+                double puntaje = puntaje(e, duracion, minutosLibres, mismo, ahora);
+                if (mejor.entrada == null || puntaje > mejor.puntaje) {
+                    mejor.entrada = e;
+                    mejor.puntaje = puntaje;
+                }
+            });
+        }
+        return Optional.ofNullable(mejor.entrada);
+    }
+
+    /** Duración que se le asigna al turno de la entrada. */
+    public int duracion(EntradaEspera e) {
+        return e.getDuracionMinutos() != null ? e.getDuracionMinutos() : minDurationMinutes;
+    }
+
+    List<String> barberosPara(String barberoId) {
+        return intercambiables.getOrDefault(barberoId, List.of(barberoId));
+    }
+
+    private static double puntaje(EntradaEspera e, int duracion, int minutosLibres, boolean mismoBarbero,
+                                  LocalDateTime ahora) {
+        double espera = Math.max(0, Duration.between(e.getFechaSolicitud(), ahora).toMinutes());
+
+        return -PESO_PRIORIDAD * e.getPrioridad()
+                + PESO_ESPERA * espera / (espera + MINUTOS_ESPERA_MEDIA)
+                + PESO_AJUSTE * duracion / minutosLibres
+                + (mismoBarbero ? PESO_MISMO_BARBERO : 0);
+    }
+
+    private static Map<String, List<String>> parsearGrupos(String grupos) {
+        Map<String, List<String>> resultado = new HashMap<>();
+        if (grupos == null || grupos.isBlank()) return resultado;
+
+        for (String grupo : grupos.split(";")) {
+            Set<String> ids = new LinkedHashSet<>();
+            for (String id : grupo.split(",")) {
+                if (!id.isBlank()) ids.add(id.trim());
+            }
+            for (String id : ids) {
+                // El propio barbero primero
+                List<String> orden = new ArrayList<>();
+                orden.add(id);
+                ids.stream().filter(otro -> !otro.equals(id)).forEach(orden::add);
+                resultado.put(id, orden);
+            }
+        }
+        return resultado;
+    }
+
+    private static final class Mejor {
+        private EntradaEspera entrada;
+        private double puntaje;
+    }
+}
@@ -0,0 +1,29 @@
+package co.edu.unicauca.microserviceturnos.estadisticas;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+
+import java.time.LocalDate;
+
+/**
+ * Lo que un turno aporta al resumen diario: en qué barbero y día cuenta, en qué estado y
+ * con cuántos minutos. Se toma antes de modificar el turno para poder descontarlo.
+ */
+public record AporteDia(String barberoId, LocalDate fecha, EstadoTurnoEnum estado, Integer duracionMinutos) {
+
+    public static AporteDia de(Turno turno) {
+        return de(turno, turno.getEstado());
+    }
+
+    public static AporteDia de(Turno turno, EstadoTurnoEnum estado) {
+        return new AporteDia(
+                turno.getBarberoId(),
+                turno.getFechaHora() != null ? turno.getFechaHora().toLocalDate() : null,
+                estado != null ? estado : EstadoTurnoEnum.PENDIENTE,
+                turno.getDuracionMinutos());
+    }
+
+    boolean cuenta() {
+        return barberoId != null && fecha != null;
+    }
+}
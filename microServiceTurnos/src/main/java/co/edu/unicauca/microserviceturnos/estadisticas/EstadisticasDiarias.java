@@ -0,0 +1,48 @@
+package co.edu.unicauca.microserviceturnos.estadisticas;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadisticaDiaria;
+import co.edu.unicauca.microserviceturnos.entities.EstadisticaDiariaId;
+import co.edu.unicauca.microserviceturnos.repository.EstadisticaDiariaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mantiene la tabla estadistica_diaria en la misma transacción que cambia el turno:
+ * descuenta lo que aportaba antes y suma lo que aporta ahora.
+ *
+ * Cada cambio va como un upsert atómico sobre la fila del día, sin leerla antes: los
+ * carriles solo ordenan las escrituras dentro de una instancia, y con varias instancias
+ * la primera reserva de un día podría intentar crear la fila dos veces.
+ */
+@Component
+public class EstadisticasDiarias {
+
+    @Autowired
+    EstadisticaDiariaRepository estadisticaDiariaRepository;
+
+    @Value("${turnos.min-duration-minutes:45}")
+    private int minDurationMinutes;
+
+    /**
+     * {@code antes} es null si el turno es nuevo.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void mover(AporteDia antes, AporteDia despues) {
+        if (antes != null && antes.equals(despues)) return;
+
+        if (antes != null && antes.cuenta()) sumar(antes, -1);
+        if (despues.cuenta()) sumar(despues, 1);
+    }
+
+    private void sumar(AporteDia aporte, int signo) {
+        EstadisticaDiariaId id = new EstadisticaDiariaId(aporte.barberoId(), aporte.fecha());
+        EstadisticaDiaria delta = new EstadisticaDiaria(id);
+
+        int minutos = aporte.duracionMinutos() != null ? aporte.duracionMinutos() : minDurationMinutes;
+        delta.sumar(aporte.estado(), minutos, signo);
+        estadisticaDiariaRepository.acumular(delta);
+    }
+}
@@ -0,0 +1,78 @@
+package co.edu.unicauca.microserviceturnos.journal;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.TransicionTurno;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.estadisticas.AporteDia;
+import co.edu.unicauca.microserviceturnos.estadisticas.EstadisticasDiarias;
+import co.edu.unicauca.microserviceturnos.repository.TransicionTurnoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Escribe la bitácora de transiciones de turnos y actualiza el resumen diario. Se llama en
+ * la misma transacción que guarda el turno, así ambos tienen exactamente los cambios
+ * confirmados.
+ */
+@Component
+public class JournalTurnos {
+
+    @Autowired
+    TransicionTurnoRepository transicionTurnoRepository;
+
+    @Autowired
+    EstadisticasDiarias estadisticasDiarias;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCreado(Turno turno) {
+        registrar(turno, (AporteDia) null);
+    }
+
+    /**
+     * Registra el turno tal como quedó. {@code anterior} es su estado antes del cambio; si
+     * no cambió de estado se registra como reprogramado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Turno turno, EstadoTurnoEnum anterior) {
+        registrar(turno, AporteDia.de(turno, anterior));
+    }
+
+    /**
+     * Igual que {@link #registrar(Turno, EstadoTurnoEnum)}, para cambios que además mueven
+     * el turno de barbero, día o duración: {@code antes} se toma antes de modificarlo
+     * (null si se acaba de crear).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Turno turno, AporteDia antes) {
+        EstadoTurnoEnum anterior = antes != null ? antes.estado() : null;
+        TipoTransicion tipo = anterior == null ? TipoTransicion.CREADO
+                : anterior == turno.getEstado() ? TipoTransicion.REPROGRAMADO
+                : TipoTransicion.hacia(turno.getEstado());
+        guardar(turno, anterior, tipo);
+        estadisticasDiarias.mover(antes, AporteDia.de(turno));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarReasignado(Turno turno) {
+        guardar(turno, null, TipoTransicion.REASIGNADO);
+        estadisticasDiarias.mover(null, AporteDia.de(turno));
+    }
+
+    private void guardar(Turno turno, EstadoTurnoEnum anterior, TipoTransicion tipo) {
+        TransicionTurno t = new TransicionTurno();
+        t.setTurnoId(turno.getId());
+        t.setTipo(tipo);
+        t.setEstadoAnterior(anterior);
+        t.setEstado(turno.getEstado());
+        t.setClienteId(turno.getClienteId());
+        t.setBarberoId(turno.getBarberoId());
+        t.setFechaHora(turno.getFechaHora());
+        t.setDuracionMinutos(turno.getDuracionMinutos());
+        t.setRegistradaEn(LocalDateTime.now());
+        transicionTurnoRepository.save(t);
+    }
+}
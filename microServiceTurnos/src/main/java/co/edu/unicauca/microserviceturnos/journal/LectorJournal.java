@@ -0,0 +1,105 @@
+package co.edu.unicauca.microserviceturnos.journal;
+
+import co.edu.unicauca.microserviceturnos.entities.TransicionTurno;
+import co.edu.unicauca.microserviceturnos.repository.TransicionTurnoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alimenta las {@link ProyeccionTurnos} leyendo la bitácora en orden de secuencia.
+ *
+ * Al arrancar las reconstruye desde la secuencia 0; después sigue la bitácora cada
+ * {@code turnos.journal.intervalo-ms} desde la última secuencia aplicada.
+ *
+ * La secuencia es AUTO_INCREMENT: una transacción abierta puede dejar un hueco que se llena
+ * después, y una revertida lo deja para siempre. Ante un hueco la lectura se detiene, salvo
+ * que la entrada siguiente tenga más de {@code turnos.journal.gracia-hueco-ms}; en ese caso
+ * el hueco se da por perdido y se sigue.
+ */
+@Slf4j
+@Component
+public class LectorJournal {
+
+    private final TransicionTurnoRepository transicionTurnoRepository;
+    private final List<ProyeccionTurnos> proyecciones;
+    private final AtomicLong ultimaSecuencia = new AtomicLong();
+
+    @Value("${turnos.journal.tamanio-lote:500}")
+    private int tamanioLote;
+
+    @Value("${turnos.journal.gracia-hueco-ms:30000}")
+    private long graciaHuecoMs;
+
+    public LectorJournal(TransicionTurnoRepository transicionTurnoRepository,
+                         List<ProyeccionTurnos> proyecciones,
+                         MeterRegistry meterRegistry) {
+        this.transicionTurnoRepository = transicionTurnoRepository;
+        this.proyecciones = proyecciones;
+        Gauge.builder("turnos.journal.secuencia", ultimaSecuencia, AtomicLong::get)
+                .description("Última secuencia de la bitácora aplicada a las proyecciones")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        proyecciones.forEach(ProyeccionTurnos::reiniciar);
+        ultimaSecuencia.set(0);
+
+        long aplicadas = 0;
+        int leidas;
+        do {
+            leidas = leerLote();
+            aplicadas += leidas;
+        } while (leidas == tamanioLote);
+
+        log.info("Proyecciones reconstruidas con {} transiciones de la bitácora", aplicadas);
+    }
+
+    @Scheduled(fixedDelayString = "${turnos.journal.intervalo-ms:1000}")
+    public synchronized void seguir() {
+        try {
+            while (leerLote() == tamanioLote) {
+                // hay más detrás de este lote
+            }
+        } catch (Exception e) {
+            log.warn("No se pudo leer la bitácora de turnos: {}", e.getMessage());
+        }
+    }
+
+    public long ultimaSecuencia() {
+        return ultimaSecuencia.get();
+    }
+
+    /**
+     * Aplica el siguiente lote; devuelve cuántas transiciones aplicó.
+     */
+    int leerLote() {
+        long ultima = ultimaSecuencia.get();
+        List<TransicionTurno> lote = transicionTurnoRepository.findBySecuenciaGreaterThanOrderBySecuenciaAsc(
+                ultima, Limit.of(tamanioLote));
+
+        LocalDateTime limiteHueco = LocalDateTime.now().minusNanos(graciaHuecoMs * 1_000_000);
+        int aplicadas = 0;
+        for (TransicionTurno t : lote) {
+            // Hueco reciente: puede ser una transacción que todavía no confirma
+            if (t.getSecuencia() != ultima + 1 && t.getRegistradaEn().isAfter(limiteHueco)) break;
+
+            for (ProyeccionTurnos p : proyecciones) p.aplicar(t);
+            ultima = t.getSecuencia();
+            aplicadas++;
+        }
+        ultimaSecuencia.set(ultima);
+        return aplicadas;
+    }
+}
@@ -0,0 +1,82 @@
+package co.edu.unicauca.microserviceturnos.journal;
+
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.dto.OcupacionDia;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.TransicionTurno;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turnos y minutos ocupados por barbero y día.
+ *
+ * Guarda lo que aporta cada turno que todavía puede cambiar; en cada transición se descuenta
+ * su aporte anterior y se suma el nuevo (nada si quedó cancelado o no asistió). Los turnos
+ * finalizados dejan su aporte y salen del mapa, porque ya no cambian.
+ */
+@Component
+public class OcupacionDiaria implements ProyeccionTurnos {
+
+    private final int minDurationMinutes;
+
+    private final Map<UUID, Aporte> abiertos = new ConcurrentHashMap<>();
+    private final Map<Dia, Total> totales = new ConcurrentHashMap<>();
+
+    public OcupacionDiaria(@Value("${turnos.min-duration-minutes:45}") int minDurationMinutes) {
+        this.minDurationMinutes = minDurationMinutes;
+    }
+
+    @Override
+    public void aplicar(TransicionTurno t) {
+        Aporte anterior = abiertos.remove(t.getTurnoId());
+        if (anterior != null) sumar(anterior, -1);
+
+        if (t.getBarberoId() == null || t.getFechaHora() == null || !AgendaBarberos.ocupaAgenda(t.getEstado())) return;
+
+        Aporte nuevo = new Aporte(new Dia(t.getBarberoId(), t.getFechaHora().toLocalDate()),
+                t.getDuracionMinutos() != null ? t.getDuracionMinutos() : minDurationMinutes);
+        sumar(nuevo, 1);
+        if (t.getEstado() != EstadoTurnoEnum.FINALIZADO) abiertos.put(t.getTurnoId(), nuevo);
+    }
+
+    @Override
+    public void reiniciar() {
+        abiertos.clear();
+        totales.clear();
+    }
+
+    /**
+     * Un elemento por día de [desde, hasta], con ceros en los días sin turnos.
+     */
+    public List<OcupacionDia> ocupacion(String barberoId, LocalDate desde, LocalDate hasta) {
+        List<OcupacionDia> dias = new ArrayList<>();
+        for (LocalDate d = desde; !d.isAfter(hasta); d = d.plusDays(1)) {
+            Total total = totales.getOrDefault(new Dia(barberoId, d), Total.VACIO);
+            dias.add(new OcupacionDia(d, total.turnos(), total.minutos()));
+        }
+        return dias;
+    }
+
+    private void sumar(Aporte aporte, int signo) {
+        totales.compute(aporte.dia(), (k, total) -> {
+            Total base = total != null ? total : Total.VACIO;
+            Total suma = new Total(base.turnos() + signo, base.minutos() + signo * aporte.minutos());
+            return suma.turnos() == 0 ? null : suma;
+        });
+    }
+
+    private record Dia(String barberoId, LocalDate fecha) {}
+
+    private record Aporte(Dia dia, int minutos) {}
+
+    private record Total(int turnos, int minutos) {
+        static final Total VACIO = new Total(0, 0);
+    }
+}
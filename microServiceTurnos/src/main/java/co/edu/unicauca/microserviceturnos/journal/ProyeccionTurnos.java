@@ -0,0 +1,15 @@
+package co.edu.unicauca.microserviceturnos.journal;
+
+import co.edu.unicauca.microserviceturnos.entities.TransicionTurno;
+
+/**
+ * Vista de lectura armada solo con la bitácora. {@link LectorJournal} le entrega cada
+ * transición una vez y en orden de secuencia.
+ */
+public interface ProyeccionTurnos {
+
+    void aplicar(TransicionTurno transicion);
+
+    // Vuelve al estado vacío antes de releer la bitácora desde el principio
+    void reiniciar();
+}
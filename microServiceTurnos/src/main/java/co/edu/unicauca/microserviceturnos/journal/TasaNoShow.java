@@ -0,0 +1,65 @@
+package co.edu.unicauca.microserviceturnos.journal;
+
+import co.edu.unicauca.microserviceturnos.dto.TasaNoShowBarbero;
+import co.edu.unicauca.microserviceturnos.entities.TransicionTurno;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tasa de inasistencia por barbero: turnos NO_ASISTIO sobre los que terminaron
+ * (FINALIZADO + NO_ASISTIO). Los dos estados son finales, así que solo se suma.
+ */
+@Component
+public class TasaNoShow implements ProyeccionTurnos {
+
+    private final Map<String, Conteo> porBarbero = new ConcurrentHashMap<>();
+
+    @Override
+    public void aplicar(TransicionTurno t) {
+        if (t.getBarberoId() == null) return;
+        switch (t.getTipo()) {
+            case FINALIZADO -> conteo(t.getBarberoId()).finalizados.increment();
+            case NO_ASISTIO -> conteo(t.getBarberoId()).noAsistio.increment();
+            default -> { }
+        }
+    }
+
+    @Override
+    public void reiniciar() {
+        porBarbero.clear();
+    }
+
+    public List<TasaNoShowBarbero> tasas() {
+        return porBarbero.entrySet().stream()
+                .map(e -> tasa(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparing(TasaNoShowBarbero::getBarberoId))
+                .toList();
+    }
+
+    public TasaNoShowBarbero tasa(String barberoId) {
+        Conteo c = porBarbero.get(barberoId);
+        return tasa(barberoId, c != null ? c : new Conteo());
+    }
+
+    private Conteo conteo(String barberoId) {
+        return porBarbero.computeIfAbsent(barberoId, k -> new Conteo());
+    }
+
+    private static TasaNoShowBarbero tasa(String barberoId, Conteo c) {
+        long finalizados = c.finalizados.sum();
+        long noAsistio = c.noAsistio.sum();
+        long terminados = finalizados + noAsistio;
+        return new TasaNoShowBarbero(barberoId, finalizados, noAsistio,
+                terminados == 0 ? 0.0 : (double) noAsistio / terminados);
+    }
+
+    private static final class Conteo {
+        private final LongAdder finalizados = new LongAdder();
+        private final LongAdder noAsistio = new LongAdder();
+    }
+}
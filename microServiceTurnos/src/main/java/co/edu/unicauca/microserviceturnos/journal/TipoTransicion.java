@@ -0,0 +1,31 @@
+package co.edu.unicauca.microserviceturnos.journal;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+
+/**
+ * Qué le pasó al turno en una entrada de la bitácora.
+ */
+public enum TipoTransicion {
+    CREADO,
+    REASIGNADO,      // creado desde la lista de espera en un hueco liberado
+    REPROGRAMADO,    // cambió fecha, barbero o servicio sin cambiar de estado
+    CONFIRMADO,
+    INICIADO,
+    FINALIZADO,
+    CANCELADO,
+    NO_ASISTIO;
+
+    /**
+     * Tipo de un cambio de estado hacia {@code nuevo}.
+     */
+    public static TipoTransicion hacia(EstadoTurnoEnum nuevo) {
+        return switch (nuevo) {
+            case PENDIENTE -> CREADO;
+            case CONFIRMADO -> CONFIRMADO;
+            case EN_PROCESO -> INICIADO;
+            case FINALIZADO -> FINALIZADO;
+            case CANCELADO -> CANCELADO;
+            case NO_ASISTIO -> NO_ASISTIO;
+        };
+    }
+}
@@ -13,6 +13,7 @@ public interface TurnoMapper {
 
 
     @Mapping(source = "estado", target = "estado", qualifiedByName = "stringToEnum")
+    @Mapping(target = "version", ignore = true)
     Turno dtoToEntity(TurnoRequest dto);
 
     @Mapping(source = "estado", target = "estado", qualifiedByName = "enumToString")
@@ -0,0 +1,41 @@
+package co.edu.unicauca.microserviceturnos.repository;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadisticaDiaria;
+import co.edu.unicauca.microserviceturnos.entities.EstadisticaDiariaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EstadisticaDiariaRepository extends JpaRepository<EstadisticaDiaria, EstadisticaDiariaId> {
+
+    /**
+     * Suma los contadores de {@code delta} a la fila de su día, creándola si no existe, en una
+     * sola sentencia: dos instancias que crean el mismo día a la vez no chocan en el insert.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO estadistica_diaria (barbero_id, fecha, pendientes, confirmados, en_proceso,
+                                            finalizados, cancelados, no_asistio, minutos_reservados)
+            VALUES (:#{#delta.id.barberoId}, :#{#delta.id.fecha}, :#{#delta.pendientes},
+                    :#{#delta.confirmados}, :#{#delta.enProceso}, :#{#delta.finalizados},
+                    :#{#delta.cancelados}, :#{#delta.noAsistio}, :#{#delta.minutosReservados})
+            ON DUPLICATE KEY UPDATE
+                pendientes = pendientes + VALUES(pendientes),
+                confirmados = confirmados + VALUES(confirmados),
+                en_proceso = en_proceso + VALUES(en_proceso),
+                finalizados = finalizados + VALUES(finalizados),
+                cancelados = cancelados + VALUES(cancelados),
+                no_asistio = no_asistio + VALUES(no_asistio),
+                minutos_reservados = minutos_reservados + VALUES(minutos_reservados)
+            """, nativeQuery = true)
+    void acumular(@Param("delta") EstadisticaDiaria delta);
+
+    List<EstadisticaDiaria> findByIdBarberoIdAndIdFechaBetweenOrderByIdFechaAsc(
+            String barberoId, LocalDate desde, LocalDate hasta);
+
+    List<EstadisticaDiaria> findByIdFechaBetweenOrderByIdFechaAscIdBarberoIdAsc(LocalDate desde, LocalDate hasta);
+}
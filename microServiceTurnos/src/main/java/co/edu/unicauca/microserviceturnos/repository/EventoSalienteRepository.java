@@ -0,0 +1,27 @@
+package co.edu.unicauca.microserviceturnos.repository;
+
+import co.edu.unicauca.microserviceturnos.entities.EventoSaliente;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface EventoSalienteRepository extends JpaRepository<EventoSaliente, Long> {
+
+    /**
+     * Los eventos más antiguos, bloqueados hasta el fin de la transacción. Con SKIP LOCKED
+     * (timeout -2) otra instancia del relay toma los siguientes en vez de esperar.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoSaliente e order by e.id")
+    List<EventoSaliente> findPendientes(Limit limit);
+
+    Optional<EventoSaliente> findFirstByOrderByIdAsc();
+}
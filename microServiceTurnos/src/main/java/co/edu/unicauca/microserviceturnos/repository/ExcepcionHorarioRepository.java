@@ -0,0 +1,17 @@
+package co.edu.unicauca.microserviceturnos.repository;
+
+import co.edu.unicauca.microserviceturnos.entities.ExcepcionHorario;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExcepcionHorarioRepository extends JpaRepository<ExcepcionHorario, Long> {
+
+    List<ExcepcionHorario> findByBarberoId(String barberoId);
+
+    List<ExcepcionHorario> findByBarberoIdAndFechaGreaterThanEqualOrderByFechaAscHoraInicioAsc(
+            String barberoId, LocalDate desde);
+
+    void deleteByBarberoIdAndFecha(String barberoId, LocalDate fecha);
+}
@@ -0,0 +1,13 @@
+package co.edu.unicauca.microserviceturnos.repository;
+
+import co.edu.unicauca.microserviceturnos.entities.HorarioSemanal;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface HorarioSemanalRepository extends JpaRepository<HorarioSemanal, Long> {
+
+    List<HorarioSemanal> findByBarberoId(String barberoId);
+
+    void deleteByBarberoId(String barberoId);
+}
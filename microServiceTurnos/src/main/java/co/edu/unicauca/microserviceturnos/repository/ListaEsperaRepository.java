@@ -2,13 +2,31 @@ package co.edu.unicauca.microserviceturnos.repository;
 
 import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ListaEsperaRepository extends JpaRepository<ListaEspera, UUID> {
 
-    Optional<ListaEspera> findFirstByBarberoIdOrderByFechaSolicitudAsc(String barberoId);
+    List<ListaEspera> findByBarberoId(String barberoId);
+
     boolean existsByClienteIdAndBarberoId(String clienteId, String barberoId);
 
+    @Query("select distinct le.clienteId from ListaEspera le " +
+            "where le.barberoId = :barberoId and le.clienteId in :clientes")
+    List<String> findClientesEnEspera(@Param("barberoId") String barberoId,
+                                      @Param("clientes") Collection<String> clientes);
+
+    /**
+     * Borra la entrada y devuelve cuántas filas borró: 0 si otra transacción ya la había
+     * tomado. Sirve para reclamar una entrada de forma atómica.
+     */
+    @Modifying
+    @Query("delete from ListaEspera le where le.id = :id")
+    int borrarPorId(@Param("id") UUID id);
+
 }
@@ -0,0 +1,16 @@
+package co.edu.unicauca.microserviceturnos.repository;
+
+import co.edu.unicauca.microserviceturnos.entities.TransicionTurno;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TransicionTurnoRepository extends JpaRepository<TransicionTurno, Long> {
+
+    // Lectura de la bitácora en orden, a partir de la última secuencia aplicada (recorre la PK)
+    List<TransicionTurno> findBySecuenciaGreaterThanOrderBySecuenciaAsc(Long secuencia, Limit limit);
+
+    // Historial del cliente, lo más reciente primero; usa idx_transicion_cliente_secuencia
+    List<TransicionTurno> findByClienteIdOrderBySecuenciaDesc(String clienteId, Limit limit);
+}
@@ -1,19 +1,120 @@
 package co.edu.unicauca.microserviceturnos.repository;
 
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
 import co.edu.unicauca.microserviceturnos.entities.Turno;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface TurnoRepository extends JpaRepository<Turno, UUID> {
 
+    // Filtros opcionales de GET /turnos + condición de keyset sobre (fechaHora, id)
+    String FILTRO_BUSQUEDA = "(:estado is null or t.estado = :estado) " +
+            "and (:barberoId is null or t.barberoId = :barberoId) " +
+            "and (:clienteId is null or t.clienteId = :clienteId) " +
+            "and (:desde is null or t.fechaHora >= :desde) " +
+            "and (:hasta is null or t.fechaHora < :hasta) " +
+            "and (t.fechaHora > :cursorFecha or (t.fechaHora = :cursorFecha and t.id > :cursorId))";
+
 
     List<Turno> findByClienteId(String clienteId);
 
+    // ¿El cliente ya tiene un turno activo con el barbero después de la fecha? Usa idx_turno_cliente_barbero_fecha
+    boolean existsByClienteIdAndBarberoIdAndFechaHoraAfterAndEstadoNotIn(String clienteId, String barberoId,
+                                                                        LocalDateTime fechaHora,
+                                                                        Collection<EstadoTurnoEnum> estados);
+
+    // Versión por lote de la anterior: qué clientes de la lista ya tienen turno activo con el barbero
+    @Query("select distinct t.clienteId from Turno t " +
+            "where t.barberoId = :barberoId and t.clienteId in :clientes " +
+            "and t.fechaHora > :fechaHora and t.estado not in :estados")
+    List<String> findClientesConReservaActiva(@Param("barberoId") String barberoId,
+                                              @Param("clientes") Collection<String> clientes,
+                                              @Param("fechaHora") LocalDateTime fechaHora,
+                                              @Param("estados") Collection<EstadoTurnoEnum> estados);
+
     List<Turno> findByBarberoId(String barberoId);
     List<Turno> findByBarberoIdAndFechaHoraBetween(String barberoId, LocalDateTime fechaInicio, LocalDateTime  fechaFin);
+
+    List<Turno> findByFechaHoraBetweenAndEstadoNotIn(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                                     Collection<EstadoTurnoEnum> estados);
+
+    /**
+     * Página de turnos en un estado con fechaHora anterior al límite, ordenada por (fechaHora, id)
+     * y continuando después del cursor. Usa el índice (estado, fecha_hora).
+     */
+    @Query("select t from Turno t " +
+            "where t.estado = :estado and t.fechaHora < :limite " +
+            "and (t.fechaHora > :desdeFecha or (t.fechaHora = :desdeFecha and t.id > :desdeId)) " +
+            "order by t.fechaHora asc, t.id asc")
+    List<Turno> findPaginaPorEstadoAntesDe(@Param("estado") EstadoTurnoEnum estado,
+                                           @Param("limite") LocalDateTime limite,
+                                           @Param("desdeFecha") LocalDateTime desdeFecha,
+                                           @Param("desdeId") UUID desdeId,
+                                           Limit limit);
+
+    @Query("select t from Turno t where " + FILTRO_BUSQUEDA + " order by t.fechaHora asc, t.id asc")
+    List<Turno> buscarPagina(@Param("estado") EstadoTurnoEnum estado,
+                             @Param("barberoId") String barberoId,
+                             @Param("clienteId") String clienteId,
+                             @Param("desde") LocalDateTime desde,
+                             @Param("hasta") LocalDateTime hasta,
+                             @Param("cursorFecha") LocalDateTime cursorFecha,
+                             @Param("cursorId") UUID cursorId,
+                             Limit limit);
+
+    /**
+     * Igual que buscarPagina pero sin límite, leyendo con cursor del driver
+     * (requiere useCursorFetch=true en MySQL). Debe consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Turno t where " + FILTRO_BUSQUEDA + " order by t.fechaHora asc, t.id asc")
+    Stream<Turno> buscarStream(@Param("estado") EstadoTurnoEnum estado,
+                               @Param("barberoId") String barberoId,
+                               @Param("clienteId") String clienteId,
+                               @Param("desde") LocalDateTime desde,
+                               @Param("hasta") LocalDateTime hasta,
+                               @Param("cursorFecha") LocalDateTime cursorFecha,
+                               @Param("cursorId") UUID cursorId);
+
+    /**
+     * Turnos del barbero en [desde, hasta) con estado entre los dados, bloqueados para la
+     * actualización en conjunto que sigue ({@link #actualizarEstado}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Turno t where t.barberoId = :barberoId " +
+            "and t.fechaHora >= :desde and t.fechaHora < :hasta and t.estado in :estados " +
+            "order by t.fechaHora asc, t.id asc")
+    List<Turno> findParaTransicion(@Param("barberoId") String barberoId,
+                                   @Param("desde") LocalDateTime desde,
+                                   @Param("hasta") LocalDateTime hasta,
+                                   @Param("estados") Collection<EstadoTurnoEnum> estados);
+
+    // Un solo UPDATE para todo el rango; usa idx_turno_barbero_fecha. Sube la versión a mano:
+    // un UPDATE en conjunto no pasa por el bloqueo optimista de la entidad
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Turno t set t.estado = :destino, t.version = t.version + 1 where t.barberoId = :barberoId " +
+            "and t.fechaHora >= :desde and t.fechaHora < :hasta and t.estado in :estados")
+    int actualizarEstado(@Param("barberoId") String barberoId,
+                         @Param("desde") LocalDateTime desde,
+                         @Param("hasta") LocalDateTime hasta,
+                         @Param("estados") Collection<EstadoTurnoEnum> estados,
+                         @Param("destino") EstadoTurnoEnum destino);
 }
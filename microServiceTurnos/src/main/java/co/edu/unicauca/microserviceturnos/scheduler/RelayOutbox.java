@@ -0,0 +1,128 @@
+package co.edu.unicauca.microserviceturnos.scheduler;
+
+import co.edu.unicauca.microserviceturnos.entities.EventoSaliente;
+import co.edu.unicauca.microserviceturnos.repository.EventoSalienteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica en RabbitMQ los eventos del outbox, en lotes y en orden de id.
+ *
+ * Cada lote va en su propia transacción: se bloquean las filas, se publican por un mismo
+ * canal, se espera la confirmación del broker y recién entonces se borran. Si el broker no
+ * confirma, la transacción se revierte y el lote se reintenta en el siguiente ciclo; por eso
+ * la entrega es al menos una vez y cada mensaje lleva {@code outbox-<id>} como messageId.
+ */
+@Component
+@Slf4j
+public class RelayOutbox {
+
+    private final EventoSalienteRepository eventoSalienteRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publicados;
+    private final Counter fallos;
+    private final AtomicLong retrasoMs = new AtomicLong();
+
+    @Value("${turnos.outbox.tamanio-lote:100}")
+    private int tamanioLote;
+
+    @Value("${turnos.outbox.espera-confirmacion-ms:5000}")
+    private long esperaConfirmacionMs;
+
+    public RelayOutbox(EventoSalienteRepository eventoSalienteRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.eventoSalienteRepository = eventoSalienteRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.publicados = Counter.builder("turnos.outbox.publicados")
+                .description("Eventos del outbox publicados y confirmados por el broker")
+                .register(meterRegistry);
+        this.fallos = Counter.builder("turnos.outbox.fallos")
+                .description("Lotes del outbox que no se pudieron publicar y quedan para reintento")
+                .register(meterRegistry);
+        Gauge.builder("turnos.outbox.retraso", retrasoMs, ms -> ms.get() / 1000.0)
+                .description("Antigüedad del evento más viejo sin publicar")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${turnos.outbox.intervalo-ms:200}")
+    public void drenar() {
+        try {
+            Integer enviados;
+            do {
+                enviados = transactionTemplate.execute(status -> publicarLote());
+            } while (enviados != null && enviados == tamanioLote);
+        } catch (Exception e) {
+            fallos.increment();
+            log.warn("No se pudo publicar el outbox, se reintenta en el siguiente ciclo: {}", e.getMessage());
+        }
+        medirRetraso();
+    }
+
+    /**
+     * Publica y borra un lote; devuelve cuántos eventos tenía.
+     */
+    int publicarLote() {
+        List<EventoSaliente> lote = eventoSalienteRepository.findPendientes(Limit.of(tamanioLote));
+        if (lote.isEmpty()) return 0;
+
+        rabbitTemplate.invoke(operaciones -> {
+            lote.forEach(e -> operaciones.send(e.getDestino(), mensaje(e)));
+            operaciones.waitForConfirmsOrDie(esperaConfirmacionMs);
+            return null;
+        });
+
+        eventoSalienteRepository.deleteAllInBatch(lote);
+        publicados.increment(lote.size());
+        return lote.size();
+    }
+
+    long retrasoMs() {
+        return retrasoMs.get();
+    }
+
+    private void medirRetraso() {
+        try {
+            retrasoMs.set(eventoSalienteRepository.findFirstByOrderByIdAsc()
+                    .map(e -> Math.max(0, Duration.between(e.getFechaCreacion(), LocalDateTime.now()).toMillis()))
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.debug("No se pudo medir el retraso del outbox: {}", e.getMessage());
+        }
+    }
+
+    private static Message mensaje(EventoSaliente e) {
+        return MessageBuilder.withBody(e.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId("outbox-" + e.getId())
+                .setType(e.getTipo())
+                .build();
+    }
+}
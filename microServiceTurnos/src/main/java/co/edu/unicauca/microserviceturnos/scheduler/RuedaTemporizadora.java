@@ -0,0 +1,138 @@
+package co.edu.unicauca.microserviceturnos.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rueda temporizadora jerárquica de {@link #NIVELES} niveles con {@link #RANURAS} ranuras cada uno.
+ *
+ * El nivel 0 avanza de a un tick; cada nivel superior cubre 64 veces más tiempo que el anterior
+ * (con ticks de 1 s: 64 s, ~68 min, ~3 días y ~194 días). Cuando un nivel inferior da la vuelta,
+ * la ranura correspondiente del nivel superior se reparte hacia abajo. Programar y cancelar son O(1).
+ *
+ * No conoce el reloj: quien la usa decide cuándo llamar a {@link #avanzarHasta(long)}.
+ */
+public class RuedaTemporizadora<K> {
+
+    static final int BITS = 6;
+    static final int RANURAS = 1 << BITS;
+    static final int NIVELES = 4;
+    private static final int MASCARA = RANURAS - 1;
+
+    private final List<List<Set<Entrada<K>>>> niveles = new ArrayList<>(NIVELES);
+    private final Map<K, Entrada<K>> entradas = new HashMap<>();
+
+    private long tickActual;
+
+    public RuedaTemporizadora(long tickInicial) {
+        this.tickActual = tickInicial;
+        for (int n = 0; n < NIVELES; n++) {
+            List<Set<Entrada<K>>> ranuras = new ArrayList<>(RANURAS);
+            for (int r = 0; r < RANURAS; r++) {
+                ranuras.add(new LinkedHashSet<>());
+            }
+            niveles.add(ranuras);
+        }
+    }
+
+    /**
+     * Programa (o reprograma) la clave para el tick indicado.
+     * Si el tick ya pasó, vence en el próximo avance.
+     */
+    public synchronized void programar(K clave, long tickVencimiento) {
+        cancelar(clave);
+        Entrada<K> entrada = new Entrada<>(clave, Math.max(tickVencimiento, tickActual + 1));
+        entradas.put(clave, entrada);
+        ubicar(entrada);
+    }
+
+    /**
+     * Programa la clave solo si no está ya en la rueda; devuelve false si ya estaba.
+     */
+    public synchronized boolean programarSiAusente(K clave, long tickVencimiento) {
+        if (entradas.containsKey(clave)) return false;
+        programar(clave, tickVencimiento);
+        return true;
+    }
+
+    public synchronized boolean cancelar(K clave) {
+        Entrada<K> entrada = entradas.remove(clave);
+        if (entrada == null) return false;
+        entrada.ranura.remove(entrada);
+        return true;
+    }
+
+    /**
+     * Avanza la rueda hasta el tick indicado y devuelve las claves vencidas en orden.
+     */
+    public synchronized List<K> avanzarHasta(long tick) {
+        List<K> vencidas = new ArrayList<>();
+
+        while (tickActual < tick) {
+            tickActual++;
+
+            // Bajar primero los niveles altos para que lo que caiga en niveles intermedios
+            // también se reparta en este mismo tick
+            for (int n = NIVELES - 1; n >= 1; n--) {
+                if ((tickActual & ((1L << (BITS * n)) - 1)) == 0) {
+                    cascada(n);
+                }
+            }
+
+            Set<Entrada<K>> ranura = niveles.get(0).get((int) (tickActual & MASCARA));
+            for (Entrada<K> entrada : ranura) {
+                entradas.remove(entrada.clave);
+                vencidas.add(entrada.clave);
+            }
+            ranura.clear();
+        }
+        return vencidas;
+    }
+
+    public synchronized int tamanio() {
+        return entradas.size();
+    }
+
+    public synchronized long getTickActual() {
+        return tickActual;
+    }
+
+    private void cascada(int nivel) {
+        Set<Entrada<K>> ranura = niveles.get(nivel).get((int) ((tickActual >>> (BITS * nivel)) & MASCARA));
+        List<Entrada<K>> pendientes = new ArrayList<>(ranura);
+        ranura.clear();
+        for (Entrada<K> entrada : pendientes) {
+            ubicar(entrada);
+        }
+    }
+
+    private void ubicar(Entrada<K> entrada) {
+        long delta = entrada.vencimiento - tickActual;
+
+        int nivel = 0;
+        while (nivel < NIVELES - 1 && delta >= (1L << (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        // Más allá del último nivel la entrada da vueltas en él hasta que le toque bajar
+        int indice = (int) ((entrada.vencimiento >>> (BITS * nivel)) & MASCARA);
+
+        Set<Entrada<K>> ranura = niveles.get(nivel).get(indice);
+        ranura.add(entrada);
+        entrada.ranura = ranura;
+    }
+
+    private static final class Entrada<K> {
+        private final K clave;
+        private final long vencimiento;
+        private Set<Entrada<K>> ranura;
+
+        private Entrada(K clave, long vencimiento) {
+            this.clave = clave;
+            this.vencimiento = vencimiento;
+        }
+    }
+}
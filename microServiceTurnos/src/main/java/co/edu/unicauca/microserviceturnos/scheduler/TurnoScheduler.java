@@ -1,106 +1,191 @@
 package co.edu.unicauca.microserviceturnos.scheduler;
 
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CarrilesBarbero;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
 import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
-import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
 import co.edu.unicauca.microserviceturnos.entities.Turno;
-import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import co.edu.unicauca.microserviceturnos.espera.EntradaEspera;
+import co.edu.unicauca.microserviceturnos.journal.JournalTurnos;
 import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
-import co.edu.unicauca.microserviceturnos.service.NotificacionService;
-import lombok.RequiredArgsConstructor;
+import co.edu.unicauca.microserviceturnos.service.ListaEsperaService;
+import co.edu.unicauca.microserviceturnos.service.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
-import static co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum.PENDIENTE;
+import static co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum.CONFIRMADO;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class TurnoScheduler {
 
+    // Cursor inicial (antes de cualquier turno) y límite superior para recorrer todos los confirmados
+    private static final LocalDateTime INICIO_CURSOR = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID ID_CURSOR = new UUID(0L, 0L);
+    private static final LocalDateTime FIN_CURSOR = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final TurnoRepository turnoRepository;
-    private final ListaEsperaRepository listaEsperaRepository;
-    private final NotificacionService notificacionService;
-
-    // Ejecutar cada 1 minuto
-    @Scheduled(fixedRateString = "${turnos.scheduler-rate-ms:60000}")
-    @Transactional
-    public void procesarNoShowsYReasignaciones() {
-        log.debug("Scheduler: buscando turnos para marcar como NO_ASISTIO...");
-
-        LocalDateTime now = LocalDateTime.now();
-
-        for (Turno t : turnoRepository.findAll()) {
-            try {
-                if (t.getFechaHora() == null) continue;
-
-                // Solo procesar turnos en estado PENDIENTE o CONFIRMADO
-                if (t.getEstado() == null) continue;
-                switch (t.getEstado()) {
-                    case CONFIRMADO:
-                        int tolerancia = 10;
-                        LocalDateTime limite = t.getFechaHora().plusMinutes(tolerancia);
-
-                        if (now.isAfter(limite)) {
-                            log.info("Marcando turno {} como NO_ASISTIO", t.getId());
-
-                            try {
-                                t.noAsistio();
-                                turnoRepository.save(t);
-                            } catch (Exception e) {
-                                log.error("Transición inválida para turno {}: {}", t.getId(), e.getMessage());
-                                break; // evitar continuar con reasignación
-                            }
-
-                            // Reasignación desde lista de espera
-                            Optional<ListaEspera> opt = listaEsperaRepository.findFirstByBarberoIdOrderByFechaSolicitudAsc(t.getBarberoId());
-                            if (opt.isPresent()) {
-                                ListaEspera le = opt.get();
-
-                                Turno nuevo = new Turno(
-                                        le.getClienteId(),
-                                        le.getBarberoId(),
-                                        le.getServicioId(),
-                                        t.getFechaHora(),
-                                        "Reasignado desde lista de espera"
-                                );
-                                nuevo.setDuracionMinutos(t.getDuracionMinutos());
-                                nuevo.setFechaCreacion(LocalDateTime.now());
-
-                                Turno saved = turnoRepository.save(nuevo);
-
-                                TurnoRequest tr = new TurnoRequest();
-                                tr.setId(saved.getId().toString());
-                                tr.setClienteId(saved.getClienteId());
-                                tr.setBarberoId(saved.getBarberoId());
-                                tr.setServicioId(saved.getServicioId());
-                                tr.setFechaHora(saved.getFechaHora());
-                                tr.setNotas(saved.getNotas());
-                                tr.setFechaCreacion(saved.getFechaCreacion());
-                                notificacionService.enviarNotificacionAsync(tr);
-
-                                listaEsperaRepository.delete(le);
-                                log.info("Reasignado turno {} a cliente {} desde lista de espera", saved.getId(), le.getClienteId());
-                            }
-                        }
-                        break;
-
-                    case PENDIENTE:
-                        // No marcar pendiente como no asistió
-                        break;
-
-                    default:
-                        break;
-                }
-
-            } catch (Exception e) {
-                log.error("Error procesando turno {}: {}", t.getId(), e.getMessage(), e);
+    private final ListaEsperaService listaEsperaService;
+    private final OutboxService outboxService;
+    private final AgendaBarberos agendaBarberos;
+    private final ReservasActivas reservasActivas;
+    private final CarrilesBarbero carriles;
+    private final VencimientosNoShow vencimientosNoShow;
+    private final JournalTurnos journalTurnos;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter filasEscaneadas;
+    private final Counter filasTransicionadas;
+
+    @Value("${turnos.tolerancia-minutos:10}")
+    private int toleranciaMinutos;
+
+    @Value("${turnos.scheduler.tamanio-pagina:100}")
+    private int tamanioPagina;
+
+    public TurnoScheduler(TurnoRepository turnoRepository,
+                          ListaEsperaService listaEsperaService,
+                          OutboxService outboxService,
+                          AgendaBarberos agendaBarberos,
+                          ReservasActivas reservasActivas,
+                          CarrilesBarbero carriles,
+                          VencimientosNoShow vencimientosNoShow,
+                          JournalTurnos journalTurnos,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.turnoRepository = turnoRepository;
+        this.listaEsperaService = listaEsperaService;
+        this.outboxService = outboxService;
+        this.agendaBarberos = agendaBarberos;
+        this.reservasActivas = reservasActivas;
+        this.carriles = carriles;
+        this.vencimientosNoShow = vencimientosNoShow;
+        this.journalTurnos = journalTurnos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.filasEscaneadas = Counter.builder("turnos.scheduler.filas.escaneadas")
+                .description("Turnos CONFIRMADO leídos al reconstruir la rueda o al vencer su plazo")
+                .register(meterRegistry);
+        this.filasTransicionadas = Counter.builder("turnos.scheduler.filas.transicionadas")
+                .description("Turnos marcados como NO_ASISTIO por el scheduler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconstruye la rueda con todos los turnos CONFIRMADO. Los que ya vencieron
+     * se disparan en el siguiente tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirVencimientos() {
+        vencimientosNoShow.alVencer(this::procesarVencimiento);
+
+        // Cada página en su propia transacción corta, avanzando con el cursor (fechaHora, id)
+        Turno ultimo = null;
+        do {
+            LocalDateTime desdeFecha = ultimo != null ? ultimo.getFechaHora() : INICIO_CURSOR;
+            UUID desdeId = ultimo != null ? ultimo.getId() : ID_CURSOR;
+
+            ultimo = transactionTemplate.execute(status -> registrarPagina(desdeFecha, desdeId));
+        } while (ultimo != null);
+
+        log.info("Rueda de no-show reconstruida con {} turnos confirmados", vencimientosNoShow.pendientes());
+    }
+
+    /**
+     * Registra una página y devuelve el último turno leído, o null si ya no quedan.
+     */
+    private Turno registrarPagina(LocalDateTime desdeFecha, UUID desdeId) {
+        List<Turno> pagina = turnoRepository.findPaginaPorEstadoAntesDe(
+                CONFIRMADO, FIN_CURSOR, desdeFecha, desdeId, Limit.of(tamanioPagina));
+
+        filasEscaneadas.increment(pagina.size());
+        pagina.forEach(vencimientosNoShow::sincronizar);
+
+        return pagina.size() < tamanioPagina ? null : pagina.get(pagina.size() - 1);
+    }
+
+    void procesarVencimiento(UUID id) {
+        // Marca el no-show y reasigna el hueco en el carril del barbero, como las escrituras del
+        // controlador. Sin esperar: si el carril está tomado la rueda lo reintenta en el siguiente tick.
+        // Si otra instancia venció el mismo turno, el commit falla por versión y al reintentar
+        // ya no está CONFIRMADO: el hueco se reasigna una sola vez
+        carriles.intentarParaTurno(id, () -> transactionTemplate.execute(status -> {
+            Turno t = turnoRepository.findById(id).orElse(null);
+            if (t == null || t.getEstado() != CONFIRMADO) return null;
+
+            filasEscaneadas.increment();
+            if (LocalDateTime.now().isBefore(t.getFechaHora().plusMinutes(toleranciaMinutos))) {
+                // Cambió la hora del turno sin pasar por la rueda: se vuelve a programar
+                vencimientosNoShow.sincronizar(t);
+                return null;
             }
+            procesarNoShow(t);
+            return null;
+        }));
+    }
+
+    private void procesarNoShow(Turno t) {
+        log.info("Marcando turno {} como NO_ASISTIO", t.getId());
+
+        try {
+            EstadoTurnoEnum anterior = t.getEstado();
+            t.noAsistio();
+            turnoRepository.save(t);
+            agendaBarberos.sincronizar(t);
+            reservasActivas.sincronizar(t);
+            vencimientosNoShow.sincronizar(t);
+            journalTurnos.registrar(t, anterior);
+            filasTransicionadas.increment();
+        } catch (Exception e) {
+            log.error("Transición inválida para turno {}: {}", t.getId(), e.getMessage());
+            return; // evitar continuar con reasignación
+        }
+
+        // Reasignación desde lista de espera
+        Optional<EntradaEspera> opt = listaEsperaService.reclamarParaHueco(t.getBarberoId(), t.getFechaHora(), t.getId());
+        if (opt.isPresent()) {
+            EntradaEspera le = opt.get();
+
+            Turno nuevo = new Turno(
+                    le.getClienteId(),
+                    t.getBarberoId(),
+                    le.getServicioId(),
+                    t.getFechaHora(),
+                    "Reasignado desde lista de espera"
+            );
+            nuevo.setDuracionMinutos(listaEsperaService.duracion(le));
+            nuevo.setFechaCreacion(LocalDateTime.now());
+
+            Turno saved = turnoRepository.save(nuevo);
+            agendaBarberos.sincronizar(saved);
+            reservasActivas.sincronizar(saved);
+            journalTurnos.registrarReasignado(saved);
+
+            TurnoRequest tr = new TurnoRequest();
+            tr.setId(saved.getId().toString());
+            tr.setClienteId(saved.getClienteId());
+            tr.setBarberoId(saved.getBarberoId());
+            tr.setServicioId(saved.getServicioId());
+            tr.setFechaHora(saved.getFechaHora());
+            tr.setNotas(saved.getNotas());
+            tr.setFechaCreacion(saved.getFechaCreacion());
+            outboxService.registrarNotificacion(tr);
+
+            log.info("Reasignado turno {} a cliente {} desde lista de espera", saved.getId(), le.getClienteId());
         }
     }
 }
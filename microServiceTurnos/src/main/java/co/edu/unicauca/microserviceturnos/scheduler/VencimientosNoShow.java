@@ -0,0 +1,127 @@
+package co.edu.unicauca.microserviceturnos.scheduler;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.CarrilOcupadoException;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.util.TransaccionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Plazos de no-show (fechaHora + tolerancia) de los turnos CONFIRMADO en una rueda temporizadora.
+ *
+ * Un hilo avanza la rueda una vez por segundo y entrega los turnos vencidos al consumidor
+ * registrado por {@link TurnoScheduler}. Los cambios se aplican al confirmar la transacción.
+ *
+ * La rueda saca el plazo antes de entregarlo, así que si el consumidor falla el turno vuelve
+ * a la rueda: en el tick siguiente si el carril del barbero estaba ocupado, y con espera
+ * creciente (hasta {@code turnos.scheduler.reintento-maximo-segundos}) ante cualquier otro error.
+ */
+@Slf4j
+@Component
+public class VencimientosNoShow {
+
+    private static final long MS_POR_TICK = 1000;
+
+    private final int toleranciaMinutos;
+    private final long reintentoMaximoTicks;
+    private final RuedaTemporizadora<UUID> rueda = new RuedaTemporizadora<>(tickActual());
+
+    // Fallos seguidos por turno, para espaciar los reintentos
+    private final Map<UUID, Integer> fallos = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService reloj;
+    private volatile Consumer<UUID> alVencer = id -> {};
+
+    public VencimientosNoShow(@Value("${turnos.tolerancia-minutos:10}") int toleranciaMinutos,
+                              @Value("${turnos.scheduler.reintento-maximo-segundos:300}") long reintentoMaximoSegundos) {
+        this.toleranciaMinutos = toleranciaMinutos;
+        this.reintentoMaximoTicks = Math.max(1, reintentoMaximoSegundos * 1000 / MS_POR_TICK);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        reloj = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "rueda-no-show");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        reloj.scheduleAtFixedRate(this::avanzar, MS_POR_TICK, MS_POR_TICK, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void detener() {
+        reloj.shutdownNow();
+    }
+
+    void alVencer(Consumer<UUID> consumidor) {
+        this.alVencer = consumidor;
+    }
+
+    /**
+     * Programa el plazo si el turno está CONFIRMADO y lo quita en cualquier otro estado.
+     */
+    public void sincronizar(Turno turno) {
+        if (turno == null || turno.getId() == null) return;
+
+        UUID id = turno.getId();
+        if (turno.getEstado() == EstadoTurnoEnum.CONFIRMADO && turno.getFechaHora() != null) {
+            long tick = aTick(turno.getFechaHora().plusMinutes(toleranciaMinutos));
+            TransaccionUtils.trasCommit(() -> rueda.programar(id, tick));
+        } else {
+            TransaccionUtils.trasCommit(() -> rueda.cancelar(id));
+        }
+    }
+
+    public int pendientes() {
+        return rueda.tamanio();
+    }
+
+    void avanzar() {
+        long tick = tickActual();
+        List<UUID> vencidos = rueda.avanzarHasta(tick);
+        for (UUID id : vencidos) {
+            try {
+                alVencer.accept(id);
+                fallos.remove(id);
+            } catch (CarrilOcupadoException e) {
+                // Otro hilo escribe en la agenda del barbero: se prueba en el siguiente tick
+                log.debug("Carril ocupado para el vencimiento del turno {}, se reintenta", id);
+                reintentar(id, tick + 1);
+            } catch (Exception e) {
+                int n = fallos.merge(id, 1, Integer::sum);
+                long espera = Math.min(reintentoMaximoTicks, 1L << Math.min(n, 20));
+                log.error("Error procesando vencimiento del turno {} (intento {}), se reintenta en {} s: {}",
+                        id, n, espera * MS_POR_TICK / 1000, e.getMessage(), e);
+                reintentar(id, tick + espera);
+            }
+        }
+    }
+
+    // Si mientras tanto una transición lo volvió a programar, manda ese plazo
+    private void reintentar(UUID id, long tick) {
+        rueda.programarSiAusente(id, tick);
+    }
+
+    private static long tickActual() {
+        return System.currentTimeMillis() / MS_POR_TICK;
+    }
+
+    private static long aTick(LocalDateTime fechaHora) {
+        return fechaHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / MS_POR_TICK;
+    }
+}
@@ -0,0 +1,165 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.JornadaDia;
+import co.edu.unicauca.microserviceturnos.agenda.MascaraDia;
+import co.edu.unicauca.microserviceturnos.dto.HuecoDisponible;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Los N huecos libres más tempranos entre todos los barberos activos.
+ *
+ * Recorre la ventana día por día. En cada día calcula en paralelo los huecos de todos los
+ * barberos sobre la máscara de ocupación de la agenda en memoria (duración real + buffer,
+ * la misma regla de createTurno) unida a las horas en que el barbero no atiende, y cada
+ * barbero se detiene al tener los que faltan.
+ * Como todo hueco de un día es anterior a los del siguiente, al juntar N se termina.
+ */
+@Service
+public class BusquedaHuecosService {
+
+    private static final int LIMITE_POR_DEFECTO = 5;
+    private static final int LIMITE_MAXIMO = 50;
+    private static final int DIAS_POR_DEFECTO = 7;
+
+    private static final Comparator<HuecoDisponible> ORDEN =
+            Comparator.comparing(HuecoDisponible::getFechaHora).thenComparing(HuecoDisponible::getBarberoId);
+
+    @Autowired
+    AgendaBarberos agendaBarberos;
+
+    @Autowired
+    HorariosBarberos horariosBarberos;
+
+    @Autowired
+    UsuariosClient usuariosClient;
+
+    @Autowired
+    CatalogoClient catalogoClient;
+
+    @Value("${turnos.min-duration-minutes:45}")
+    private int minDurationMinutes;
+
+    @Value("${turnos.busqueda.paso-minutos:15}")
+    private int pasoMinutos;
+
+    @Value("${turnos.busqueda.max-dias:60}")
+    private int maxDias;
+
+    @Value("${turnos.busqueda.hilos:4}")
+    private int hilos;
+
+    private ExecutorService ejecutor;
+
+    @PostConstruct
+    void iniciar() {
+        ejecutor = Executors.newFixedThreadPool(hilos, r -> {
+            Thread hilo = new Thread(r, "busqueda-huecos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    public List<HuecoDisponible> buscar(String servicioId, Integer duracion, LocalDateTime desde,
+                                        LocalDateTime hasta, Integer limite) {
+
+        int minutos = duracion != null ? duracion : catalogoClient.duracion(servicioId).orElse(minDurationMinutes);
+        if (minutos < minDurationMinutes)
+            throw new ValidacionTurnoException("La duración del servicio es inferior a la mínima permitida ("
+                    + minDurationMinutes + " minutos).");
+
+        int n = limite != null ? limite : LIMITE_POR_DEFECTO;
+        if (n < 1 || n > LIMITE_MAXIMO)
+            throw new ValidacionTurnoException("El límite debe estar entre 1 y " + LIMITE_MAXIMO + ".");
+
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime inicio = desde == null || desde.isBefore(ahora) ? ahora : desde;
+        LocalDateTime fin = hasta != null ? hasta : inicio.toLocalDate().plusDays(DIAS_POR_DEFECTO).atStartOfDay();
+        if (!fin.isAfter(inicio))
+            throw new ValidacionTurnoException("La ventana de búsqueda está vacía.");
+        if (ChronoUnit.DAYS.between(inicio.toLocalDate(), fin.toLocalDate()) > maxDias)
+            throw new ValidacionTurnoException("La ventana de búsqueda admite como máximo " + maxDias + " días.");
+
+        List<String> barberos = usuariosClient.barberosActivos();
+        List<HuecoDisponible> resultado = new ArrayList<>();
+
+        for (LocalDate dia = inicio.toLocalDate(); !dia.isAfter(fin.toLocalDate()) && resultado.size() < n;
+             dia = dia.plusDays(1)) {
+
+            int desdeMin = dia.equals(inicio.toLocalDate()) ? minutoDelDia(inicio) : 0;
+            int hastaMin = dia.equals(fin.toLocalDate())
+                    ? fin.getHour() * 60 + fin.getMinute()
+                    : MascaraDia.MINUTOS_DIA;
+            if (desdeMin + minutos > hastaMin) continue;
+
+            int faltan = n - resultado.size();
+            LocalDate fecha = dia;
+            List<CompletableFuture<List<HuecoDisponible>>> porBarbero = barberos.stream()
+                    .map(b -> CompletableFuture.supplyAsync(
+                            () -> huecosDelDia(b, servicioId, fecha, desdeMin, hastaMin, minutos, faltan), ejecutor))
+                    .toList();
+
+            List<HuecoDisponible> delDia = new ArrayList<>();
+            porBarbero.forEach(f -> delDia.addAll(f.join()));
+            delDia.sort(ORDEN);
+            resultado.addAll(delDia.subList(0, Math.min(faltan, delDia.size())));
+        }
+        return resultado;
+    }
+
+    /**
+     * Hasta {@code maximo} huecos del barbero en el día, en orden, con inicio en la grilla
+     * de {@code turnos.busqueda.paso-minutos} desde el inicio de cada tramo de atención.
+     */
+    private List<HuecoDisponible> huecosDelDia(String barberoId, String servicioId, LocalDate fecha,
+                                               int desdeMin, int hastaMin, int minutos, int maximo) {
+        JornadaDia jornada = horariosBarberos.jornada(barberoId, fecha);
+        long[] ocupacion = agendaBarberos.ocupacion(barberoId, fecha);
+        jornada.bloquear(ocupacion);
+        List<HuecoDisponible> huecos = new ArrayList<>();
+
+        for (int t = 0; t < jornada.tramos() && huecos.size() < maximo; t++) {
+            int tope = Math.min(hastaMin, jornada.fin(t));
+            for (int m = alinear(desdeMin, jornada.inicio(t)); m + minutos <= tope && huecos.size() < maximo;
+                 m += pasoMinutos) {
+                if (MascaraDia.rangoLibre(ocupacion, MascaraDia.celdaInicio(m), MascaraDia.celdaFin(m + minutos))) {
+                    huecos.add(new HuecoDisponible(barberoId, servicioId, fecha.atStartOfDay().plusMinutes(m), minutos));
+                }
+            }
+        }
+        return huecos;
+    }
+
+    // Primer minuto de la grilla del tramo igual o posterior al dado
+    private int alinear(int minuto, int apertura) {
+        int desdeApertura = minuto - apertura;
+        if (desdeApertura <= 0) return apertura;
+        return apertura + (desdeApertura + pasoMinutos - 1) / pasoMinutos * pasoMinutos;
+    }
+
+    // Redondeado hacia arriba: un hueco no empieza antes del instante dado
+    private static int minutoDelDia(LocalDateTime t) {
+        return t.getHour() * 60 + t.getMinute() + (t.getSecond() > 0 || t.getNano() > 0 ? 1 : 0);
+    }
+}
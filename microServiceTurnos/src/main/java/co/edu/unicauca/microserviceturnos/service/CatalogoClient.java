@@ -0,0 +1,196 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.agenda.CambioCatalogo;
+import co.edu.unicauca.microserviceturnos.dto.ServicioCatalogo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Réplica local de los servicios del catálogo (id → duración, precio, estado).
+ *
+ * Se carga entera con GET /catalogo/servicios (vía gateway) al arrancar y cada
+ * {@code turnos.catalogo.recarga-ms}, y entre cargas se mantiene con los eventos que
+ * Catalogo publica en {@code catalogo.exchange} al crear, actualizar, activar/desactivar
+ * o eliminar un servicio. Las reservas la leen sin salir a la red: la carga corre en segundo
+ * plano y nunca en el camino de una petición. Si una recarga falla se sigue con la réplica
+ * anterior; mientras no se haya podido cargar ninguna vez no se rechaza nada por servicio y
+ * la duración queda en manos de quien llama, y la carga se reintenta cada
+ * {@code turnos.catalogo.reintento-ms}.
+ *
+ * Cuando cambia la duración o el estado de algún servicio publica {@link CambioCatalogo}.
+ */
+@Slf4j
+@Service
+public class CatalogoClient implements ApplicationEventPublisherAware {
+
+    private static final String SUFIJO_ELIMINADO = ".eliminado";
+
+    @Value("${catalogo.service.url}")
+    private String catalogoServiceUrl;
+
+    @Autowired
+    private WebClient webClient;
+
+    private final Map<String, ServicioCatalogo> servicios = new ConcurrentHashMap<>();
+
+    // Ids que cambió un evento durante la carga en curso: lo leído de ellos ya está viejo
+    private final Set<String> cambiadosDuranteCarga = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean cargada;
+
+    // Una sola carga a la vez: la periódica y el reintento pueden coincidir
+    private final AtomicBoolean cargando = new AtomicBoolean();
+
+    private ApplicationEventPublisher eventos;
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventos) {
+        this.eventos = eventos;
+    }
+
+    public boolean replicaCargada() {
+        return cargada;
+    }
+
+    /**
+     * El servicio según la réplica; vacío si no existe o si la réplica aún no se cargó.
+     */
+    public Optional<ServicioCatalogo> servicio(String servicioId) {
+        return servicioId != null ? Optional.ofNullable(servicios.get(servicioId)) : Optional.empty();
+    }
+
+    /**
+     * Duración en minutos del servicio; vacía si la réplica no la conoce.
+     */
+    public OptionalInt duracion(String servicioId) {
+        Integer minutos = servicio(servicioId).map(ServicioCatalogo::getDuracion).orElse(null);
+        return minutos != null ? OptionalInt.of(minutos) : OptionalInt.empty();
+    }
+
+    /**
+     * Por qué no se puede reservar el servicio, o null si se puede (o si la réplica no está
+     * cargada y no hay con qué decidir).
+     */
+    public String motivoNoReservable(String servicioId) {
+        if (!cargada) return null;
+        Optional<ServicioCatalogo> servicio = servicio(servicioId);
+        if (servicio.isEmpty()) return "El servicio " + servicioId + " no existe en el catálogo.";
+        if (!servicio.get().activo()) return "El servicio " + servicioId + " no está activo.";
+        return null;
+    }
+
+    /**
+     * Carga periódica; la primera corre al arrancar.
+     */
+    @Scheduled(fixedDelayString = "${turnos.catalogo.recarga-ms:3600000}")
+    public void recargarPeriodicamente() {
+        recargar();
+    }
+
+    @Scheduled(fixedDelayString = "${turnos.catalogo.reintento-ms:30000}",
+            initialDelayString = "${turnos.catalogo.reintento-ms:30000}")
+    public void reintentarSiNoCargo() {
+        if (!cargada) recargar();
+    }
+
+    /**
+     * Carga completa del catálogo sin bloquear al que la pide; el resultado se aplica en el
+     * hilo del cliente HTTP. Si falla se conserva lo que había. Si ya hay una carga en
+     * curso no se lanza otra.
+     */
+    public CompletableFuture<Void> recargar() {
+        if (!cargando.compareAndSet(false, true)) return CompletableFuture.completedFuture(null);
+        cambiadosDuranteCarga.clear();
+
+        return webClient
+                .get()
+                .uri(catalogoServiceUrl + "/servicios")
+                .header("X-Internal-Call", "true")
+                .header("X-Service-Name", "TurnosMicroService")
+                .retrieve()
+                .bodyToFlux(ServicioCatalogo.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(10))
+                .doOnNext(this::aplicar)
+                .onErrorResume(e -> {
+                    log.warn("No se pudo cargar el catálogo de servicios{}: {}",
+                            cargada ? ", se sigue con la réplica anterior" : "", e.getMessage());
+                    return Mono.empty();
+                })
+                .doOnTerminate(() -> cargando.set(false))
+                .doOnCancel(() -> cargando.set(false))
+                .then()
+                .toFuture();
+    }
+
+    private void aplicar(List<ServicioCatalogo> leidos) {
+        // La primera carga cambia lo que se respondía sin réplica
+        boolean cambio = !cargada;
+        Set<String> vigentes = new HashSet<>();
+        for (ServicioCatalogo s : leidos) {
+            if (s.getId() == null) continue;
+            String id = s.getId().toString();
+            vigentes.add(id);
+            if (!cambiadosDuranteCarga.contains(id)) {
+                cambio |= afectaDisponibilidad(servicios.put(id, s), s);
+            }
+        }
+        cambio |= servicios.keySet().removeIf(id -> !vigentes.contains(id) && !cambiadosDuranteCarga.contains(id));
+
+        cargada = true;
+        log.info("Réplica del catálogo cargada: {} servicios", servicios.size());
+        if (cambio) publicarCambio(null);
+    }
+
+    /**
+     * Alta, cambio o baja difundida por Catalogo; la clave de ruteo dice cuál.
+     */
+    @RabbitListener(queues = "#{catalogoServiciosQueue.name}")
+    public void alCambiarServicio(ServicioCatalogo servicio,
+                                  @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey) {
+        if (servicio.getId() == null) return;
+
+        String id = servicio.getId().toString();
+        cambiadosDuranteCarga.add(id);
+        boolean cambio;
+        if (routingKey != null && routingKey.endsWith(SUFIJO_ELIMINADO)) {
+            cambio = servicios.remove(id) != null;
+        } else {
+            cambio = afectaDisponibilidad(servicios.put(id, servicio), servicio);
+        }
+        if (cambio) publicarCambio(id);
+    }
+
+    // Solo la duración y el estado cambian los huecos que se ofrecen
+    private static boolean afectaDisponibilidad(ServicioCatalogo anterior, ServicioCatalogo actual) {
+        return anterior == null
+                || !Objects.equals(anterior.getDuracion(), actual.getDuracion())
+                || anterior.activo() != actual.activo();
+    }
+
+    private void publicarCambio(String servicioId) {
+        if (eventos != null) eventos.publishEvent(new CambioCatalogo(servicioId));
+    }
+}
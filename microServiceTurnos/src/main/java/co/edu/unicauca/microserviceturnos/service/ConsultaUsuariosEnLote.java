@@ -0,0 +1,93 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.dto.UsuarioResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Junta las consultas de usuarios que llegan en una ventana corta y las resuelve con una
+ * sola llamada a GET /usuarios/batch.
+ *
+ * El primer id de un lote programa el envío a {@code esperaMs}; si el lote llega a
+ * {@code maxPorLote} se envía de inmediato. Los ids que Usuarios no devuelve se completan
+ * con null (no existen), igual que los que no son numéricos: no viajan en el lote.
+ */
+class ConsultaUsuariosEnLote {
+
+    private final Function<List<String>, Map<String, UsuarioResponse>> consultar;
+    private final long esperaMs;
+    private final int maxPorLote;
+    private final ScheduledExecutorService ejecutor;
+
+    private Map<String, CompletableFuture<UsuarioResponse>> pendientes = new LinkedHashMap<>();
+
+    ConsultaUsuariosEnLote(Function<List<String>, Map<String, UsuarioResponse>> consultar,
+                           long esperaMs, int maxPorLote, int hilos) {
+        this.consultar = consultar;
+        this.esperaMs = esperaMs;
+        this.maxPorLote = maxPorLote;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = Executors.newScheduledThreadPool(hilos, r -> {
+            Thread hilo = new Thread(r, "lote-usuarios-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    synchronized CompletableFuture<UsuarioResponse> solicitar(String usuarioId) {
+        if (!idValido(usuarioId)) return CompletableFuture.completedFuture(null);
+
+        CompletableFuture<UsuarioResponse> existente = pendientes.get(usuarioId);
+        if (existente != null) return existente;
+
+        CompletableFuture<UsuarioResponse> futuro = new CompletableFuture<>();
+        pendientes.put(usuarioId, futuro);
+
+        if (pendientes.size() >= maxPorLote) {
+            Map<String, CompletableFuture<UsuarioResponse>> lleno = pendientes;
+            pendientes = new LinkedHashMap<>();
+            ejecutor.execute(() -> resolver(lleno));
+        } else if (pendientes.size() == 1) {
+            ejecutor.schedule(this::despachar, esperaMs, TimeUnit.MILLISECONDS);
+        }
+        return futuro;
+    }
+
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    // Los ids de Usuarios son numéricos
+    private static boolean idValido(String usuarioId) {
+        return usuarioId != null && !usuarioId.isEmpty() && usuarioId.chars().allMatch(Character::isDigit);
+    }
+
+    private void despachar() {
+        Map<String, CompletableFuture<UsuarioResponse>> lote;
+        synchronized (this) {
+            if (pendientes.isEmpty()) return;
+            lote = pendientes;
+            pendientes = new LinkedHashMap<>();
+        }
+        resolver(lote);
+    }
+
+    private void resolver(Map<String, CompletableFuture<UsuarioResponse>> lote) {
+        try {
+            Map<String, UsuarioResponse> encontrados = consultar.apply(new ArrayList<>(lote.keySet()));
+            lote.forEach((id, futuro) -> futuro.complete(encontrados.get(id)));
+        } catch (RuntimeException e) {
+            lote.values().forEach(futuro -> futuro.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.dto.EstadisticaDia;
+import co.edu.unicauca.microserviceturnos.entities.EstadisticaDiaria;
+import co.edu.unicauca.microserviceturnos.repository.EstadisticaDiariaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Reporte por barbero y día desde estadistica_diaria. Es una lectura por rango de la
+ * llave (barbero_id, fecha), o del índice por fecha si no se pide un barbero; no agrupa
+ * sobre la tabla de turnos. Los días sin turnos no aparecen.
+ */
+@Service
+public class EstadisticasService {
+
+    private static final int MAX_DIAS = 92;
+
+    @Autowired
+    EstadisticaDiariaRepository estadisticaDiariaRepository;
+
+    @Autowired
+    HorariosBarberos horariosBarberos;
+
+    @Transactional(readOnly = true)
+    public List<EstadisticaDia> estadisticas(String barberoId, LocalDate desde, LocalDate hasta) {
+        if (desde == null || hasta == null || hasta.isBefore(desde))
+            throw new ValidacionTurnoException("El rango [desde, hasta] es obligatorio y no puede estar invertido.");
+        if (ChronoUnit.DAYS.between(desde, hasta) >= MAX_DIAS)
+            throw new ValidacionTurnoException("El rango admite como máximo " + MAX_DIAS + " días.");
+
+        List<EstadisticaDiaria> filas = barberoId != null
+                ? estadisticaDiariaRepository.findByIdBarberoIdAndIdFechaBetweenOrderByIdFechaAsc(barberoId, desde, hasta)
+                : estadisticaDiariaRepository.findByIdFechaBetweenOrderByIdFechaAscIdBarberoIdAsc(desde, hasta);
+
+        return filas.stream()
+                .map(e -> new EstadisticaDia(
+                        e.getId().getBarberoId(),
+                        e.getId().getFecha(),
+                        e.getPendientes(),
+                        e.getConfirmados(),
+                        e.getEnProceso(),
+                        e.getFinalizados(),
+                        e.getCancelados(),
+                        e.getNoAsistio(),
+                        e.getMinutosReservados(),
+                        ocupacion(e)))
+                .toList();
+    }
+
+    // Sobre los minutos de atención de ese barbero ese día; 0 si no atendía
+    private double ocupacion(EstadisticaDiaria e) {
+        int jornada = horariosBarberos.jornada(e.getId().getBarberoId(), e.getId().getFecha()).minutos();
+        return jornada > 0 ? (double) e.getMinutosReservados() / jornada : 0;
+    }
+}
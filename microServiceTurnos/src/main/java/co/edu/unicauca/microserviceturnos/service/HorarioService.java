@@ -0,0 +1,151 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.MascaraDia;
+import co.edu.unicauca.microserviceturnos.dto.ExcepcionHorarioRequest;
+import co.edu.unicauca.microserviceturnos.dto.HorarioBarberoResponse;
+import co.edu.unicauca.microserviceturnos.dto.TramoHorario;
+import co.edu.unicauca.microserviceturnos.entities.ExcepcionHorario;
+import co.edu.unicauca.microserviceturnos.entities.HorarioSemanal;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
+import co.edu.unicauca.microserviceturnos.util.TransaccionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantilla semanal y excepciones por fecha del horario de cada barbero. Cada cambio
+ * invalida, después del commit, el horario compilado en {@link HorariosBarberos}.
+ */
+@Service
+public class HorarioService {
+
+    @Autowired
+    HorarioSemanalRepository horarioSemanalRepository;
+
+    @Autowired
+    ExcepcionHorarioRepository excepcionHorarioRepository;
+
+    @Autowired
+    HorariosBarberos horariosBarberos;
+
+    @Transactional(readOnly = true)
+    public HorarioBarberoResponse obtener(String barberoId) {
+        List<TramoHorario> semana = horarioSemanalRepository.findByBarberoId(barberoId).stream()
+                .sorted(Comparator.comparing(HorarioSemanal::getDiaSemana).thenComparing(HorarioSemanal::getHoraInicio))
+                .map(h -> new TramoHorario(h.getDiaSemana(), h.getHoraInicio(), h.getHoraFin()))
+                .toList();
+
+        Map<LocalDate, ExcepcionHorarioRequest> excepciones = new LinkedHashMap<>();
+        for (ExcepcionHorario e : excepcionHorarioRepository
+                .findByBarberoIdAndFechaGreaterThanEqualOrderByFechaAscHoraInicioAsc(barberoId, LocalDate.now())) {
+            ExcepcionHorarioRequest dia = excepciones.computeIfAbsent(e.getFecha(),
+                    f -> new ExcepcionHorarioRequest(f, e.getMotivo(), new ArrayList<>()));
+            if (e.getHoraInicio() != null) {
+                dia.getTramos().add(new TramoHorario(null, e.getHoraInicio(), e.getHoraFin()));
+            }
+        }
+
+        return new HorarioBarberoResponse(barberoId, semana.isEmpty(), semana, new ArrayList<>(excepciones.values()));
+    }
+
+    /**
+     * Reemplaza la plantilla semanal. Los días sin tramos quedan cerrados; una lista vacía
+     * devuelve al barbero al horario por defecto.
+     */
+    @Transactional
+    public HorarioBarberoResponse definirPlantilla(String barberoId, List<TramoHorario> tramos) {
+        validarBarbero(barberoId);
+        if (tramos == null)
+            throw new ValidacionTurnoException("La plantilla debe traer la lista de tramos.");
+        for (TramoHorario t : tramos) {
+            if (t.getDiaSemana() == null)
+                throw new ValidacionTurnoException("Cada tramo de la plantilla debe indicar el día de la semana.");
+        }
+        validarTramos(tramos);
+
+        horarioSemanalRepository.deleteByBarberoId(barberoId);
+        horarioSemanalRepository.saveAll(tramos.stream()
+                .map(t -> new HorarioSemanal(barberoId, t.getDiaSemana(), t.getInicio(), t.getFin()))
+                .toList());
+
+        TransaccionUtils.trasCommit(() -> horariosBarberos.invalidar(barberoId));
+        return obtener(barberoId);
+    }
+
+    /**
+     * Reemplaza el horario de una fecha. Sin tramos, el barbero no atiende ese día.
+     */
+    @Transactional
+    public void definirExcepcion(String barberoId, LocalDate fecha, ExcepcionHorarioRequest excepcion) {
+        validarBarbero(barberoId);
+        if (fecha == null)
+            throw new ValidacionTurnoException("La fecha de la excepción es obligatoria.");
+
+        List<TramoHorario> tramos = excepcion != null && excepcion.getTramos() != null
+                ? excepcion.getTramos() : List.of();
+        String motivo = excepcion != null ? excepcion.getMotivo() : null;
+        validarTramos(tramos);
+
+        excepcionHorarioRepository.deleteByBarberoIdAndFecha(barberoId, fecha);
+        if (tramos.isEmpty()) {
+            excepcionHorarioRepository.save(new ExcepcionHorario(barberoId, fecha, null, null, motivo));
+        } else {
+            excepcionHorarioRepository.saveAll(tramos.stream()
+                    .map(t -> new ExcepcionHorario(barberoId, fecha, t.getInicio(), t.getFin(), motivo))
+                    .toList());
+        }
+
+        TransaccionUtils.trasCommit(() -> horariosBarberos.invalidar(barberoId));
+    }
+
+    @Transactional
+    public void eliminarExcepcion(String barberoId, LocalDate fecha) {
+        excepcionHorarioRepository.deleteByBarberoIdAndFecha(barberoId, fecha);
+        TransaccionUtils.trasCommit(() -> horariosBarberos.invalidar(barberoId));
+    }
+
+    private static void validarBarbero(String barberoId) {
+        if (barberoId == null || barberoId.isBlank())
+            throw new ValidacionTurnoException("El barbero es obligatorio.");
+    }
+
+    /**
+     * Cada tramo con inicio antes del fin, en la grilla de la agenda, y sin cruzarse con
+     * otro del mismo día.
+     */
+    private static void validarTramos(List<TramoHorario> tramos) {
+        for (TramoHorario t : tramos) {
+            if (t.getInicio() == null || t.getFin() == null || !t.getInicio().isBefore(t.getFin()))
+                throw new ValidacionTurnoException("Cada tramo necesita inicio y fin, con el inicio antes del fin.");
+            if (!enGrilla(t.getInicio()) || !enGrilla(t.getFin()))
+                throw new ValidacionTurnoException("Las horas de los tramos deben ir en múltiplos de "
+                        + MascaraDia.MINUTOS_CELDA + " minutos.");
+        }
+
+        List<TramoHorario> ordenados = new ArrayList<>(tramos);
+        ordenados.sort(Comparator.comparing((TramoHorario t) -> t.getDiaSemana() != null ? t.getDiaSemana().ordinal() : 0)
+                .thenComparing(TramoHorario::getInicio));
+        for (int i = 1; i < ordenados.size(); i++) {
+            TramoHorario previo = ordenados.get(i - 1);
+            TramoHorario actual = ordenados.get(i);
+            if (previo.getDiaSemana() == actual.getDiaSemana() && actual.getInicio().isBefore(previo.getFin()))
+                throw new ValidacionTurnoException("Los tramos de un mismo día no pueden cruzarse.");
+        }
+    }
+
+    private static boolean enGrilla(LocalTime hora) {
+        return hora.getSecond() == 0 && hora.getNano() == 0
+                && HorariosBarberos.minutoDelDia(hora) % MascaraDia.MINUTOS_CELDA == 0;
+    }
+}
@@ -1,20 +1,107 @@
 package co.edu.unicauca.microserviceturnos.service;
 
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.dto.PosicionEspera;
+import co.edu.unicauca.microserviceturnos.espera.ColasEspera;
+import co.edu.unicauca.microserviceturnos.espera.EntradaEspera;
+import co.edu.unicauca.microserviceturnos.espera.MotorReasignacion;
 import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
 import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
 
 @Service
 public class ListaEsperaService {
     @Autowired
     ListaEsperaRepository listaEsperaRepository;
 
+    @Autowired
+    ColasEspera colasEspera;
+
+    @Autowired
+    MotorReasignacion motorReasignacion;
+
+    @Autowired
+    AgendaBarberos agendaBarberos;
+
+    @Autowired
+    HorariosBarberos horariosBarberos;
+
+    @Autowired
+    ReservasActivas reservasActivas;
+
+    @Autowired
+    TurnoRepository turnoRepository;
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void guardarEnLista(ListaEspera le) {
-        listaEsperaRepository.save(le);
+        ListaEspera saved = listaEsperaRepository.save(le);
+        colasEspera.encolar(saved);
+    }
+
+    /**
+     * Reclama para el hueco que deja el turno {@code liberado} la mejor candidata entre la
+     * cola del barbero y las de sus barberos intercambiables cuyo servicio quepa.
+     *
+     * El hueco va hasta el siguiente turno de la agenda (con su buffer) y nunca pasa del fin
+     * del tramo de atención. La entrada se borra de ListaEspera antes de crear el turno: si
+     * el borrado no afecta filas, otro carril u otra instancia ya se la llevó, sale de la
+     * cola en memoria y se prueba con la siguiente.
+     *
+     * Como en createTurno, un cliente no puede tener dos turnos activos con el mismo barbero:
+     * si la candidata (por ejemplo una que esperaba a un barbero intercambiable) ya tiene uno
+     * con este, se salta y conserva su lugar en la lista.
+     */
+    @Transactional
+    public Optional<EntradaEspera> reclamarParaHueco(String barberoId, LocalDateTime inicio, UUID liberado) {
+        int minutosLibres = Math.min(
+                agendaBarberos.minutosLibres(barberoId, inicio, liberado),
+                horariosBarberos.minutosAbiertos(barberoId, inicio));
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Set<UUID> saltadas = new HashSet<>();
+        Optional<EntradaEspera> candidata;
+        while ((candidata = motorReasignacion.mejorCandidato(barberoId, minutosLibres, ahora,
+                e -> saltadas.contains(e.getId()))).isPresent()) {
+            EntradaEspera entrada = candidata.get();
+            if (tieneTurnoActivo(entrada.getClienteId(), barberoId, ahora)) {
+                saltadas.add(entrada.getId());
+                continue;
+            }
+            if (listaEsperaRepository.borrarPorId(entrada.getId()) > 0) {
+                colasEspera.retirar(entrada.getBarberoId(), entrada.getId());
+                return candidata;
+            }
+            colasEspera.descartar(entrada.getBarberoId(), entrada.getId());
+        }
+        return Optional.empty();
+    }
+
+    private boolean tieneTurnoActivo(String clienteId, String barberoId, LocalDateTime ahora) {
+        return reservasActivas.tieneReservaActiva(clienteId, barberoId, ahora)
+                || turnoRepository.existsByClienteIdAndBarberoIdAndFechaHoraAfterAndEstadoNotIn(
+                        clienteId, barberoId, ahora, AgendaBarberos.ESTADOS_LIBRES);
+    }
+
+    public int duracion(EntradaEspera entrada) {
+        return motorReasignacion.duracion(entrada);
+    }
+
+    public Optional<PosicionEspera> posicion(String barberoId, String clienteId) {
+        int posicion = colasEspera.posicion(barberoId, clienteId);
+        if (posicion == 0) return Optional.empty();
+        return Optional.of(new PosicionEspera(barberoId, clienteId, posicion, colasEspera.tamanio(barberoId)));
     }
 }
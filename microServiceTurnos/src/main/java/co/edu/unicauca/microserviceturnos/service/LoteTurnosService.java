@@ -0,0 +1,267 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.CarrilOcupadoException;
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CarrilesBarbero;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.IntervaloTurno;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.dto.ResultadoItemLote;
+import co.edu.unicauca.microserviceturnos.dto.ResultadoLote;
+import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.journal.JournalTurnos;
+import co.edu.unicauca.microserviceturnos.mappers.TurnoMapper;
+import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Creación de muchos turnos en una sola petición (POST /turnos/batch).
+ *
+ * Agrupa los items por barbero y procesa cada grupo en su carril y en una transacción:
+ * dos consultas por grupo (clientes con turno activo y clientes en lista de espera),
+ * una consulta del rango de horarios ocupados, validación de solapamientos contra lo
+ * existente y contra los demás items del lote, y un saveAll que Hibernate envía en lotes JDBC.
+ * Las notificaciones de los turnos creados de cada grupo van al outbox en la misma transacción,
+ * como un solo evento.
+ */
+@Slf4j
+@Service
+public class LoteTurnosService {
+
+    // Lo que ve el cliente si falla el grupo de un barbero; el detalle queda en el log
+    static final String ERROR_GUARDADO = "No se pudo guardar, intenta de nuevo.";
+    static final String ERROR_CARRIL_OCUPADO = "La agenda del barbero está ocupada, intenta de nuevo.";
+
+    @Autowired
+    TurnoRepository turnoRepository;
+
+    @Autowired
+    ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    TurnoMapper turnoMapper;
+
+    @Autowired
+    OutboxService outboxService;
+
+    @Autowired
+    JournalTurnos journalTurnos;
+
+    @Autowired
+    AgendaBarberos agendaBarberos;
+
+    @Autowired
+    ReservasActivas reservasActivas;
+
+    @Autowired
+    HorariosBarberos horariosBarberos;
+
+    @Autowired
+    CatalogoClient catalogoClient;
+
+    @Autowired
+    CarrilesBarbero carriles;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${turnos.min-duration-minutes:45}")
+    private int minDurationMinutes;
+
+    @Value("${turnos.buffer-minutes:5}")
+    private int bufferMinutes;
+
+    @Value("${turnos.lote.max-items:500}")
+    private int maxItems;
+
+    public ResultadoLote crearLote(List<TurnoRequest> items) {
+
+        if (items == null || items.isEmpty())
+            throw new ValidacionTurnoException("El lote de turnos no puede estar vacío.");
+
+        if (items.size() > maxItems)
+            throw new ValidacionTurnoException("El lote admite como máximo " + maxItems + " turnos.");
+
+        ResultadoItemLote[] resultados = new ResultadoItemLote[items.size()];
+        Map<String, List<Integer>> porBarbero = new LinkedHashMap<>();
+
+        // Duración con que se guarda cada item; los DTO recibidos no se modifican
+        int[] duraciones = new int[items.size()];
+
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 0; i < items.size(); i++) {
+            String error = validar(items.get(i), ahora);
+            if (error == null) {
+                duraciones[i] = duracion(items.get(i));
+                if (duraciones[i] < minDurationMinutes)
+                    error = "La duración del servicio es inferior a la mínima permitida (" + minDurationMinutes + " minutos).";
+            }
+            if (error != null) {
+                resultados[i] = ResultadoItemLote.rechazado(i, error);
+            } else {
+                porBarbero.computeIfAbsent(items.get(i).getBarberoId(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        porBarbero.forEach((barberoId, indices) -> {
+            try {
+                List<ResultadoItemLote> grupo = carriles.ejecutar(
+                        () -> transactionTemplate.execute(status -> procesarBarbero(barberoId, indices, items, duraciones)),
+                        barberoId);
+
+                for (ResultadoItemLote r : grupo) {
+                    resultados[r.getIndice()] = r;
+                }
+            } catch (Exception e) {
+                log.error("Error guardando el lote del barbero {}: {}", barberoId, e.getMessage(), e);
+                String error = (e instanceof CarrilOcupadoException) ? ERROR_CARRIL_OCUPADO : ERROR_GUARDADO;
+                for (int i : indices) {
+                    resultados[i] = ResultadoItemLote.rechazado(i, error);
+                }
+            }
+        });
+
+        int creados = (int) Arrays.stream(resultados).filter(ResultadoItemLote::isCreado).count();
+        return new ResultadoLote(creados, items.size() - creados, Arrays.asList(resultados));
+    }
+
+    // Mismas validaciones que createTurno, devolviendo el mensaje en vez de lanzar
+    private String validar(TurnoRequest dto, LocalDateTime ahora) {
+        if (dto == null)
+            return "El DTO de Turno no puede ser null.";
+        if (dto.getClienteId() == null || dto.getBarberoId() == null || dto.getServicioId() == null)
+            return "Faltan datos obligatorios: clienteId, barberoId o servicioId.";
+        if (dto.getFechaHora() == null)
+            return "La fecha y hora del turno es obligatoria.";
+        if (dto.getFechaHora().isBefore(ahora))
+            return "No puedes reservar un turno en el pasado.";
+        return catalogoClient.motivoNoReservable(dto.getServicioId());
+    }
+
+    // Manda la duración del catálogo, igual que en createTurno (la réplica es local);
+    // la del cliente solo si el catálogo no la conoce
+    private int duracion(TurnoRequest dto) {
+        OptionalInt delCatalogo = catalogoClient.duracion(dto.getServicioId());
+        if (delCatalogo.isPresent()) return delCatalogo.getAsInt();
+        return dto.getDuracionMinutos() != null ? dto.getDuracionMinutos() : minDurationMinutes;
+    }
+
+    private List<ResultadoItemLote> procesarBarbero(String barberoId, List<Integer> indices,
+                                                    List<TurnoRequest> items, int[] duraciones) {
+
+        LocalDateTime ahora = LocalDateTime.now();
+
+        Set<String> clientes = new HashSet<>();
+        LocalDateTime primero = null;
+        LocalDateTime ultimo = null;
+        int duracionMaxima = 0;
+        for (int i : indices) {
+            TurnoRequest dto = items.get(i);
+            clientes.add(dto.getClienteId());
+            LocalDateTime fin = dto.getFechaHora().plusMinutes(duraciones[i]);
+            if (primero == null || dto.getFechaHora().isBefore(primero)) primero = dto.getFechaHora();
+            if (ultimo == null || fin.isAfter(ultimo)) ultimo = fin;
+            duracionMaxima = Math.max(duracionMaxima, duraciones[i]);
+        }
+
+        Set<String> conReserva = new HashSet<>(turnoRepository.findClientesConReservaActiva(
+                barberoId, clientes, ahora, AgendaBarberos.ESTADOS_LIBRES));
+        Set<String> enEspera = new HashSet<>(listaEsperaRepository.findClientesEnEspera(barberoId, clientes));
+
+        // Horarios ocupados del barbero en el rango del lote (con el buffer a cada lado)
+        Ocupacion ocupacion = new Ocupacion();
+        for (Turno t : turnoRepository.findByBarberoIdAndFechaHoraBetween(barberoId,
+                primero.minusMinutes(duracionMaxima + bufferMinutes), ultimo.plusMinutes(bufferMinutes))) {
+            if (!AgendaBarberos.ocupaAgenda(t.getEstado())) continue;
+            int durExist = t.getDuracionMinutos() != null ? t.getDuracionMinutos() : minDurationMinutes;
+            ocupacion.agregar(IntervaloTurno.aMinutos(t.getFechaHora()), durExist);
+        }
+
+        List<ResultadoItemLote> resultados = new ArrayList<>();
+        List<Turno> nuevos = new ArrayList<>();
+        List<Integer> indicesNuevos = new ArrayList<>();
+
+        List<Integer> ordenados = new ArrayList<>(indices);
+        ordenados.sort(Comparator.comparing(i -> items.get(i).getFechaHora()));
+
+        for (int i : ordenados) {
+            TurnoRequest dto = items.get(i);
+            int duracion = duraciones[i];
+            long inicio = IntervaloTurno.aMinutos(dto.getFechaHora());
+
+            if (conReserva.contains(dto.getClienteId())) {
+                resultados.add(ResultadoItemLote.rechazado(i, "Ya tienes un turno agendado con este barbero."));
+            } else if (enEspera.contains(dto.getClienteId())) {
+                resultados.add(ResultadoItemLote.rechazado(i, "Ya estás en lista de espera para este barbero."));
+            } else if (!horariosBarberos.atiende(barberoId, dto.getFechaHora(), duracion)) {
+                resultados.add(ResultadoItemLote.rechazado(i, "El barbero no atiende en ese horario."));
+            } else if (ocupacion.choca(inicio, inicio + duracion)) {
+                resultados.add(ResultadoItemLote.rechazado(i, "Horario ocupado."));
+            } else {
+                Turno nuevo = turnoMapper.dtoToEntity(dto);
+                nuevo.setDuracionMinutos(duracion);
+                nuevo.setFechaCreacion(ahora);
+                nuevos.add(nuevo);
+                indicesNuevos.add(i);
+
+                // Lo aceptado cuenta para los siguientes items del lote
+                ocupacion.agregar(inicio, duracion);
+                conReserva.add(dto.getClienteId());
+            }
+        }
+
+        List<Turno> guardados = turnoRepository.saveAll(nuevos);
+        List<TurnoRequest> creados = new ArrayList<>();
+        for (int k = 0; k < guardados.size(); k++) {
+            Turno saved = guardados.get(k);
+            agendaBarberos.sincronizar(saved);
+            reservasActivas.sincronizar(saved);
+            journalTurnos.registrarCreado(saved);
+            TurnoRequest creado = turnoMapper.entityToDto(saved);
+            creados.add(creado);
+            resultados.add(ResultadoItemLote.creado(indicesNuevos.get(k), creado));
+        }
+        outboxService.registrarNotificaciones(creados);
+        return resultados;
+    }
+
+    /**
+     * Intervalos ocupados por inicio, con la misma regla que createTurno: el existente
+     * ocupa [inicio - buffer, fin + buffer) y choca si se cruza con [inicio, fin) del nuevo.
+     */
+    private class Ocupacion {
+        private final TreeMap<Long, Long> finPorInicio = new TreeMap<>();
+        private long largoMaximo;
+
+        void agregar(long inicio, int duracion) {
+            long desde = inicio - bufferMinutes;
+            long hasta = inicio + duracion + bufferMinutes;
+            finPorInicio.merge(desde, hasta, Math::max);
+            largoMaximo = Math.max(largoMaximo, hasta - desde);
+        }
+
+        boolean choca(long inicio, long fin) {
+            return finPorInicio.subMap(inicio - largoMaximo, false, fin, false)
+                    .values().stream().anyMatch(hasta -> hasta > inicio);
+        }
+    }
+}
@@ -1,100 +1,181 @@
 package co.edu.unicauca.microserviceturnos.service;
 
+import co.edu.unicauca.microserviceturnos.config.NotificacionesConfig;
 import co.edu.unicauca.microserviceturnos.config.RabbitMQConfig;
 import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
 import co.edu.unicauca.microserviceturnos.dto.UsuarioResponse;
 import co.edu.unicauca.microserviceturnos.dto.WhatsAppRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 
-import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class NotificacionService {
 
-    @Value("${usuarios.service.url}")
-    private String usuariosServiceUrl;
-
     @Autowired
-    private WebClient webClient;
+    private UsuariosClient usuariosClient;
 
     @Autowired
     private RabbitTemplate rabbitTemplate;
 
+    @Autowired
+    @Qualifier(NotificacionesConfig.EJECUTOR_NOTIFICACIONES)
+    private Executor ejecutorNotificaciones;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer latencia;
+    private Counter rechazadas;
+    private Counter descartadas;
+
+    @PostConstruct
+    void registrarMetricas() {
+        latencia = Timer.builder("turnos.notificaciones.latencia")
+                .description("Desde que se encola la notificación hasta que termina")
+                .register(meterRegistry);
+        rechazadas = Counter.builder("turnos.notificaciones.rechazadas")
+                .description("Notificaciones que no cupieron en el pool y se derivaron a la cola de pendientes")
+                .register(meterRegistry);
+        descartadas = Counter.builder("turnos.notificaciones.descartadas")
+                .description("Notificaciones rechazadas que tampoco se pudieron derivar")
+                .register(meterRegistry);
+    }
+
     public void enviarNotificacionAsync(TurnoRequest t) { // Parámetro mensajeTurno eliminado
-        CompletableFuture.runAsync(() -> {
+        encolar(() -> {
             try {
-                log.info("Iniciando notificación para usuario {}", t.getClienteId());
-
-                UsuarioResponse usuario = obtenerUsuario(t.getClienteId());
-
-                final String mensajeConfirmacion = String.format(
-                        "¡Hola %s! 👋\n\n" +
-                                "Tu turno ha sido *registrado con éxito*. Aquí tienes los detalles:\n\n" +
-                                "📅 *Fecha y hora:* %s\n" +
-                                "\nGracias por reservar con nosotros. ¡Te esperamos! 😁",
-                        usuario != null ? usuario.getNombre() : "cliente",
-                        t.getFechaHora() != null
-                                ? t.getFechaHora().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
-                                : "Por confirmar");
-
-                if (usuario != null && usuario.getTelefono() != null && !usuario.getTelefono().isEmpty()) {
-
-                    enviarMensajeACola(t.getClienteId(), usuario.getTelefono(), mensajeConfirmacion);
-                    log.info("Mensaje publicado en cola para {} (usuario {})",
-                            usuario.getTelefono(), t.getClienteId());
-                } else {
-                    log.warn("Usuario {} sin teléfono", t.getClienteId());
-                }
-
+                notificar(t);
             } catch (Exception e) {
                 log.error("Error en notificación: {}", e.getMessage());
             }
-        });
+        }, List.of(t));
     }
 
-    private UsuarioResponse obtenerUsuario(String usuarioId) {
-        String url = usuariosServiceUrl + "/" + usuarioId;
+    /**
+     * Notificaciones publicadas por el relay del outbox y las derivadas cuando el pool
+     * estaba lleno. Se atienden de a una en los hilos del listener, sin pasar por el pool.
+     * Un error sale del listener para que se reintente (ver {@link NotificacionesConfig}).
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_NOTIFICACIONES_PENDIENTES,
+            concurrency = "${turnos.notificaciones.consumidores:4}",
+            containerFactory = NotificacionesConfig.LISTENER_NOTIFICACIONES)
+    public void procesarPendiente(TurnoRequest t) {
+        notificar(t);
+    }
+
+    /**
+     * Notificaciones agrupadas que publica el relay del outbox (lotes y transiciones masivas).
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_NOTIFICACIONES_LOTE,
+            containerFactory = NotificacionesConfig.LISTENER_NOTIFICACIONES)
+    public void procesarLotePendiente(List<TurnoRequest> turnos) {
+        notificarLote(turnos);
+    }
 
+    private void encolar(Runnable tarea, List<TurnoRequest> turnos) {
+        long encolada = System.nanoTime();
         try {
-            log.debug("Llamando via gateway: {}", url);
-
-            return webClient
-                    .get()
-                    .uri(url)
-                    .header("X-Internal-Call", "true")
-                    .header("X-Service-Name", "TurnosMicroService")
-                    .retrieve()
-                    .bodyToMono(UsuarioResponse.class)
-                    .timeout(Duration.ofSeconds(10)) // Timeout aumentado a 10s
-                    .block();
-
-        } catch (WebClientResponseException.NotFound e) {
-            log.error("Usuario {} no encontrado", usuarioId);
-            return null;
+            ejecutorNotificaciones.execute(() -> {
+                try {
+                    tarea.run();
+                } finally {
+                    latencia.record(System.nanoTime() - encolada, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rechazadas.increment();
+            derivar(turnos);
+        }
+    }
+
+    // Pool lleno: la notificación va a la cola duradera en vez de bloquear a quien reservó
+    private void derivar(List<TurnoRequest> turnos) {
+        for (TurnoRequest t : turnos) {
+            try {
+                rabbitTemplate.convertAndSend(RabbitMQConfig.QUEUE_NOTIFICACIONES_PENDIENTES, t);
+            } catch (Exception e) {
+                descartadas.increment();
+                log.error("No se pudo derivar la notificación de {}: {}", t.getClienteId(), e.getMessage());
+            }
+        }
+        log.warn("Pool de notificaciones lleno: {} notificaciones derivadas a pendientes", turnos.size());
+    }
 
-        } catch (WebClientResponseException e) {
-            log.error("Error HTTP {}: {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Error al obtener usuario", e);
+    private void notificar(TurnoRequest t) {
+        log.info("Iniciando notificación para usuario {}", t.getClienteId());
 
-        } catch (Exception e) {
-            log.error("Error: {}", e.getMessage(), e);
-            throw new RuntimeException("Error al obtener usuario", e);
+        UsuarioResponse usuario = usuariosClient.obtenerUsuario(t.getClienteId());
+
+        final String mensajeConfirmacion = mensajeConfirmacion(t, usuario);
+
+        if (usuario != null && usuario.getTelefono() != null && !usuario.getTelefono().isEmpty()) {
+
+            enviarMensajeACola(t.getClienteId(), usuario.getTelefono(), mensajeConfirmacion);
+            log.info("Mensaje publicado en cola para {} (usuario {})",
+                    usuario.getTelefono(), t.getClienteId());
+        } else {
+            log.warn("Usuario {} sin teléfono", t.getClienteId());
         }
     }
 
+    private void notificarLote(List<TurnoRequest> turnos) {
+        List<WhatsAppRequest> mensajes = new ArrayList<>();
+
+        // Todos los clientes del lote se resuelven juntos (caché + GET /usuarios/batch)
+        Map<String, UsuarioResponse> usuarios = usuariosClient.obtenerUsuarios(
+                turnos.stream().map(TurnoRequest::getClienteId).toList());
+
+        for (TurnoRequest t : turnos) {
+            UsuarioResponse usuario = usuarios.get(t.getClienteId());
+            if (usuario != null && usuario.getTelefono() != null && !usuario.getTelefono().isEmpty()) {
+                mensajes.add(WhatsAppRequest.builder()
+                        .clienteId(t.getClienteId())
+                        .telefonoDestino(usuario.getTelefono())
+                        .mensajeWhatsapp(mensajeConfirmacion(t, usuario))
+                        .build());
+            } else {
+                log.warn("Usuario {} sin teléfono", t.getClienteId());
+            }
+        }
+
+        rabbitTemplate.invoke(operaciones -> {
+            mensajes.forEach(m -> operaciones.convertAndSend(RabbitMQConfig.QUEUE_NOTIFICACIONES, m));
+            return null;
+        });
+        log.info("Publicadas {} notificaciones de lote", mensajes.size());
+    }
+
+    private String mensajeConfirmacion(TurnoRequest t, UsuarioResponse usuario) {
+        return String.format(
+                "¡Hola %s! 👋\n\n" +
+                        "Tu turno ha sido *registrado con éxito*. Aquí tienes los detalles:\n\n" +
+                        "📅 *Fecha y hora:* %s\n" +
+                        "\nGracias por reservar con nosotros. ¡Te esperamos! 😁",
+                usuario != null ? usuario.getNombre() : "cliente",
+                t.getFechaHora() != null
+                        ? t.getFechaHora().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+                        : "Por confirmar");
+    }
+
     private void enviarMensajeACola(String clienteId, String telefono, String mensaje) {
         WhatsAppRequest request = WhatsAppRequest.builder()
                 .clienteId(clienteId)
@@ -0,0 +1,64 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.config.RabbitMQConfig;
+import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import co.edu.unicauca.microserviceturnos.entities.EventoSaliente;
+import co.edu.unicauca.microserviceturnos.repository.EventoSalienteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Escribe en el outbox los eventos que deben salir a RabbitMQ. Solo se llama dentro de la
+ * transacción que guarda el turno: si ésta se revierte el evento desaparece con ella, y el
+ * broker queda fuera del camino de la petición ({@code RelayOutbox} publica después).
+ */
+@Service
+public class OutboxService {
+
+    public static final String NOTIFICACION_TURNO = "NOTIFICACION_TURNO";
+    public static final String NOTIFICACION_LOTE = "NOTIFICACION_LOTE";
+
+    @Autowired
+    EventoSalienteRepository eventoSalienteRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * Confirmación por WhatsApp del turno; la atiende {@link NotificacionService#procesarPendiente}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarNotificacion(TurnoRequest turno) {
+        registrar(NOTIFICACION_TURNO, RabbitMQConfig.QUEUE_NOTIFICACIONES_PENDIENTES, turno);
+    }
+
+    /**
+     * Un solo evento con las confirmaciones de varios turnos; lo atiende
+     * {@link NotificacionService#procesarLotePendiente} resolviendo los usuarios juntos.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarNotificaciones(List<TurnoRequest> turnos) {
+        if (turnos.isEmpty()) return;
+        registrar(NOTIFICACION_LOTE, RabbitMQConfig.QUEUE_NOTIFICACIONES_LOTE, turnos);
+    }
+
+    private void registrar(String tipo, String destino, Object contenido) {
+        EventoSaliente e = new EventoSaliente();
+        e.setTipo(tipo);
+        e.setDestino(destino);
+        e.setFechaCreacion(LocalDateTime.now());
+        try {
+            e.setPayload(objectMapper.writeValueAsString(contenido));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el evento " + tipo, ex);
+        }
+        eventoSalienteRepository.save(e);
+    }
+}
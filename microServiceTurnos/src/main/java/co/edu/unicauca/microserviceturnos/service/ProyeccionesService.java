@@ -0,0 +1,73 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.dto.OcupacionDia;
+import co.edu.unicauca.microserviceturnos.dto.TasaNoShowBarbero;
+import co.edu.unicauca.microserviceturnos.dto.TransicionHistorial;
+import co.edu.unicauca.microserviceturnos.journal.OcupacionDiaria;
+import co.edu.unicauca.microserviceturnos.journal.TasaNoShow;
+import co.edu.unicauca.microserviceturnos.repository.TransicionTurnoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Consultas que salen de la bitácora de transiciones en lugar de la tabla de turnos:
+ * ocupación y tasa de inasistencia desde las proyecciones en memoria, e historial del
+ * cliente desde el índice (cliente_id, secuencia) de la bitácora.
+ */
+@Service
+public class ProyeccionesService {
+
+    private static final int MAX_DIAS_OCUPACION = 92;
+    private static final int LIMITE_POR_DEFECTO = 50;
+    private static final int LIMITE_MAXIMO = 500;
+
+    @Autowired
+    OcupacionDiaria ocupacionDiaria;
+
+    @Autowired
+    TasaNoShow tasaNoShow;
+
+    @Autowired
+    TransicionTurnoRepository transicionTurnoRepository;
+
+    public List<OcupacionDia> ocupacion(String barberoId, LocalDate desde, LocalDate hasta) {
+        if (barberoId == null || barberoId.isBlank())
+            throw new ValidacionTurnoException("El barbero es obligatorio.");
+        if (desde == null || hasta == null || hasta.isBefore(desde))
+            throw new ValidacionTurnoException("El rango [desde, hasta] es obligatorio y no puede estar invertido.");
+        if (ChronoUnit.DAYS.between(desde, hasta) >= MAX_DIAS_OCUPACION)
+            throw new ValidacionTurnoException("El rango admite como máximo " + MAX_DIAS_OCUPACION + " días.");
+
+        return ocupacionDiaria.ocupacion(barberoId, desde, hasta);
+    }
+
+    public List<TasaNoShowBarbero> tasasNoShow(String barberoId) {
+        return barberoId != null ? List.of(tasaNoShow.tasa(barberoId)) : tasaNoShow.tasas();
+    }
+
+    /**
+     * Últimas transiciones de los turnos del cliente, de la más reciente a la más antigua.
+     */
+    public List<TransicionHistorial> historialCliente(String clienteId, Integer limite) {
+        int n = limite != null ? limite : LIMITE_POR_DEFECTO;
+        if (n < 1 || n > LIMITE_MAXIMO)
+            throw new ValidacionTurnoException("El límite debe estar entre 1 y " + LIMITE_MAXIMO + ".");
+
+        return transicionTurnoRepository.findByClienteIdOrderBySecuenciaDesc(clienteId, Limit.of(n)).stream()
+                .map(t -> new TransicionHistorial(
+                        t.getSecuencia(),
+                        t.getTurnoId().toString(),
+                        t.getTipo().name(),
+                        t.getEstado().name(),
+                        t.getBarberoId(),
+                        t.getFechaHora(),
+                        t.getRegistradaEn()))
+                .toList();
+    }
+}
@@ -0,0 +1,194 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CarrilesBarbero;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.dto.ResultadoTransicionMasiva;
+import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.espera.EntradaEspera;
+import co.edu.unicauca.microserviceturnos.journal.JournalTurnos;
+import co.edu.unicauca.microserviceturnos.mappers.TurnoMapper;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import co.edu.unicauca.microserviceturnos.scheduler.VencimientosNoShow;
+import co.edu.unicauca.microserviceturnos.states.AccionTurno;
+import co.edu.unicauca.microserviceturnos.states.EstadoTurno;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cambio de estado de todos los turnos de un barbero en un rango (p. ej. el barbero se
+ * reporta enfermo y se cancela su día).
+ *
+ * Corre en el carril del barbero y en una transacción: bloquea los turnos del rango que
+ * admiten la acción, los pasa de estado con un UPDATE por estado destino, sincroniza la
+ * agenda en memoria y, si la acción libera horarios, hace una sola pasada de reasignación
+ * desde la lista de espera. Las confirmaciones de los reasignados salen en un único evento
+ * del outbox. Confirmar sigue la regla de confirmarTurno: los turnos que empiezan dentro
+ * de las próximas {@link TurnoService#HORAS_ANTICIPACION_CONFIRMAR} horas quedan fuera.
+ */
+@Slf4j
+@Service
+public class TransicionMasivaService {
+
+    private static final int MAX_DIAS = 31;
+
+    // Acciones admitidas por nombre de endpoint (/turnos/{id}/<accion>)
+    private static final Map<String, AccionTurno> ACCIONES = Map.of(
+            "cancelar", AccionTurno.CANCELAR,
+            "confirmar", AccionTurno.CONFIRMAR,
+            "no_asistio", AccionTurno.MARCAR_NO_ASISTIO);
+
+    @Autowired
+    TurnoRepository turnoRepository;
+
+    @Autowired
+    TurnoMapper turnoMapper;
+
+    @Autowired
+    ListaEsperaService listaEsperaService;
+
+    @Autowired
+    OutboxService outboxService;
+
+    @Autowired
+    JournalTurnos journalTurnos;
+
+    @Autowired
+    AgendaBarberos agendaBarberos;
+
+    @Autowired
+    ReservasActivas reservasActivas;
+
+    @Autowired
+    VencimientosNoShow vencimientosNoShow;
+
+    @Autowired
+    CarrilesBarbero carriles;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    public ResultadoTransicionMasiva aplicar(String barberoId, String accion, LocalDateTime desde,
+                                             LocalDateTime hasta, boolean reasignar) {
+
+        if (barberoId == null || barberoId.isBlank())
+            throw new ValidacionTurnoException("El barbero es obligatorio.");
+
+        AccionTurno a = accion != null ? ACCIONES.get(accion.toLowerCase()) : null;
+        if (a == null)
+            throw new ValidacionTurnoException("Acción no admitida: " + accion
+                    + ". Use una de " + ACCIONES.keySet() + ".");
+
+        if (desde == null || hasta == null || !hasta.isAfter(desde))
+            throw new ValidacionTurnoException("El rango [desde, hasta) es obligatorio y no puede estar vacío.");
+        if (ChronoUnit.DAYS.between(desde, hasta) > MAX_DIAS)
+            throw new ValidacionTurnoException("El rango admite como máximo " + MAX_DIAS + " días.");
+
+        return carriles.ejecutar(
+                () -> transactionTemplate.execute(status -> procesar(barberoId, a, desde, hasta, reasignar)),
+                barberoId);
+    }
+
+    private ResultadoTransicionMasiva procesar(String barberoId, AccionTurno accion, LocalDateTime desde,
+                                               LocalDateTime hasta, boolean reasignar) {
+
+        List<Turno> afectados = new ArrayList<>();
+        EstadoTurnoEnum estadoFinal = null;
+
+        if (accion == AccionTurno.CONFIRMAR) {
+            LocalDateTime limite = LocalDateTime.now().plusHours(TurnoService.HORAS_ANTICIPACION_CONFIRMAR);
+            if (desde.isBefore(limite)) desde = limite;
+        }
+
+        // En la práctica cada acción lleva a un solo estado; se respeta la tabla igual
+        for (Map.Entry<EstadoTurnoEnum, Set<EstadoTurnoEnum>> grupo
+                : EstadoTurno.origenesPorDestino(accion).entrySet()) {
+            if (!hasta.isAfter(desde)) break;
+
+            EstadoTurnoEnum destino = grupo.getKey();
+            List<Turno> turnos = turnoRepository.findParaTransicion(barberoId, desde, hasta, grupo.getValue());
+            if (turnos.isEmpty()) continue;
+
+            turnoRepository.actualizarEstado(barberoId, desde, hasta, grupo.getValue(), destino);
+
+            for (Turno t : turnos) {
+                EstadoTurnoEnum anterior = t.getEstado();
+                t.setEstado(destino);
+                agendaBarberos.sincronizar(t);
+                reservasActivas.sincronizar(t);
+                vencimientosNoShow.sincronizar(t);
+                journalTurnos.registrar(t, anterior);
+            }
+            afectados.addAll(turnos);
+            estadoFinal = destino;
+        }
+        afectados.sort(Comparator.comparing(Turno::getFechaHora));
+
+        List<TurnoRequest> reasignados = reasignar && estadoFinal != null && !AgendaBarberos.ocupaAgenda(estadoFinal)
+                ? reasignarHuecos(afectados)
+                : List.of();
+        outboxService.registrarNotificaciones(reasignados);
+
+        log.info("Transición {} sobre {} turnos del barbero {} ({} reasignados)",
+                accion, afectados.size(), barberoId, reasignados.size());
+
+        return new ResultadoTransicionMasiva(
+                estadoFinal != null ? estadoFinal.name() : null,
+                afectados.size(),
+                reasignados.size(),
+                afectados.stream().map(t -> t.getId().toString()).toList());
+    }
+
+    /**
+     * Una pasada por los huecos liberados en orden de fecha. La agenda en memoria recién
+     * cambia al confirmar la transacción, así que cada hueco va hasta el siguiente turno
+     * que la agenda todavía tiene (aunque sea otro de los liberados) o hasta el fin del
+     * tramo de atención: ningún reasignado puede pisar al siguiente ni pasarse del horario.
+     * Los horarios que ya empezaron no se ofrecen.
+     */
+    private List<TurnoRequest> reasignarHuecos(List<Turno> liberados) {
+        List<TurnoRequest> reasignados = new ArrayList<>();
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (Turno t : liberados) {
+            if (!t.getFechaHora().isAfter(ahora)) continue;
+
+            Optional<EntradaEspera> candidato = listaEsperaService.reclamarParaHueco(
+                    t.getBarberoId(), t.getFechaHora(), t.getId());
+            if (candidato.isEmpty()) continue;
+
+            EntradaEspera espera = candidato.get();
+            Turno nuevo = new Turno(
+                    espera.getClienteId(),
+                    t.getBarberoId(),
+                    espera.getServicioId(),
+                    t.getFechaHora(),
+                    "Turno reasignado automáticamente por cancelación"
+            );
+            nuevo.setDuracionMinutos(listaEsperaService.duracion(espera));
+            nuevo.setFechaCreacion(ahora);
+
+            Turno saved = turnoRepository.save(nuevo);
+            agendaBarberos.sincronizar(saved);
+            reservasActivas.sincronizar(saved);
+            journalTurnos.registrarReasignado(saved);
+
+            reasignados.add(turnoMapper.entityToDto(saved));
+        }
+        return reasignados;
+    }
+}
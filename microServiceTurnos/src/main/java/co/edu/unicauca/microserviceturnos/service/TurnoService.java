@@ -3,6 +3,14 @@ package co.edu.unicauca.microserviceturnos.service;
 import java.util.Optional;
 
 import co.edu.unicauca.microserviceturnos.Excepciones.*;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CacheDisponibilidad;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.JornadaDia;
+import co.edu.unicauca.microserviceturnos.agenda.MascaraDia;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.dto.FiltroTurnos;
+import co.edu.unicauca.microserviceturnos.dto.PaginaTurnos;
 import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
 import co.edu.unicauca.microserviceturnos.dto.TurnoStateResponse;
 import co.edu.unicauca.microserviceturnos.dto.TurnoUpdate;
@@ -10,20 +18,31 @@ import co.edu.unicauca.microserviceturnos.entities.DisponibilidadBarbero;
 import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
 import co.edu.unicauca.microserviceturnos.entities.HorarioDisponible;
 import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.espera.EntradaEspera;
+import co.edu.unicauca.microserviceturnos.estadisticas.AporteDia;
+import co.edu.unicauca.microserviceturnos.journal.JournalTurnos;
 import co.edu.unicauca.microserviceturnos.mappers.TurnoMapper;
 import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import co.edu.unicauca.microserviceturnos.scheduler.VencimientosNoShow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.OptionalInt;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Value;
 import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
 import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
@@ -31,15 +50,35 @@ import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
 @Service
 public class TurnoService {
 
+    // Un turno solo se puede confirmar con al menos esta anticipación
+    public static final int HORAS_ANTICIPACION_CONFIRMAR = 2;
+
+    private static final int LIMITE_POR_DEFECTO = 100;
+    private static final int LIMITE_MAXIMO = 500;
+    private static final LocalDateTime INICIO_CURSOR = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String[] ETIQUETAS_HORA = new String[MascaraDia.MINUTOS_DIA];
+
+    static {
+        for (int m = 0; m < MascaraDia.MINUTOS_DIA; m++) {
+            ETIQUETAS_HORA[m] = String.format("%02d:%02d", m / 60, m % 60);
+        }
+    }
+
 
     @Autowired
     TurnoRepository turnoRepository;
 
+    @PersistenceContext
+    EntityManager entityManager;
+
     @Autowired
     TurnoMapper turnoMapper;
 
     @Autowired
-    NotificacionService notificacionService;
+    OutboxService outboxService;
+
+    @Autowired
+    JournalTurnos journalTurnos;
 
     @Autowired
     ListaEsperaRepository listaEsperaRepository;
@@ -47,6 +86,24 @@ public class TurnoService {
     @Autowired
     private ListaEsperaService listaEsperaService;
 
+    @Autowired
+    AgendaBarberos agendaBarberos;
+
+    @Autowired
+    VencimientosNoShow vencimientosNoShow;
+
+    @Autowired
+    ReservasActivas reservasActivas;
+
+    @Autowired
+    CacheDisponibilidad cacheDisponibilidad;
+
+    @Autowired
+    HorariosBarberos horariosBarberos;
+
+    @Autowired
+    CatalogoClient catalogoClient;
+
 
     @Value("${turnos.min-duration-minutes:45}")
     private int minDurationMinutes;
@@ -54,6 +111,9 @@ public class TurnoService {
     @Value("${turnos.buffer-minutes:5}")
     private int bufferMinutes;
 
+    @Value("${turnos.disponibilidad.paso-minutos:5}")
+    private int pasoDisponibilidadMinutos;
+
     @Transactional
     public TurnoRequest createTurno(TurnoRequest dto) {
 
@@ -76,14 +136,11 @@ public class TurnoService {
         // -------------------------------
         // VALIDACIÓN: CLIENTE YA TIENE TURNO FUTURO CON ESTE BARBERO
         // -------------------------------
-        boolean yaTieneTurno = turnoRepository.findByClienteId(dto.getClienteId())
-                .stream()
-                .anyMatch(t ->
-                        t.getBarberoId().equals(dto.getBarberoId()) &&
-                                t.getFechaHora().isAfter(LocalDateTime.now()) &&
-                                t.getEstado() != EstadoTurnoEnum.CANCELADO &&
-                                t.getEstado() != EstadoTurnoEnum.NO_ASISTIO
-                );
+        // Primero las reservas conocidas en memoria; si no la ve, una sola consulta por índice
+        LocalDateTime ahora = LocalDateTime.now();
+        boolean yaTieneTurno = reservasActivas.tieneReservaActiva(dto.getClienteId(), dto.getBarberoId(), ahora)
+                || turnoRepository.existsByClienteIdAndBarberoIdAndFechaHoraAfterAndEstadoNotIn(
+                        dto.getClienteId(), dto.getBarberoId(), ahora, AgendaBarberos.ESTADOS_LIBRES);
 
         if (yaTieneTurno) {
             throw new ValidacionTurnoException("Ya tienes un turno agendado con este barbero.");
@@ -97,13 +154,20 @@ public class TurnoService {
         }
 
         // -------------------------------
-        // DURACIÓN DEL TURNO
+        // SERVICIO Y DURACIÓN DEL TURNO
         // -------------------------------
+        String noReservable = catalogoClient.motivoNoReservable(dto.getServicioId());
+        if (noReservable != null) {
+            throw new ValidacionTurnoException(noReservable);
+        }
+
         dto.setFechaCreacion(LocalDateTime.now());
 
-        Integer duracion = (dto.getDuracionMinutos() != null)
-                ? dto.getDuracionMinutos()
-                : minDurationMinutes;
+        // Manda la duración del catálogo; la del cliente solo si el catálogo no la conoce
+        OptionalInt delCatalogo = catalogoClient.duracion(dto.getServicioId());
+        Integer duracion = delCatalogo.isPresent()
+                ? delCatalogo.getAsInt()
+                : (dto.getDuracionMinutos() != null) ? dto.getDuracionMinutos() : minDurationMinutes;
 
         if (duracion < minDurationMinutes) {
             throw new ValidacionTurnoException(
@@ -112,50 +176,38 @@ public class TurnoService {
             );
         }
 
+        // -------------------------------
+        // HORARIO DE ATENCIÓN DEL BARBERO
+        // -------------------------------
+        if (!horariosBarberos.atiende(dto.getBarberoId(), dto.getFechaHora(), duracion)) {
+            throw new ValidacionTurnoException("El barbero no atiende en ese horario.");
+        }
+
         // -------------------------------
         // DETECCIÓN DE SOLAPAMIENTO
         // -------------------------------
         LocalDateTime inicio = dto.getFechaHora();
         LocalDateTime fin = inicio.plusMinutes(duracion);
 
-        LocalDateTime ventanaInicio = inicio.minusMinutes(duracion + bufferMinutes);
-        LocalDateTime ventanaFin = fin.plusMinutes(bufferMinutes);
-
-        List<Turno> turnosSolapados = turnoRepository.findByBarberoIdAndFechaHoraBetween(
-                dto.getBarberoId(), ventanaInicio, ventanaFin);
-
-        for (Turno t : turnosSolapados) {
-
-            // Ignorar turnos cancelados o no asistidos
-            if (t.getEstado() == EstadoTurnoEnum.CANCELADO ||
-                    t.getEstado() == EstadoTurnoEnum.NO_ASISTIO) {
-                continue;
-            }
-
-            int durExist = (t.getDuracionMinutos() != null)
-                    ? t.getDuracionMinutos()
-                    : minDurationMinutes;
-
-            LocalDateTime inicioExist = t.getFechaHora().minusMinutes(bufferMinutes);
-            LocalDateTime finExist = t.getFechaHora().plusMinutes(durExist + bufferMinutes);
-
-            boolean overlap = inicio.isBefore(finExist) && fin.isAfter(inicioExist);
+        // Primero la agenda en memoria (O(log n)); si no ve choque, la BD decide
+        boolean solapado = agendaBarberos.haySolapamiento(dto.getBarberoId(), inicio, duracion, null)
+                || haySolapamientoEnBD(dto.getBarberoId(), inicio, fin, duracion, null);
 
-            if (overlap) {
+        if (solapado) {
 
-                ListaEspera le = new ListaEspera();
-                le.setClienteId(dto.getClienteId());
-                le.setBarberoId(dto.getBarberoId());
-                le.setServicioId(dto.getServicioId());
-                le.setFechaSolicitud(LocalDateTime.now());
-                le.setPrioridad(0);
+            ListaEspera le = new ListaEspera();
+            le.setClienteId(dto.getClienteId());
+            le.setBarberoId(dto.getBarberoId());
+            le.setServicioId(dto.getServicioId());
+            le.setFechaSolicitud(LocalDateTime.now());
+            le.setPrioridad(0);
+            le.setDuracionMinutos(duracion);
 
-                listaEsperaService.guardarEnLista(le);  // <-- ahora sí se guarda SIEMPRE
+            listaEsperaService.guardarEnLista(le);  // <-- ahora sí se guarda SIEMPRE
 
-                throw new TurnoSolapadoException(
-                        "Horario ocupado. Se te ha agregado automáticamente a la lista de espera."
-                );
-            }
+            throw new TurnoSolapadoException(
+                    "Horario ocupado. Se te ha agregado automáticamente a la lista de espera."
+            );
         }
 
         // -------------------------------
@@ -165,15 +217,15 @@ public class TurnoService {
         Turno turno = turnoMapper.dtoToEntity(dto);
 
         Turno saved = turnoRepository.save(turno);
+        agendaBarberos.sincronizar(saved);
+        reservasActivas.sincronizar(saved);
+        journalTurnos.registrarCreado(saved);
 
-        // Notificación asíncrona
-        try {
-            notificacionService.enviarNotificacionAsync(dto);
-        } catch (Exception e) {
-            System.out.println("Error enviando notificación: " + e.getMessage());
-        }
+        // La notificación sale por el outbox, en la misma transacción que el turno
+        TurnoRequest creado = turnoMapper.entityToDto(saved);
+        outboxService.registrarNotificacion(creado);
 
-        return turnoMapper.entityToDto(saved);
+        return creado;
     }
 
     @Transactional
@@ -197,25 +249,157 @@ public class TurnoService {
         Turno turno = turnoRepository.findById(id)
                 .orElseThrow(() -> new TurnoNotFoundException("No existe el turno con ID: " + id));
 
+        // Al cambiar de servicio el turno pasa a durar lo que dura el nuevo
+        Integer duracionServicio = turno.getDuracionMinutos();
+        if (!dto.getServicioId().equals(turno.getServicioId())) {
+            String noReservable = catalogoClient.motivoNoReservable(dto.getServicioId());
+            if (noReservable != null)
+                throw new ValidacionTurnoException(noReservable);
+
+            OptionalInt delCatalogo = catalogoClient.duracion(dto.getServicioId());
+            if (delCatalogo.isPresent())
+                duracionServicio = delCatalogo.getAsInt();
+        }
+
+        int duracion = duracionServicio != null ? duracionServicio : minDurationMinutes;
+        if (!horariosBarberos.atiende(dto.getBarberoId(), dto.getFechaHora(), duracion))
+            throw new ValidacionTurnoException("El barbero no atiende en ese horario.");
+
+        // Mismo control que createTurno sin contar el propio turno; el carril del barbero
+        // destino lo toma el controlador (ejecutarParaTurno)
+        LocalDateTime inicio = dto.getFechaHora();
+        if (agendaBarberos.haySolapamiento(dto.getBarberoId(), inicio, duracion, id)
+                || haySolapamientoEnBD(dto.getBarberoId(), inicio, inicio.plusMinutes(duracion), duracion, id))
+            throw new TurnoSolapadoException("Horario ocupado.");
+
+        AporteDia antes = AporteDia.de(turno);
+
         // Actualización de campos
         turno.setClienteId(dto.getClienteId());
         turno.setBarberoId(dto.getBarberoId());
         turno.setServicioId(dto.getServicioId());
+        turno.setDuracionMinutos(duracionServicio);
         turno.setFechaHora(dto.getFechaHora());
         turno.setNotas(dto.getNotas());
 
         Turno updated = turnoRepository.save(turno);
+        agendaBarberos.sincronizar(updated);
+        reservasActivas.sincronizar(updated);
+        vencimientosNoShow.sincronizar(updated);
+        journalTurnos.registrar(updated, antes);
 
         return turnoMapper.entityToDto(updated);
     }
 
-    public List<TurnoRequest> getAllTurnos() {
-        List<Turno> turnos = turnoRepository.findAll();
-        return turnos.stream()
-                .map(turnoMapper::entityToDto)
-                .collect(Collectors.toList());
+    private boolean haySolapamientoEnBD(String barberoId, LocalDateTime inicio, LocalDateTime fin, int duracion,
+                                        UUID excluir) {
+
+        LocalDateTime ventanaInicio = inicio.minusMinutes(duracion + bufferMinutes);
+        LocalDateTime ventanaFin = fin.plusMinutes(bufferMinutes);
+
+        List<Turno> turnosSolapados = turnoRepository.findByBarberoIdAndFechaHoraBetween(
+                barberoId, ventanaInicio, ventanaFin);
+
+        for (Turno t : turnosSolapados) {
+
+            // Ignorar turnos cancelados o no asistidos, y el que se está moviendo
+            if (t.getEstado() == EstadoTurnoEnum.CANCELADO ||
+                    t.getEstado() == EstadoTurnoEnum.NO_ASISTIO ||
+                    (excluir != null && excluir.equals(t.getId()))) {
+                continue;
+            }
+
+            int durExist = (t.getDuracionMinutos() != null)
+                    ? t.getDuracionMinutos()
+                    : minDurationMinutes;
+
+            LocalDateTime inicioExist = t.getFechaHora().minusMinutes(bufferMinutes);
+            LocalDateTime finExist = t.getFechaHora().plusMinutes(durExist + bufferMinutes);
+
+            if (inicio.isBefore(finExist) && fin.isAfter(inicioExist)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public PaginaTurnos buscarTurnos(FiltroTurnos filtro, String cursor, Integer limite) {
+
+        int tamanio = (limite != null) ? limite : LIMITE_POR_DEFECTO;
+        if (tamanio < 1 || tamanio > LIMITE_MAXIMO)
+            throw new ValidacionTurnoException("El límite debe estar entre 1 y " + LIMITE_MAXIMO + ".");
+
+        Turno desde = decodificarCursor(cursor);
+
+        // Se pide una fila de más para saber si hay otra página sin hacer un count
+        List<Turno> turnos = turnoRepository.buscarPagina(
+                parseEstado(filtro.getEstado()), filtro.getBarberoId(), filtro.getClienteId(),
+                filtro.getDesde(), filtro.getHasta(),
+                desde.getFechaHora(), desde.getId(), Limit.of(tamanio + 1));
+
+        String siguiente = null;
+        if (turnos.size() > tamanio) {
+            turnos = turnos.subList(0, tamanio);
+            siguiente = codificarCursor(turnos.get(tamanio - 1));
+        }
+
+        return new PaginaTurnos(
+                turnos.stream().map(turnoMapper::entityToDto).collect(Collectors.toList()),
+                siguiente);
+    }
+
+    /**
+     * Recorre los turnos del filtro con un cursor de base de datos y entrega cada uno
+     * al consumidor sin armar la lista completa.
+     */
+    @Transactional(readOnly = true)
+    public void exportarTurnos(FiltroTurnos filtro, String cursor, Consumer<TurnoRequest> consumidor) {
+
+        Turno desde = decodificarCursor(cursor);
+
+        try (Stream<Turno> turnos = turnoRepository.buscarStream(
+                parseEstado(filtro.getEstado()), filtro.getBarberoId(), filtro.getClienteId(),
+                filtro.getDesde(), filtro.getHasta(),
+                desde.getFechaHora(), desde.getId())) {
+
+            turnos.forEach(t -> {
+                consumidor.accept(turnoMapper.entityToDto(t));
+                entityManager.detach(t); // que el contexto de persistencia no crezca
+            });
+        }
+    }
+
+    private EstadoTurnoEnum parseEstado(String estado) {
+        if (estado == null || estado.isBlank()) return null;
+        try {
+            return EstadoTurnoEnum.valueOf(estado.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidacionTurnoException("Estado inválido: " + estado);
+        }
+    }
+
+    // El cursor es "fechaHora|id" en Base64 URL-safe; sin cursor se empieza desde el principio
+    private String codificarCursor(Turno ultimo) {
+        String valor = ultimo.getFechaHora() + "|" + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
     }
 
+    private Turno decodificarCursor(String cursor) {
+        Turno desde = new Turno();
+        if (cursor == null || cursor.isBlank()) {
+            desde.setFechaHora(INICIO_CURSOR);
+            desde.setId(new UUID(0L, 0L));
+            return desde;
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            desde.setFechaHora(LocalDateTime.parse(partes[0]));
+            desde.setId(UUID.fromString(partes[1]));
+            return desde;
+        } catch (Exception e) {
+            throw new ValidacionTurnoException("Cursor inválido.");
+        }
+    }
 
     public List<TurnoRequest> getTurnoByIdCliente(String clienteId) {
 
@@ -248,6 +432,7 @@ public class TurnoService {
     }
 
 
+    @Transactional
     public TurnoStateResponse confirmarTurno(UUID id) {
 
         Turno turno = turnoRepository.findById(id)
@@ -265,34 +450,43 @@ public class TurnoService {
         }
 
         // Validar límite de tiempo (2 horas antes)
-        if (turno.getFechaHora().minusHours(2).isBefore(LocalDateTime.now())) {
+        if (turno.getFechaHora().minusHours(HORAS_ANTICIPACION_CONFIRMAR).isBefore(LocalDateTime.now())) {
             throw new EstadoInvalidoException("Debes confirmar tu turno al menos 2 horas antes.");
         }
 
         // Cambiar estado
+        EstadoTurnoEnum anterior = turno.getEstado();
         turno.confirmar();
 
         turnoRepository.save(turno);
+        vencimientosNoShow.sincronizar(turno);
+        journalTurnos.registrar(turno, anterior);
 
         return turnoMapper.entityToTurnoStateResponse(turno);
     }
 
+    @Transactional
     public TurnoStateResponse iniciarTurno(UUID id) {
         Turno turno = turnoRepository.findById(id)
                 .orElseThrow(() -> new TurnoNotFoundException("No existe el turno con ID: " + id));
+        EstadoTurnoEnum anterior = turno.getEstado();
         try {
             turno.iniciar();
         } catch (Exception ex) {
             throw new EstadoInvalidoException("No es posible iniciar el turno: " + ex.getMessage());
         }
         turnoRepository.save(turno);
+        vencimientosNoShow.sincronizar(turno);
+        journalTurnos.registrar(turno, anterior);
         return turnoMapper.entityToTurnoStateResponse(turno);
     }
 
+    @Transactional
     public TurnoStateResponse finalizarTurno(UUID id) {
         Turno turno = turnoRepository.findById(id)
                 .orElseThrow(() -> new TurnoNotFoundException("No existe el turno con ID: " + id));
 
+        EstadoTurnoEnum anterior = turno.getEstado();
         try {
             turno.finalizar();
         } catch (Exception ex) {
@@ -300,6 +494,8 @@ public class TurnoService {
         }
 
         turnoRepository.save(turno);
+        vencimientosNoShow.sincronizar(turno);
+        journalTurnos.registrar(turno, anterior);
         return turnoMapper.entityToTurnoStateResponse(turno);
     }
 
@@ -311,6 +507,7 @@ public class TurnoService {
                 .orElseThrow(() -> new TurnoNotFoundException("No existe el turno con ID: " + id));
 
         // Validar transición de estado
+        EstadoTurnoEnum anterior = turno.getEstado();
         try {
             turno.cancelar();
         } catch (Exception ex) {
@@ -319,34 +516,40 @@ public class TurnoService {
 
         // Guardar el turno cancelado
         turnoRepository.save(turno);
+        agendaBarberos.sincronizar(turno);
+        reservasActivas.sincronizar(turno);
+        vencimientosNoShow.sincronizar(turno);
+        journalTurnos.registrar(turno, anterior);
 
         // ================================
         //  REASIGNACIÓN AUTOMÁTICA
         // ================================
 
-        Optional<ListaEspera> opt = listaEsperaRepository
-                .findFirstByBarberoIdOrderByFechaSolicitudAsc(turno.getBarberoId());
+        // El hueco va desde la hora del turno hasta el siguiente turno o el fin del tramo de atención
+        Optional<EntradaEspera> opt = listaEsperaService.reclamarParaHueco(
+                turno.getBarberoId(), turno.getFechaHora(), turno.getId());
 
         if (opt.isPresent()) {
 
-            ListaEspera clienteEspera = opt.get();
+            EntradaEspera clienteEspera = opt.get();
 
             // Crear el nuevo turno asignado al cliente de lista de espera
             Turno nuevoTurno = new Turno(
                     clienteEspera.getClienteId(),
-                    clienteEspera.getBarberoId(),
+                    turno.getBarberoId(), // puede venir de la cola de un barbero intercambiable
                     clienteEspera.getServicioId(),
                     turno.getFechaHora(), // ⬅ MISMO horario que dejó libre cliente cancelado
                     "Turno reasignado automáticamente por cancelación"
             );
 
-            nuevoTurno.setDuracionMinutos(
-                    turno.getDuracionMinutos() != null ? turno.getDuracionMinutos() : 45
-            );
+            nuevoTurno.setDuracionMinutos(listaEsperaService.duracion(clienteEspera));
             nuevoTurno.setFechaCreacion(LocalDateTime.now());
 
             // Guardar turno reasignado
             Turno saved = turnoRepository.save(nuevoTurno);
+            agendaBarberos.sincronizar(saved);
+            reservasActivas.sincronizar(saved);
+            journalTurnos.registrarReasignado(saved);
 
             // Notificar al cliente que ahora tiene el turno
             TurnoRequest tr = new TurnoRequest();
@@ -358,14 +561,7 @@ public class TurnoService {
             tr.setNotas(saved.getNotas());
             tr.setFechaCreacion(saved.getFechaCreacion());
 
-            try {
-                notificacionService.enviarNotificacionAsync(tr);
-            } catch (Exception e) {
-                System.out.println("⚠ No se pudo enviar notificación al cliente reasignado: " + e.getMessage());
-            }
-
-            // Eliminar de lista de espera
-            listaEsperaRepository.delete(clienteEspera);
+            outboxService.registrarNotificacion(tr);
 
             System.out.println("✔ Reasignado turno automáticamente a cliente en lista de espera.");
         }
@@ -375,10 +571,12 @@ public class TurnoService {
     }
 
 
+    @Transactional
     public TurnoStateResponse marcarNoAsistio(UUID id) {
         Turno turno = turnoRepository.findById(id)
                 .orElseThrow(() -> new TurnoNotFoundException("No existe el turno con ID: " + id));
 
+        EstadoTurnoEnum anterior = turno.getEstado();
         try {
             turno.noAsistio();
         } catch (Exception ex) {
@@ -386,11 +584,20 @@ public class TurnoService {
         }
 
         turnoRepository.save(turno);
+        agendaBarberos.sincronizar(turno);
+        reservasActivas.sincronizar(turno);
+        vencimientosNoShow.sincronizar(turno);
+        journalTurnos.registrar(turno, anterior);
         return turnoMapper.entityToTurnoStateResponse(turno);
     }
 
 
-    public DisponibilidadBarbero getDisponibilidadBarbero(String barberoId, String fechaInicioStr, Integer dias) {
+    /**
+     * Horas de inicio libres del barbero para un turno de {@code duracion} minutos o, si no
+     * se indica, de la duración del servicio en el catálogo (por defecto, la mínima).
+     */
+    public DisponibilidadBarbero getDisponibilidadBarbero(String barberoId, String fechaInicioStr, Integer dias,
+                                                          String servicioId, Integer duracion) {
         LocalDate fechaInicio;
         try {
             if (fechaInicioStr != null && !fechaInicioStr.isEmpty()) {
@@ -404,31 +611,32 @@ public class TurnoService {
 
         int numDias = (dias != null) ? dias : 7;
 
-        // Convertir fechas a LocalDateTime para la consulta
-        LocalDateTime fechaHoraInicio = fechaInicio.atStartOfDay();
-        LocalDateTime fechaHoraFin = fechaInicio.plusDays(numDias).atStartOfDay();
+        int duracionTurno = (duracion != null)
+                ? duracion
+                : catalogoClient.duracion(servicioId).orElse(minDurationMinutes);
+        if (duracionTurno < minDurationMinutes || duracionTurno > MascaraDia.MINUTOS_DIA) {
+            throw new ValidacionTurnoException("La duración debe estar entre " + minDurationMinutes
+                    + " y " + MascaraDia.MINUTOS_DIA + " minutos.");
+        }
 
-        // Consultar todos los turnos del barbero en el rango de fechas
-        List<Turno> turnosOcupados = turnoRepository.findByBarberoIdAndFechaHoraBetween(
-                barberoId,
-                fechaHoraInicio,
-                fechaHoraFin
-        );
+        return cacheDisponibilidad.obtener(barberoId, fechaInicio, numDias, duracionTurno,
+                () -> calcularDisponibilidad(barberoId, fechaInicio, numDias, duracionTurno));
+    }
 
+    private DisponibilidadBarbero calcularDisponibilidad(String barberoId, LocalDate fechaInicio, int numDias,
+                                                         int duracion) {
         List<HorarioDisponible> horarios = new ArrayList<>();
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        LocalDate hoy = LocalDate.now();
 
         for (int i = 0; i < numDias; i++) {
             LocalDate fecha = fechaInicio.plusDays(i);
 
-            // Filtrar turnos ocupados para esta fecha específica
-            List<LocalTime> horasOcupadas = turnosOcupados.stream()
-                    .filter(t -> t.getFechaHora().toLocalDate().equals(fecha))
-                    .map(t -> t.getFechaHora().toLocalTime())
-                    .collect(Collectors.toList());
-
-            // Generar todas las horas posibles del día
-            List<String> horasDisponibles = generarHorasDisponibles(horasOcupadas);
+            // Días pasados no tienen horas reservables (y quedan fuera de la agenda en memoria)
+            List<String> horasDisponibles = fecha.isBefore(hoy)
+                    ? new ArrayList<>()
+                    : generarHorasDisponibles(horariosBarberos.jornada(barberoId, fecha),
+                            agendaBarberos.ocupacion(barberoId, fecha), duracion);
 
             HorarioDisponible hd = new HorarioDisponible();
             hd.setFecha(fecha.format(dateFormatter));
@@ -443,34 +651,33 @@ public class TurnoService {
         return disponibilidad;
     }
 
-    private List<String> generarHorasDisponibles(List<LocalTime> horasOcupadas) {
-
-        LocalTime HORA_INICIO = LocalTime.of(9, 0);
-        LocalTime HORA_FIN = LocalTime.of(18, 0);
-        int DURACION_TURNO_MINUTOS = 60;
+    /**
+     * Ventana deslizante sobre las celdas de cada tramo de atención: lleva la racha de celdas
+     * libres seguidas y, cuando alcanza las que ocupa el turno, la celda donde empezó la
+     * ventana es una hora de inicio válida (la ocupación ya trae duración real + buffer, y
+     * lo que queda fuera del horario se marca como ocupado). Se ofrecen los inicios cada
+     * {@code turnos.disponibilidad.paso-minutos} contados desde el inicio del tramo.
+     */
+    private List<String> generarHorasDisponibles(JornadaDia jornada, long[] ocupacion, int duracion) {
 
         List<String> horasDisponibles = new ArrayList<>();
-        LocalTime horaActual = HORA_INICIO;
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-        while (horaActual.isBefore(HORA_FIN)) {
-            // Si la hora no está ocupada, agregarla a disponibles
-            final LocalTime horaComparar = horaActual;
-            boolean estaOcupada = horasOcupadas.stream()
-                    .anyMatch(horaOcupada ->
-                            horaOcupada.getHour() == horaComparar.getHour() &&
-                                    horaOcupada.getMinute() == horaComparar.getMinute()
-                    );
-
-            if (!estaOcupada) {
-                horasDisponibles.add(horaActual.format(timeFormatter));
-            }
+        jornada.bloquear(ocupacion);
+        int ventana = MascaraDia.celdaFin(duracion);
+
+        for (int t = 0; t < jornada.tramos(); t++) {
+            int inicioTramo = jornada.inicio(t);
+            int libres = 0;
 
-            horaActual = horaActual.plusMinutes(DURACION_TURNO_MINUTOS);
+            for (int celda = MascaraDia.celdaInicio(inicioTramo); celda < MascaraDia.celdaFin(jornada.fin(t)); celda++) {
+                libres = MascaraDia.ocupada(ocupacion, celda) ? 0 : libres + 1;
+                if (libres < ventana) continue;
+
+                int minuto = (celda - ventana + 1) * MascaraDia.MINUTOS_CELDA;
+                if ((minuto - inicioTramo) % pasoDisponibilidadMinutos == 0) {
+                    horasDisponibles.add(ETIQUETAS_HORA[minuto]);
+                }
+            }
         }
         return horasDisponibles;
     }
 }
-
-
-
@@ -0,0 +1,263 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ServicioNoDisponibleException;
+import co.edu.unicauca.microserviceturnos.dto.BarberoResponse;
+import co.edu.unicauca.microserviceturnos.dto.ListaBarberosResponse;
+import co.edu.unicauca.microserviceturnos.dto.UsuarioActualizadoEvent;
+import co.edu.unicauca.microserviceturnos.dto.UsuarioResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Llamadas al microservicio de usuarios (vía gateway).
+ *
+ * Los perfiles ({@link UsuarioResponse}) se guardan en una caché local acotada con TTL
+ * ({@code turnos.usuarios.cache.*}) que se refresca con los eventos que Usuarios difunde
+ * al actualizar un usuario. Varias consultas simultáneas del mismo id comparten una sola
+ * consulta, y las de ids distintos se juntan en lotes de GET /usuarios/batch
+ * ({@link ConsultaUsuariosEnLote}).
+ */
+@Slf4j
+@Service
+public class UsuariosClient {
+
+    @Value("${usuarios.service.url}")
+    private String usuariosServiceUrl;
+
+    @Value("${turnos.busqueda.barberos-ttl-segundos:60}")
+    private long barberosTtlSegundos;
+
+    @Value("${turnos.usuarios.cache.ttl-segundos:600}")
+    private long usuariosTtlSegundos;
+
+    @Value("${turnos.usuarios.cache.max-entradas:10000}")
+    private int usuariosMaxEntradas;
+
+    @Value("${turnos.usuarios.lote.espera-ms:5}")
+    private long loteEsperaMs;
+
+    @Value("${turnos.usuarios.lote.max-ids:200}")
+    private int loteMaxIds;
+
+    @Value("${turnos.usuarios.lote.hilos:2}")
+    private int loteHilos;
+
+    @Autowired
+    private WebClient webClient;
+
+    private ConsultaUsuariosEnLote lotes;
+
+    private volatile List<String> barberosActivos;
+    private volatile long barberosLeidosEn;
+
+    // Acceso bajo synchronized (perfiles): orden de acceso para descartar el menos usado
+    private final Map<String, Perfil> perfiles = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Perfil> mayor) {
+            return size() > usuariosMaxEntradas;
+        }
+    };
+    private final Map<String, CompletableFuture<UsuarioResponse>> enCurso = new LinkedHashMap<>();
+
+    @PostConstruct
+    void iniciar() {
+        lotes = new ConsultaUsuariosEnLote(this::consultarUsuarios, loteEsperaMs, loteMaxIds, loteHilos);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        lotes.cerrar();
+    }
+
+    /**
+     * Perfil del usuario, o null si no existe. Usa la caché mientras la entrada no venza.
+     */
+    public UsuarioResponse obtenerUsuario(String usuarioId) {
+        try {
+            return obtenerUsuarioAsync(usuarioId).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : e;
+        }
+    }
+
+    /**
+     * Perfiles de varios usuarios (los que no existen quedan fuera). Los que no están en
+     * caché se piden juntos, así salen en un mismo lote.
+     */
+    public Map<String, UsuarioResponse> obtenerUsuarios(Collection<String> usuarioIds) {
+        Map<String, CompletableFuture<UsuarioResponse>> consultas = new LinkedHashMap<>();
+        for (String id : usuarioIds) {
+            consultas.computeIfAbsent(id, this::obtenerUsuarioAsync);
+        }
+
+        Map<String, UsuarioResponse> resultado = new LinkedHashMap<>();
+        consultas.forEach((id, consulta) -> {
+            try {
+                UsuarioResponse usuario = consulta.join();
+                if (usuario != null) resultado.put(id, usuario);
+            } catch (CompletionException e) {
+                log.error("Error obteniendo usuario {}: {}", id, e.getCause().getMessage());
+            }
+        });
+        return resultado;
+    }
+
+    private CompletableFuture<UsuarioResponse> obtenerUsuarioAsync(String usuarioId) {
+        CompletableFuture<UsuarioResponse> consulta;
+
+        synchronized (perfiles) {
+            Perfil p = perfiles.get(usuarioId);
+            if (p != null && System.currentTimeMillis() < p.venceEn()) {
+                return CompletableFuture.completedFuture(p.usuario());
+            }
+
+            CompletableFuture<UsuarioResponse> existente = enCurso.get(usuarioId);
+            if (existente != null) return existente;
+
+            consulta = new CompletableFuture<>();
+            enCurso.put(usuarioId, consulta);
+        }
+
+        lotes.solicitar(usuarioId).whenComplete((usuario, error) -> {
+            synchronized (perfiles) {
+                // Si llegó un evento mientras tanto, la consulta quedó vieja y no se guarda
+                if (enCurso.remove(usuarioId, consulta) && error == null && usuario != null) {
+                    perfiles.put(usuarioId, new Perfil(usuario, vencimiento()));
+                }
+            }
+            if (error != null) consulta.completeExceptionally(error);
+            else consulta.complete(usuario);
+        });
+        return consulta;
+    }
+
+    /**
+     * Actualización difundida por Usuarios: refresca el perfil si está en caché y, si es
+     * un barbero, obliga a releer la lista de barberos activos.
+     */
+    @RabbitListener(queues = "#{usuariosActualizadosQueue.name}")
+    public void alActualizarUsuario(UsuarioActualizadoEvent evento) {
+        if (evento.getId() == null) return;
+
+        synchronized (perfiles) {
+            enCurso.remove(evento.getId());
+            if (perfiles.containsKey(evento.getId())) {
+                UsuarioResponse usuario = new UsuarioResponse();
+                usuario.setId(evento.getId());
+                usuario.setNombre(evento.getNombre());
+                usuario.setTelefono(evento.getTelefono());
+                perfiles.put(evento.getId(), new Perfil(usuario, vencimiento()));
+            }
+        }
+
+        // Se vence la lista pero se conserva: si usuarios no responde al releer, sigue sirviendo
+        if ("barbero".equals(evento.getRol())) {
+            barberosLeidosEn = 0;
+        }
+    }
+
+    /**
+     * Ids de los barberos activos. La lista se reutiliza durante
+     * {@code turnos.busqueda.barberos-ttl-segundos}; si usuarios no responde se sigue
+     * usando la última conocida.
+     */
+    public List<String> barberosActivos() {
+        List<String> actuales = barberosActivos;
+        if (actuales != null && System.currentTimeMillis() - barberosLeidosEn < barberosTtlSegundos * 1000) {
+            return actuales;
+        }
+
+        try {
+            ListaBarberosResponse respuesta = webClient
+                    .get()
+                    .uri(usuariosServiceUrl + "/barberos")
+                    .header("X-Internal-Call", "true")
+                    .header("X-Service-Name", "TurnosMicroService")
+                    .retrieve()
+                    .bodyToMono(ListaBarberosResponse.class)
+                    .timeout(Duration.ofSeconds(10))
+                    .block();
+
+            List<String> leidos = respuesta == null || respuesta.getData() == null
+                    ? List.of()
+                    : respuesta.getData().stream()
+                            .filter(BarberoResponse::isEstado)
+                            .map(BarberoResponse::getId)
+                            .filter(Objects::nonNull)
+                            .toList();
+
+            barberosActivos = leidos;
+            barberosLeidosEn = System.currentTimeMillis();
+            return leidos;
+
+        } catch (Exception e) {
+            if (actuales != null) {
+                log.warn("No se pudo refrescar la lista de barberos, se usa la anterior: {}", e.getMessage());
+                return actuales;
+            }
+            log.error("Error obteniendo barberos: {}", e.getMessage());
+            throw new ServicioNoDisponibleException("No se pudo obtener la lista de barberos.");
+        }
+    }
+
+    public int perfilesEnCache() {
+        synchronized (perfiles) {
+            return perfiles.size();
+        }
+    }
+
+    private Map<String, UsuarioResponse> consultarUsuarios(List<String> usuarioIds) {
+        String url = usuariosServiceUrl + "/batch?ids=" + String.join(",", usuarioIds);
+
+        try {
+            log.debug("Llamando via gateway: {}", url);
+
+            List<UsuarioResponse> usuarios = webClient
+                    .get()
+                    .uri(url)
+                    .header("X-Internal-Call", "true")
+                    .header("X-Service-Name", "TurnosMicroService")
+                    .retrieve()
+                    .bodyToFlux(UsuarioResponse.class)
+                    .collectList()
+                    .timeout(Duration.ofSeconds(10))
+                    .block();
+
+            Map<String, UsuarioResponse> porId = new HashMap<>();
+            if (usuarios != null) usuarios.forEach(u -> porId.put(u.getId(), u));
+            return porId;
+
+        } catch (WebClientResponseException e) {
+            log.error("Error HTTP {}: {}",
+                    e.getStatusCode(), e.getResponseBodyAsString());
+            throw new RuntimeException("Error al obtener usuarios", e);
+
+        } catch (Exception e) {
+            log.error("Error: {}", e.getMessage(), e);
+            throw new RuntimeException("Error al obtener usuarios", e);
+        }
+    }
+
+    private long vencimiento() {
+        return System.currentTimeMillis() + usuariosTtlSegundos * 1000;
+    }
+
+    private record Perfil(UsuarioResponse usuario, long venceEn) {}
+}
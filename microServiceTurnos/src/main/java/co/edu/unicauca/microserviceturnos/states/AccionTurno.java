@@ -0,0 +1,12 @@
+package co.edu.unicauca.microserviceturnos.states;
+
+/**
+ * Acciones que mueven un turno de estado.
+ */
+public enum AccionTurno {
+    CONFIRMAR,
+    INICIAR,
+    FINALIZAR,
+    CANCELAR,
+    MARCAR_NO_ASISTIO
+}
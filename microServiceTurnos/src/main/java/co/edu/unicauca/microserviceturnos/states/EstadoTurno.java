@@ -1,19 +1,139 @@
 package co.edu.unicauca.microserviceturnos.states;
 
-import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.Excepciones.AccionInvalidaTurnoException;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
-public abstract class EstadoTurno {
+import static co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum.*;
+import static co.edu.unicauca.microserviceturnos.states.AccionTurno.*;
 
-    protected Turno turno;
+/**
+ * Máquina de estados del turno como tabla fija (estado, acción) → estado siguiente.
+ *
+ * Hay una sola instancia por estado y no guarda nada del turno: {@link #aplicar} solo
+ * devuelve el estado al que se pasa, o lanza {@link AccionInvalidaTurnoException} con el
+ * mensaje de la celda. La tabla se arma una vez al cargar la clase y no cambia.
+ */
+public final class EstadoTurno {
 
-    public EstadoTurno(Turno turno) {
-        this.turno = turno;
+    private static final int ACCIONES = AccionTurno.values().length;
+    private static final EstadoTurno[] POR_ESTADO = new EstadoTurno[EstadoTurnoEnum.values().length];
+
+    static {
+        estado(PENDIENTE)
+                .pasa(CONFIRMAR, CONFIRMADO)
+                .pasa(INICIAR, EN_PROCESO)
+                .rechaza(FINALIZAR, "No se puede finalizar un turno pendiente.")
+                .pasa(CANCELAR, CANCELADO)
+                .rechaza(MARCAR_NO_ASISTIO, "No se puede marcar como no asistió un turno pendiente.");
+
+        estado(CONFIRMADO)
+                .rechaza(CONFIRMAR, "El turno ya está confirmado.")
+                .pasa(INICIAR, EN_PROCESO)
+                .rechaza(FINALIZAR, "No se puede finalizar un turno que aún no ha iniciado.")
+                .pasa(CANCELAR, CANCELADO)
+                .pasa(MARCAR_NO_ASISTIO, NO_ASISTIO);
+
+        estado(EN_PROCESO)
+                .rechaza(CONFIRMAR, "No se puede confirmar un turno que ya está en proceso.")
+                .rechaza(INICIAR, "No se puede iniciar un turno que ya está en proceso.")
+                .pasa(FINALIZAR, FINALIZADO)
+                .rechaza(CANCELAR, "No se puede cancelar un turno que ya está en proceso.")
+                .rechaza(MARCAR_NO_ASISTIO, "No se puede marcar como no asistió un turno que está en proceso.");
+
+        estado(FINALIZADO)
+                .rechaza(CONFIRMAR, "No se puede confirmar un turno que ya finalizó.")
+                .rechaza(INICIAR, "No se puede iniciar un turno que ya finalizó.")
+                .rechaza(FINALIZAR, "El turno ya se encuentra finalizado.")
+                .rechaza(CANCELAR, "No se puede cancelar un turno finalizado.")
+                .rechaza(MARCAR_NO_ASISTIO, "No se puede marcar como no asistió un turno finalizado.");
+
+        estado(CANCELADO)
+                .rechaza(CONFIRMAR, "No se puede confirmar un turno cancelado.")
+                .rechaza(INICIAR, "No se puede iniciar un turno cancelado.")
+                .rechaza(FINALIZAR, "No se puede finalizar un turno cancelado.")
+                .rechaza(CANCELAR, "El turno ya está cancelado.")
+                .rechaza(MARCAR_NO_ASISTIO, "No aplica.");
+
+        estado(NO_ASISTIO)
+                .rechaza(CONFIRMAR, "No se puede confirmar un turno marcado como no asistió.")
+                .rechaza(INICIAR, "No se puede iniciar un turno marcado como no asistió.")
+                .rechaza(FINALIZAR, "No se puede finalizar un turno marcado como no asistió.")
+                .rechaza(CANCELAR, "No se puede cancelar un turno marcado como no asistió.")
+                .rechaza(MARCAR_NO_ASISTIO, "El turno ya está marcado como no asistió.");
+
+        for (EstadoTurnoEnum e : EstadoTurnoEnum.values()) {
+            POR_ESTADO[e.ordinal()].validarCompleto();
+        }
+    }
+
+    private final EstadoTurnoEnum estado;
+    private final EstadoTurnoEnum[] destinos = new EstadoTurnoEnum[ACCIONES];
+    private final String[] rechazos = new String[ACCIONES];
+
+    private EstadoTurno(EstadoTurnoEnum estado) {
+        this.estado = estado;
+    }
+
+    public static EstadoTurno de(EstadoTurnoEnum estado) {
+        return POR_ESTADO[estado.ordinal()];
+    }
+
+    /**
+     * Estado al que lleva la acción desde este estado.
+     */
+    public EstadoTurnoEnum aplicar(AccionTurno accion) {
+        EstadoTurnoEnum destino = destinos[accion.ordinal()];
+        if (destino == null) throw new AccionInvalidaTurnoException(rechazos[accion.ordinal()]);
+        return destino;
     }
 
-    public abstract void confirmar();
-    public abstract void iniciar();
-    public abstract void finalizar();
-    public abstract void cancelar();
-    public abstract void marcarNoAsistio();
+    /**
+     * Estados desde los que la acción es válida, agrupados por el estado al que llevan.
+     */
+    public static Map<EstadoTurnoEnum, Set<EstadoTurnoEnum>> origenesPorDestino(AccionTurno accion) {
+        Map<EstadoTurnoEnum, Set<EstadoTurnoEnum>> resultado = new EnumMap<>(EstadoTurnoEnum.class);
+        for (EstadoTurno e : POR_ESTADO) {
+            EstadoTurnoEnum destino = e.destinos[accion.ordinal()];
+            if (destino != null) {
+                resultado.computeIfAbsent(destino, k -> EnumSet.noneOf(EstadoTurnoEnum.class)).add(e.estado);
+            }
+        }
+        return resultado;
+    }
+
+    public boolean permite(AccionTurno accion) {
+        return destinos[accion.ordinal()] != null;
+    }
+
+    public EstadoTurnoEnum getEstado() {
+        return estado;
+    }
+
+    private static EstadoTurno estado(EstadoTurnoEnum estado) {
+        EstadoTurno e = new EstadoTurno(estado);
+        POR_ESTADO[estado.ordinal()] = e;
+        return e;
+    }
+
+    private EstadoTurno pasa(AccionTurno accion, EstadoTurnoEnum destino) {
+        destinos[accion.ordinal()] = destino;
+        return this;
+    }
+
+    private EstadoTurno rechaza(AccionTurno accion, String mensaje) {
+        rechazos[accion.ordinal()] = mensaje;
+        return this;
+    }
+
+    private void validarCompleto() {
+        for (AccionTurno a : AccionTurno.values()) {
+            if (destinos[a.ordinal()] == null && rechazos[a.ordinal()] == null)
+                throw new IllegalStateException("Falta la transición " + estado + " / " + a);
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package co.edu.unicauca.microserviceturnos.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransaccionUtils {
+
+    private TransaccionUtils() {}
+
+    /**
+     * Ejecuta la acción cuando la transacción actual se confirme,
+     * o de inmediato si no hay transacción activa.
+     */
+    public static void trasCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
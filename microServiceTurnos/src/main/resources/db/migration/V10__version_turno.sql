@@ -0,0 +1,3 @@
+-- Bloqueo optimista de turno: con varias instancias, dos escrituras del mismo turno
+-- (p. ej. dos vencimientos de no-show) ya no se pisan; la segunda falla al confirmar.
+ALTER TABLE turno ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
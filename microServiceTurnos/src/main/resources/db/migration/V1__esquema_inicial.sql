@@ -0,0 +1,25 @@
+-- Esquema tal como lo dejaba ddl-auto: update. En bases existentes se toma como
+-- línea base (baseline-on-migrate) y no se vuelve a ejecutar.
+
+CREATE TABLE IF NOT EXISTS turno (
+    id               BINARY(16)   NOT NULL,
+    cliente_id       VARCHAR(255),
+    barbero_id       VARCHAR(255),
+    servicio_id      VARCHAR(255),
+    fecha_hora       DATETIME(6),
+    fecha_creacion   DATETIME(6),
+    duracion_minutos INTEGER,
+    estado           VARCHAR(20),
+    notas            VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS lista_espera (
+    id              BINARY(16)   NOT NULL,
+    cliente_id      VARCHAR(255),
+    barbero_id      VARCHAR(255),
+    servicio_id     VARCHAR(255),
+    fecha_solicitud DATETIME(6),
+    prioridad       INTEGER,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,10 @@
+-- Índices para las consultas que corren en cada reserva o cancelación
+
+-- findByBarberoIdAndFechaHoraBetween (carga de la agenda, verificación de solapamiento)
+CREATE INDEX idx_turno_barbero_fecha ON turno (barbero_id, fecha_hora);
+
+-- findByClienteId y búsquedas de turnos activos de un cliente
+CREATE INDEX idx_turno_cliente_estado_fecha ON turno (cliente_id, estado, fecha_hora);
+
+-- Siguiente en lista de espera de un barbero
+CREATE INDEX idx_espera_barbero_prioridad_fecha ON lista_espera (barbero_id, prioridad, fecha_solicitud);
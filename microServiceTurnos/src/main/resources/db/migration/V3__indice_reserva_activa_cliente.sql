@@ -0,0 +1,2 @@
+-- existsByClienteIdAndBarberoIdAndFechaHoraAfterAndEstadoNotIn (createTurno)
+CREATE INDEX idx_turno_cliente_barbero_fecha ON turno (cliente_id, barbero_id, fecha_hora);
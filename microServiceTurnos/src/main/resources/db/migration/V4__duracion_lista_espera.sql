@@ -0,0 +1,2 @@
+-- Duración del servicio pedido por quien espera, para reasignar solo huecos donde quepa
+ALTER TABLE lista_espera ADD COLUMN duracion_minutos INTEGER;
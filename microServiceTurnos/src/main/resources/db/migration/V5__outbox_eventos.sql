@@ -0,0 +1,9 @@
+-- Outbox: eventos escritos en la misma transacción que el turno y publicados después por el relay
+CREATE TABLE IF NOT EXISTS evento_saliente (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    tipo           VARCHAR(50)  NOT NULL,
+    destino        VARCHAR(255) NOT NULL,
+    payload        TEXT         NOT NULL,
+    fecha_creacion DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,27 @@
+-- Bitácora de transiciones de turnos: solo se inserta, la secuencia da el orden de lectura
+CREATE TABLE IF NOT EXISTS transicion_turno (
+    secuencia        BIGINT       NOT NULL AUTO_INCREMENT,
+    turno_id         BINARY(16)   NOT NULL,
+    tipo             VARCHAR(20)  NOT NULL,
+    estado_anterior  VARCHAR(20),
+    estado           VARCHAR(20)  NOT NULL,
+    cliente_id       VARCHAR(255),
+    barbero_id       VARCHAR(255),
+    fecha_hora       DATETIME(6),
+    duracion_minutos INTEGER,
+    registrada_en    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (secuencia)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_transicion_cliente_secuencia ON transicion_turno (cliente_id, secuencia);
+
+-- Los turnos que ya existían entran a la bitácora con su estado actual
+INSERT INTO transicion_turno (turno_id, tipo, estado_anterior, estado, cliente_id, barbero_id,
+                              fecha_hora, duracion_minutos, registrada_en)
+SELECT id,
+       CASE estado WHEN 'PENDIENTE' THEN 'CREADO' WHEN 'EN_PROCESO' THEN 'INICIADO' ELSE estado END,
+       NULL, estado, cliente_id, barbero_id, fecha_hora, duracion_minutos,
+       COALESCE(fecha_creacion, NOW(6))
+FROM turno
+WHERE estado IS NOT NULL
+ORDER BY fecha_creacion, id;
@@ -0,0 +1,32 @@
+-- Resumen por barbero y día: cuántos turnos hay en cada estado y los minutos que ocupan la agenda.
+-- Lo mantienen las transiciones de turnos en su misma transacción.
+CREATE TABLE IF NOT EXISTS estadistica_diaria (
+    barbero_id         VARCHAR(255) NOT NULL,
+    fecha              DATE         NOT NULL,
+    pendientes         INTEGER      NOT NULL DEFAULT 0,
+    confirmados        INTEGER      NOT NULL DEFAULT 0,
+    en_proceso         INTEGER      NOT NULL DEFAULT 0,
+    finalizados        INTEGER      NOT NULL DEFAULT 0,
+    cancelados         INTEGER      NOT NULL DEFAULT 0,
+    no_asistio         INTEGER      NOT NULL DEFAULT 0,
+    minutos_reservados INTEGER      NOT NULL DEFAULT 0,
+    PRIMARY KEY (barbero_id, fecha)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_estadistica_fecha ON estadistica_diaria (fecha);
+
+-- Se parte de los turnos que ya existían
+INSERT INTO estadistica_diaria (barbero_id, fecha, pendientes, confirmados, en_proceso, finalizados,
+                                cancelados, no_asistio, minutos_reservados)
+SELECT barbero_id,
+       CAST(fecha_hora AS DATE),
+       SUM(CASE WHEN estado = 'PENDIENTE' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN estado = 'CONFIRMADO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN estado = 'EN_PROCESO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN estado = 'FINALIZADO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN estado = 'CANCELADO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN estado = 'NO_ASISTIO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN estado IN ('CANCELADO', 'NO_ASISTIO') THEN 0 ELSE COALESCE(duracion_minutos, 45) END)
+FROM turno
+WHERE barbero_id IS NOT NULL AND fecha_hora IS NOT NULL AND estado IS NOT NULL
+GROUP BY barbero_id, CAST(fecha_hora AS DATE);
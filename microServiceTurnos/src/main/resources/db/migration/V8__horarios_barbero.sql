@@ -0,0 +1,26 @@
+-- Horario semanal de cada barbero: uno o más tramos por día (los descansos quedan entre tramos).
+-- Un barbero sin filas atiende en el horario por defecto.
+CREATE TABLE IF NOT EXISTS horario_semanal (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    barbero_id  VARCHAR(255) NOT NULL,
+    dia_semana  VARCHAR(10)  NOT NULL,
+    hora_inicio TIME         NOT NULL,
+    hora_fin    TIME         NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_horario_semanal_barbero ON horario_semanal (barbero_id);
+
+-- Cambios para una fecha (festivos, permisos): reemplazan el horario semanal de ese día.
+-- Una fila sin horas deja el día cerrado.
+CREATE TABLE IF NOT EXISTS excepcion_horario (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    barbero_id  VARCHAR(255) NOT NULL,
+    fecha       DATE         NOT NULL,
+    hora_inicio TIME,
+    hora_fin    TIME,
+    motivo      VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_excepcion_horario_barbero_fecha ON excepcion_horario (barbero_id, fecha);
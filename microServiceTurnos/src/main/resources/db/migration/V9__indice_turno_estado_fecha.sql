@@ -0,0 +1,3 @@
+-- findPaginaPorEstadoAntesDe (paginación por cursor del scheduler de turnos vencidos).
+-- Estaba en V1, que las bases existentes toman como línea base y no ejecutan.
+CREATE INDEX idx_turno_estado_fecha ON turno (estado, fecha_hora);
@@ -0,0 +1,94 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgendaBarberosTest {
+
+    @Mock
+    TurnoRepository turnoRepository;
+
+    AgendaBarberos agenda;
+
+    LocalDateTime diez = LocalDate.now().plusDays(1).atTime(10, 0);
+
+    @BeforeEach
+    void setup() {
+        agenda = new AgendaBarberos(turnoRepository, 45, 5, 365);
+        lenient().when(turnoRepository.findByBarberoIdAndFechaHoraBetween(anyString(), any(), any()))
+                .thenReturn(List.of());
+    }
+
+    private Turno turno(String barberoId, LocalDateTime fechaHora, int duracion) {
+        Turno t = new Turno("cliente", barberoId, "s1", fechaHora, "");
+        t.setId(UUID.randomUUID());
+        t.setDuracionMinutos(duracion);
+        return t;
+    }
+
+    @Test
+    void haySolapamiento_respetaDuracionYBuffer() {
+        agenda.sincronizar(turno("b1", diez, 45));
+
+        // 10:00-10:45 ocupa 09:55-10:50 con el buffer
+        assertTrue(agenda.haySolapamiento("b1", diez.plusMinutes(30), 45, null));
+        assertTrue(agenda.haySolapamiento("b1", diez.plusMinutes(45), 45, null));
+        assertTrue(agenda.haySolapamiento("b1", diez.minusMinutes(45), 45, null));
+        assertFalse(agenda.haySolapamiento("b1", diez.plusMinutes(50), 45, null));
+        assertFalse(agenda.haySolapamiento("b1", diez.minusMinutes(50), 45, null));
+        assertFalse(agenda.haySolapamiento("b2", diez, 45, null));
+    }
+
+    @Test
+    void sincronizar_turnoCancelado_liberaHorario() {
+        Turno t = turno("b1", diez, 45);
+        agenda.sincronizar(t);
+
+        t.setEstado(EstadoTurnoEnum.CANCELADO);
+        agenda.sincronizar(t);
+
+        assertFalse(agenda.haySolapamiento("b1", diez, 45, null));
+    }
+
+    @Test
+    void sincronizar_cambioDeBarbero_mueveElIntervalo() {
+        Turno t = turno("b1", diez, 60);
+        agenda.sincronizar(t);
+
+        t.setBarberoId("b2");
+        agenda.sincronizar(t);
+
+        assertFalse(agenda.haySolapamiento("b1", diez, 45, null));
+        assertTrue(agenda.haySolapamiento("b2", diez, 45, null));
+        assertFalse(agenda.haySolapamiento("b2", diez, 45, t.getId()));
+    }
+
+    @Test
+    void haySolapamiento_cargaElBarberoUnaSolaVezDesdeBD() {
+        Turno existente = turno("b1", diez, 45);
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq("b1"), any(), any()))
+                .thenReturn(List.of(existente));
+
+        assertTrue(agenda.haySolapamiento("b1", diez, 45, null));
+        assertFalse(agenda.haySolapamiento("b1", diez.plusHours(2), 45, null));
+
+        verify(turnoRepository, times(1)).findByBarberoIdAndFechaHoraBetween(eq("b1"), any(), any());
+    }
+}
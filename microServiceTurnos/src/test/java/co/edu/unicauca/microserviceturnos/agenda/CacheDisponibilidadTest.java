@@ -0,0 +1,92 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.DisponibilidadBarbero;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheDisponibilidadTest {
+
+    SimpleMeterRegistry registry;
+    CacheDisponibilidad cache;
+    AtomicInteger calculos;
+
+    LocalDate manana = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        cache = new CacheDisponibilidad(2, registry);
+        calculos = new AtomicInteger();
+    }
+
+    private DisponibilidadBarbero obtener(String barberoId, int dias) {
+        return cache.obtener(barberoId, manana, dias, 45, () -> {
+            calculos.incrementAndGet();
+            DisponibilidadBarbero d = new DisponibilidadBarbero();
+            d.setBarberoId(barberoId);
+            return d;
+        });
+    }
+
+    private CambioAgenda cambio(String barberoId) {
+        UUID id = UUID.randomUUID();
+        return new CambioAgenda(id, null, new IntervaloTurno(id, barberoId, "c1", 0, 45));
+    }
+
+    private double contador(String resultado) {
+        return registry.get("turnos.disponibilidad.cache").tag("resultado", resultado).counter().count();
+    }
+
+    @Test
+    void obtener_reutilizaHastaQueCambiaLaAgendaDelBarbero() {
+        String etagInicial = cache.etag("b1");
+
+        obtener("b1", 7);
+        obtener("b1", 7);
+        assertEquals(1, calculos.get());
+
+        // Cambios de otro barbero no invalidan
+        cache.alCambiarAgenda(cambio("b2"));
+        obtener("b1", 7);
+        assertEquals(1, calculos.get());
+        assertEquals(etagInicial, cache.etag("b1"));
+
+        cache.alCambiarAgenda(cambio("b1"));
+        obtener("b1", 7);
+        assertEquals(2, calculos.get());
+        assertNotEquals(etagInicial, cache.etag("b1"));
+
+        assertEquals(2, contador("acierto"));
+        assertEquals(2, contador("fallo"));
+    }
+
+    @Test
+    void etag_cambiaCuandoCambiaElCatalogo() {
+        String etagInicial = cache.etag("b1");
+
+        cache.alCambiarCatalogo(new CambioCatalogo("s1"));
+
+        assertNotEquals(etagInicial, cache.etag("b1"));
+    }
+
+    @Test
+    void obtener_descartaLaMenosUsadaAlLlenarse() {
+        obtener("b1", 7);
+        obtener("b2", 7);
+        obtener("b1", 7);     // b1 pasa a ser la más reciente
+        obtener("b3", 7);     // sale b2
+
+        assertEquals(2, cache.tamanio());
+        obtener("b1", 7);
+        assertEquals(3, calculos.get());
+        obtener("b2", 7);
+        assertEquals(4, calculos.get());
+    }
+}
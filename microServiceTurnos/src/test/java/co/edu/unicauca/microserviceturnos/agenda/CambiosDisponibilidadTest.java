@@ -0,0 +1,156 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.dto.CambioDisponibilidad;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CambiosDisponibilidadTest {
+
+    @Mock
+    TurnoRepository turnoRepository;
+
+    AgendaBarberos agenda;
+    CambiosDisponibilidad cambios;
+
+    LocalDateTime diez = LocalDate.now().plusDays(1).atTime(10, 0);
+
+    @BeforeEach
+    void setup() {
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(anyString(), any(), any())).thenReturn(List.of());
+        cambios = new CambiosDisponibilidad(60_000, 3, 2, 2, new SimpleMeterRegistry());
+        agenda = new AgendaBarberos(turnoRepository, 45, 5, 365);
+        agenda.setApplicationEventPublisher(evento -> cambios.alCambiarAgenda((CambioAgenda) evento));
+    }
+
+    private Turno turno(String barberoId, LocalDateTime fechaHora) {
+        Turno t = new Turno("cliente", barberoId, "s1", fechaHora, "");
+        t.setId(UUID.randomUUID());
+        t.setDuracionMinutos(45);
+        return t;
+    }
+
+    @Test
+    void transiciones_generanOcupadoYLiberado() {
+        Turno t = turno("b1", diez);
+        agenda.sincronizar(t);
+
+        // Confirmar no mueve el horario: no genera evento
+        t.setEstado(EstadoTurnoEnum.CONFIRMADO);
+        agenda.sincronizar(t);
+
+        t.setEstado(EstadoTurnoEnum.CANCELADO);
+        agenda.sincronizar(t);
+
+        List<CambioDisponibilidad> eventos = cambios.eventosDesde(Set.of("b1"), cambios.idEvento(0)).orElseThrow();
+        assertEquals(2, eventos.size());
+        assertEquals(CambiosDisponibilidad.OCUPADO, eventos.get(0).getTipo());
+        assertEquals(CambiosDisponibilidad.LIBERADO, eventos.get(1).getTipo());
+        assertEquals(diez, eventos.get(1).getFechaHora());
+        assertEquals(45, eventos.get(1).getDuracionMinutos());
+    }
+
+    @Test
+    void eventosDesde_filtraPorBarberoYPideReinicioSiSalieronDelBuffer() {
+        agenda.sincronizar(turno("b1", diez));                  // 1
+        agenda.sincronizar(turno("b2", diez));                  // 2
+        agenda.sincronizar(turno("b1", diez.plusHours(2)));     // 3
+
+        List<CambioDisponibilidad> b1 = cambios.eventosDesde(Set.of("b1"), cambios.idEvento(1)).orElseThrow();
+        assertEquals(List.of(3L), b1.stream().map(CambioDisponibilidad::getId).toList());
+
+        agenda.sincronizar(turno("b1", diez.plusHours(4)));     // 4: el 1 sale del buffer
+        assertTrue(cambios.eventosDesde(Set.of("b1"), cambios.idEvento(0)).isEmpty());
+        assertEquals(3, cambios.eventosDesde(Set.of("b1", "b2"), cambios.idEvento(1)).orElseThrow().size());
+
+        // Id mayor que el último emitido
+        assertTrue(cambios.eventosDesde(Set.of("b1"), cambios.idEvento(99)).isEmpty());
+    }
+
+    @Test
+    void eventosDesde_idDeOtraEpocaPideReinicio() {
+        agenda.sincronizar(turno("b1", diez));                  // 1
+        agenda.sincronizar(turno("b1", diez.plusHours(2)));     // 2
+
+        // Mismo número de secuencia, pero emitido por otro arranque (o sin época)
+        assertTrue(cambios.eventosDesde(Set.of("b1"), "otra-1").isEmpty());
+        assertTrue(cambios.eventosDesde(Set.of("b1"), "1").isEmpty());
+        assertTrue(cambios.eventosDesde(Set.of("b1"), cambios.idEvento(0).replace("-0", "-x")).isEmpty());
+        assertEquals(1, cambios.eventosDesde(Set.of("b1"), cambios.idEvento(1)).orElseThrow().size());
+    }
+
+    @Test
+    void clienteLento_noFrenaALosDemasYSeDesconectaAlDesbordar() throws Exception {
+        CountDownLatch soltar = new CountDownLatch(1);
+        CountDownLatch lentoOcupado = new CountDownLatch(1);
+        CountDownLatch lentoCerrado = new CountDownLatch(1);
+        SseEmitter lento = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                lentoOcupado.countDown();
+                try {
+                    soltar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                lentoCerrado.countDown();
+            }
+        };
+        BlockingQueue<SseEmitter.SseEventBuilder> recibidos = new LinkedBlockingQueue<>();
+        SseEmitter rapido = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                recibidos.add(builder);
+            }
+        };
+
+        try {
+            cambios.suscribir(lento, List.of("b1"), null);
+            cambios.suscribir(rapido, List.of("b1"), null);
+
+            agenda.sincronizar(turno("b1", diez));
+            assertTrue(lentoOcupado.await(5, TimeUnit.SECONDS));
+            assertNotNull(recibidos.poll(5, TimeUnit.SECONDS));
+
+            // El lento sigue trabado en el primero: los siguientes se le acumulan hasta desbordar
+            for (int horas = 2; horas <= 6; horas += 2) {
+                agenda.sincronizar(turno("b1", diez.plusHours(horas)));
+                assertNotNull(recibidos.poll(5, TimeUnit.SECONDS));
+            }
+
+            assertTrue(lentoCerrado.await(5, TimeUnit.SECONDS));
+            assertEquals(1, cambios.suscriptores());
+        } finally {
+            soltar.countDown();
+            cambios.cerrar();
+        }
+    }
+}
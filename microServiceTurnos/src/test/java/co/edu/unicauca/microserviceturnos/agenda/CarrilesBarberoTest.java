@@ -0,0 +1,121 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.CarrilOcupadoException;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CarrilesBarberoTest {
+
+    @Mock
+    TurnoRepository turnoRepository;
+
+    CarrilesBarbero carriles;
+    ExecutorService hilos;
+
+    @BeforeEach
+    void setup() {
+        carriles = new CarrilesBarbero(turnoRepository, 200, new SimpleMeterRegistry());
+        hilos = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void cerrar() {
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void ejecutar_mismoBarberoSerializaYOtrosCorrenEnParalelo() throws Exception {
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+        AtomicInteger enB1 = new AtomicInteger();
+
+        Future<Object> primero = hilos.submit(() -> carriles.ejecutar(() -> {
+            enB1.incrementAndGet();
+            dentro.countDown();
+            await(soltar);
+            return null;
+        }, "b1"));
+        assertTrue(dentro.await(1, TimeUnit.SECONDS));
+
+        // Otro barbero no espera
+        assertEquals("ok", hilos.submit(() -> carriles.ejecutar(() -> "ok", "b2")).get(1, TimeUnit.SECONDS));
+
+        // El mismo barbero agota la espera mientras el carril está tomado
+        Future<Integer> segundo = hilos.submit(() -> carriles.ejecutar(enB1::incrementAndGet, "b1"));
+        Exception ex = assertThrows(Exception.class, () -> segundo.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(CarrilOcupadoException.class, ex.getCause());
+        assertEquals(1, enB1.get());
+
+        soltar.countDown();
+        primero.get(1, TimeUnit.SECONDS);
+        assertEquals(2, (int) carriles.ejecutar(enB1::incrementAndGet, "b1"));
+    }
+
+    @Test
+    void ejecutarParaTurno_reintentaSiCambiaDeBarbero() {
+        UUID id = UUID.randomUUID();
+        Turno enB1 = new Turno("c1", "b1", "s1", LocalDateTime.now().plusDays(1), "");
+        Turno enB2 = new Turno("c1", "b2", "s1", LocalDateTime.now().plusDays(1), "");
+
+        // Se lee b1, pero al tomar el carril el turno ya es de b2
+        when(turnoRepository.findById(id)).thenReturn(Optional.of(enB1)).thenReturn(Optional.of(enB2));
+
+        AtomicInteger ejecuciones = new AtomicInteger();
+        carriles.ejecutarParaTurno(id, ejecuciones::incrementAndGet);
+
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void intentarParaTurno_carrilTomado_fallaSinEsperar() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(turnoRepository.findById(id))
+                .thenReturn(Optional.of(new Turno("c1", "b1", "s1", LocalDateTime.now().plusDays(1), "")));
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch soltar = new CountDownLatch(1);
+
+        Future<Object> ocupando = hilos.submit(() -> carriles.ejecutar(() -> {
+            dentro.countDown();
+            await(soltar);
+            return null;
+        }, "b1"));
+        assertTrue(dentro.await(1, TimeUnit.SECONDS));
+
+        long inicio = System.nanoTime();
+        assertThrows(CarrilOcupadoException.class, () -> carriles.intentarParaTurno(id, () -> "no"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 150);
+
+        soltar.countDown();
+        ocupando.get(1, TimeUnit.SECONDS);
+        assertEquals("si", carriles.intentarParaTurno(id, () -> "si"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
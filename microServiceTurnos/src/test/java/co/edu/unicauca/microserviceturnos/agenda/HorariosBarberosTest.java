@@ -0,0 +1,82 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.ExcepcionHorario;
+import co.edu.unicauca.microserviceturnos.entities.HorarioSemanal;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class HorariosBarberosTest {
+
+    HorarioSemanalRepository semanalRepository = mock(HorarioSemanalRepository.class);
+    ExcepcionHorarioRepository excepcionRepository = mock(ExcepcionHorarioRepository.class);
+    HorariosBarberos horarios;
+
+    LocalDate lunes = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @BeforeEach
+    void setup() {
+        horarios = new HorariosBarberos(semanalRepository, excepcionRepository, LocalTime.of(9, 0), LocalTime.of(18, 0));
+        when(excepcionRepository.findByBarberoId("b1")).thenReturn(List.of());
+    }
+
+    @Test
+    void sinPlantilla_usaElHorarioPorDefectoTodosLosDias() {
+        when(semanalRepository.findByBarberoId("b1")).thenReturn(List.of());
+
+        assertTrue(horarios.atiende("b1", lunes.plusDays(6).atTime(9, 0), 45));
+        assertTrue(horarios.atiende("b1", lunes.atTime(17, 15), 45));
+        assertFalse(horarios.atiende("b1", lunes.atTime(17, 30), 45));
+        assertFalse(horarios.atiende("b1", lunes.atTime(8, 30), 45));
+        assertEquals(9 * 60, horarios.jornada("b1", lunes).minutos());
+    }
+
+    @Test
+    void plantillaConDescanso_yExcepcionQueCierraElDia() {
+        when(semanalRepository.findByBarberoId("b1")).thenReturn(List.of(
+                new HorarioSemanal("b1", DayOfWeek.MONDAY, LocalTime.of(14, 0), LocalTime.of(18, 0)),
+                new HorarioSemanal("b1", DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(12, 0))));
+        when(excepcionRepository.findByBarberoId("b1")).thenReturn(List.of(
+                new ExcepcionHorario("b1", lunes.plusWeeks(1), null, null, "Festivo")));
+
+        JornadaDia jornada = horarios.jornada("b1", lunes);
+        assertEquals(2, jornada.tramos());
+        assertEquals(8 * 60, jornada.inicio(0));
+        assertEquals(14 * 60, jornada.inicio(1));
+        assertEquals(8 * 60, jornada.minutos());
+
+        assertTrue(horarios.atiende("b1", lunes.atTime(11, 0), 60));
+        assertFalse(horarios.atiende("b1", lunes.atTime(11, 30), 60));   // se mete en el descanso
+        assertFalse(horarios.atiende("b1", lunes.plusDays(1).atTime(10, 0), 45)); // martes sin tramos
+        assertEquals(0, horarios.jornada("b1", lunes.plusWeeks(1)).tramos());
+
+        // La máscara bloqueada deja libre solo lo que está dentro de un tramo
+        long[] ocupacion = MascaraDia.nueva();
+        jornada.bloquear(ocupacion);
+        assertTrue(MascaraDia.rangoLibre(ocupacion, MascaraDia.celdaInicio(14 * 60), MascaraDia.celdaFin(18 * 60)));
+        assertFalse(MascaraDia.rangoLibre(ocupacion, MascaraDia.celdaInicio(12 * 60), MascaraDia.celdaFin(12 * 60 + 5)));
+    }
+
+    @Test
+    void compilaUnaVezHastaQueSeInvalida() {
+        when(semanalRepository.findByBarberoId("b1")).thenReturn(List.of());
+
+        horarios.jornada("b1", lunes);
+        horarios.atiende("b1", lunes.atTime(10, 0), 45);
+        verify(semanalRepository, times(1)).findByBarberoId("b1");
+
+        horarios.invalidar("b1");
+        horarios.jornada("b1", lunes);
+        verify(semanalRepository, times(2)).findByBarberoId("b1");
+    }
+}
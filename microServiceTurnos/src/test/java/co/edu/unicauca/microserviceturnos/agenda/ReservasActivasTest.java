@@ -0,0 +1,53 @@
+package co.edu.unicauca.microserviceturnos.agenda;
+
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservasActivasTest {
+
+    LocalDateTime manana = LocalDateTime.now().plusDays(1);
+
+    private Turno turno(String clienteId, String barberoId, LocalDateTime fechaHora) {
+        Turno t = new Turno(clienteId, barberoId, "s1", fechaHora, "");
+        t.setId(UUID.randomUUID());
+        return t;
+    }
+
+    @Test
+    void sincronizar_sigueLasTransiciones() {
+        ReservasActivas reservas = new ReservasActivas(10);
+        Turno t = turno("c1", "b1", manana);
+
+        reservas.sincronizar(t);
+        assertTrue(reservas.tieneReservaActiva("c1", "b1", LocalDateTime.now()));
+        assertFalse(reservas.tieneReservaActiva("c1", "b2", LocalDateTime.now()));
+
+        // Ya pasó la hora del turno
+        assertFalse(reservas.tieneReservaActiva("c1", "b1", manana.plusMinutes(1)));
+
+        reservas.sincronizar(t);
+        t.cancelar();
+        reservas.sincronizar(t);
+        assertFalse(reservas.tieneReservaActiva("c1", "b1", LocalDateTime.now()));
+        assertEquals(0, reservas.tamanio());
+    }
+
+    @Test
+    void sincronizar_descartaClienteMenosUsado() {
+        ReservasActivas reservas = new ReservasActivas(2);
+
+        reservas.sincronizar(turno("c1", "b1", manana));
+        reservas.sincronizar(turno("c2", "b1", manana));
+        reservas.tieneReservaActiva("c1", "b1", LocalDateTime.now());
+        reservas.sincronizar(turno("c3", "b1", manana));
+
+        assertEquals(2, reservas.tamanio());
+        assertTrue(reservas.tieneReservaActiva("c1", "b1", LocalDateTime.now()));
+        assertFalse(reservas.tieneReservaActiva("c2", "b1", LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,105 @@
+package co.edu.unicauca.microserviceturnos.benchmark;
+
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CacheDisponibilidad;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.entities.DisponibilidadBarbero;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import co.edu.unicauca.microserviceturnos.service.CatalogoClient;
+import co.edu.unicauca.microserviceturnos.service.TurnoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Latencia de {@link TurnoService#getDisponibilidadBarbero} para una ventana de
+ * {@code benchmark.dias} días (30 por defecto) con la agenda medio llena: turnos de 45 a
+ * 120 minutos en la jornada 09:00-18:00. La caché de disponibilidad se crea sin entradas,
+ * así que cada consulta recorre todos los días.
+ *
+ *   mvn -Pbenchmark test -Dtest=DisponibilidadBenchmark [-Dbenchmark.dias=60]
+ */
+@Tag("benchmark")
+public class DisponibilidadBenchmark {
+
+    private static final int DIAS = Integer.getInteger("benchmark.dias", 30);
+    private static final int[] DURACIONES = {45, 60, 75, 90, 120};
+    private static final int CALENTAMIENTO = 20_000;
+    private static final int MEDICIONES = 10_000;
+
+    @Test
+    void medirDisponibilidad() {
+        LocalDate desde = LocalDate.now().plusDays(1);
+        Random random = new Random(42);
+
+        List<Turno> turnos = new ArrayList<>();
+        for (int d = 0; d < DIAS; d++) {
+            // Un turno cada dos horas con duración al azar: deja huecos de todos los tamaños
+            for (int hora = 9; hora < 17; hora += 2) {
+                Turno t = new Turno("c" + turnos.size(), "b1", "s1",
+                        desde.plusDays(d).atTime(hora, 5 * random.nextInt(6)), "");
+                t.setId(UUID.randomUUID());
+                t.setDuracionMinutos(DURACIONES[random.nextInt(DURACIONES.length)]);
+                turnos.add(t);
+            }
+        }
+
+        TurnoRepository repositorio = Mockito.mock(TurnoRepository.class);
+        Mockito.when(repositorio.findByBarberoIdAndFechaHoraBetween(anyString(), any(), any())).thenReturn(turnos);
+
+        TurnoService servicio = new TurnoService();
+        ReflectionTestUtils.setField(servicio, "minDurationMinutes", 45);
+        ReflectionTestUtils.setField(servicio, "bufferMinutes", 5);
+        ReflectionTestUtils.setField(servicio, "pasoDisponibilidadMinutos", 5);
+        ReflectionTestUtils.setField(servicio, "agendaBarberos", new AgendaBarberos(repositorio, 45, 5, 365));
+        ReflectionTestUtils.setField(servicio, "cacheDisponibilidad",
+                new CacheDisponibilidad(0, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(servicio, "horariosBarberos",
+                new HorariosBarberos(Mockito.mock(HorarioSemanalRepository.class),
+                        Mockito.mock(ExcepcionHorarioRepository.class), LocalTime.of(9, 0), LocalTime.of(18, 0)));
+        ReflectionTestUtils.setField(servicio, "catalogoClient", Mockito.mock(CatalogoClient.class));
+
+        String fecha = desde.toString();
+        long[] tiempos = new long[MEDICIONES];
+        int horas = 0;
+        for (int i = 0; i < CALENTAMIENTO + MEDICIONES; i++) {
+            int duracion = DURACIONES[i % DURACIONES.length];
+
+            long inicio = System.nanoTime();
+            DisponibilidadBarbero disponibilidad = servicio.getDisponibilidadBarbero("b1", fecha, DIAS, null, duracion);
+            long fin = System.nanoTime();
+
+            if (i >= CALENTAMIENTO) {
+                tiempos[i - CALENTAMIENTO] = fin - inicio;
+                horas += disponibilidad.getHorarios().stream().mapToInt(h -> h.getHorasDisponibles().size()).sum();
+            }
+        }
+
+        Arrays.sort(tiempos);
+        double p50 = tiempos[MEDICIONES / 2] / 1_000.0;
+        double p99 = tiempos[(int) (MEDICIONES * 0.99)] / 1_000.0;
+        System.out.printf("%ndisponibilidad de %d días, %,d turnos en la agenda (microsegundos)%n", DIAS, turnos.size());
+        System.out.printf("%-10s %-10s %-10s %s%n", "p50", "p99", "max", "horas por consulta");
+        System.out.printf("%-10.1f %-10.1f %-10.1f %d%n",
+                p50, p99, tiempos[MEDICIONES - 1] / 1_000.0, horas / MEDICIONES);
+
+        assertTrue(p99 < 1_000, "p99 por encima de 1 ms: " + p99 + " µs");
+    }
+}
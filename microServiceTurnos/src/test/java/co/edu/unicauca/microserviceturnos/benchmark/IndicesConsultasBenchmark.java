@@ -0,0 +1,182 @@
+package co.edu.unicauca.microserviceturnos.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Latencia de las consultas frecuentes de turno y lista_espera con y sin los índices que
+ * agregan las migraciones posteriores a V1.
+ *
+ * Carga las tablas de V1 con {@code benchmark.filas} filas (1.000.000 por defecto) en H2 modo MySQL,
+ * mide p50/p99 de cada consulta, aplica el resto de migraciones y vuelve a medir. Los números
+ * son de H2: sirven para comparar con y sin índice, no como estimación de MySQL/InnoDB.
+ *
+ *   mvn -Pbenchmark test -Dtest=IndicesConsultasBenchmark [-Dbenchmark.filas=200000]
+ */
+@Tag("benchmark")
+public class IndicesConsultasBenchmark {
+
+    private static final int FILAS = Integer.getInteger("benchmark.filas", 1_000_000);
+    private static final int BARBEROS = 200;
+    private static final int CLIENTES = 100_000;
+    private static final int CALENTAMIENTO = 20;
+    private static final int MEDICIONES = 200;
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] ESTADOS = {"PENDIENTE", "CONFIRMADO", "EN_PROCESO", "FINALIZADO", "CANCELADO", "NO_ASISTIO"};
+
+    // Mismo SQL que genera Hibernate para los métodos del repositorio
+    private static final String POR_BARBERO_Y_FECHA =
+            "select * from turno where barbero_id = ? and fecha_hora between ? and ?";
+    private static final String POR_CLIENTE =
+            "select * from turno where cliente_id = ?";
+    private static final String PAGINA_POR_ESTADO =
+            "select * from turno where estado = ? and fecha_hora < ? "
+                    + "and (fecha_hora > ? or (fecha_hora = ? and id > ?)) order by fecha_hora, id limit 200";
+    private static final String ESPERA_POR_BARBERO =
+            "select * from lista_espera where barbero_id = ? order by prioridad, fecha_solicitud";
+
+    @Test
+    void compararAntesYDespuesDeIndices() throws SQLException {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:indices;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+
+        Flyway.configure().dataSource(ds).target("1").load().migrate();
+        cargarDatos(ds);
+
+        Map<String, double[]> antes = medir(ds);
+
+        Flyway.configure().dataSource(ds).load().migrate();
+        Map<String, double[]> despues = medir(ds);
+
+        System.out.printf("%nLatencia con %,d filas por tabla (microsegundos)%n", FILAS);
+        System.out.printf("%-40s %12s %12s %12s %12s%n", "consulta", "p50 antes", "p99 antes", "p50 despues", "p99 despues");
+        for (String consulta : antes.keySet()) {
+            double[] a = antes.get(consulta);
+            double[] d = despues.get(consulta);
+            System.out.printf("%-40s %12.1f %12.1f %12.1f %12.1f%n", consulta, a[0], a[1], d[0], d[1]);
+        }
+    }
+
+    private void cargarDatos(JdbcDataSource ds) throws SQLException {
+        Random random = new Random(42);
+        try (Connection c = ds.getConnection()) {
+            c.setAutoCommit(false);
+
+            try (PreparedStatement ps = c.prepareStatement(
+                    "insert into turno (id, cliente_id, barbero_id, servicio_id, fecha_hora, fecha_creacion, duracion_minutos, estado, notas) "
+                            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < FILAS; i++) {
+                    LocalDateTime fecha = INICIO.plusMinutes(30L * random.nextInt(2 * 365 * 20));
+                    ps.setBytes(1, bytes(UUID.randomUUID()));
+                    ps.setString(2, "c" + random.nextInt(CLIENTES));
+                    ps.setString(3, "b" + random.nextInt(BARBEROS));
+                    ps.setString(4, "s" + random.nextInt(20));
+                    ps.setTimestamp(5, Timestamp.valueOf(fecha));
+                    ps.setTimestamp(6, Timestamp.valueOf(fecha.minusDays(3)));
+                    ps.setInt(7, 45);
+                    ps.setString(8, ESTADOS[random.nextInt(ESTADOS.length)]);
+                    ps.setString(9, "");
+                    ps.addBatch();
+                    if (i % 10_000 == 9_999) ps.executeBatch();
+                }
+                ps.executeBatch();
+            }
+
+            try (PreparedStatement ps = c.prepareStatement(
+                    "insert into lista_espera (id, cliente_id, barbero_id, servicio_id, fecha_solicitud, prioridad) "
+                            + "values (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < FILAS; i++) {
+                    ps.setBytes(1, bytes(UUID.randomUUID()));
+                    ps.setString(2, "c" + random.nextInt(CLIENTES));
+                    ps.setString(3, "b" + random.nextInt(BARBEROS));
+                    ps.setString(4, "s" + random.nextInt(20));
+                    ps.setTimestamp(5, Timestamp.valueOf(INICIO.plusSeconds(random.nextInt(365 * 86_400))));
+                    ps.setInt(6, random.nextInt(5));
+                    ps.addBatch();
+                    if (i % 10_000 == 9_999) ps.executeBatch();
+                }
+                ps.executeBatch();
+            }
+
+            c.commit();
+        }
+    }
+
+    private Map<String, double[]> medir(JdbcDataSource ds) throws SQLException {
+        Map<String, double[]> resultados = new LinkedHashMap<>();
+        Random random = new Random(7);
+
+        try (Connection c = ds.getConnection()) {
+            resultados.put("findByBarberoIdAndFechaHoraBetween", medir(c, POR_BARBERO_Y_FECHA, ps -> {
+                LocalDateTime desde = INICIO.plusDays(random.nextInt(2 * 365));
+                ps.setString(1, "b" + random.nextInt(BARBEROS));
+                ps.setTimestamp(2, Timestamp.valueOf(desde));
+                ps.setTimestamp(3, Timestamp.valueOf(desde.plusDays(7)));
+            }));
+            resultados.put("findByClienteId", medir(c, POR_CLIENTE,
+                    ps -> ps.setString(1, "c" + random.nextInt(CLIENTES))));
+            resultados.put("findPaginaPorEstadoAntesDe", medir(c, PAGINA_POR_ESTADO, ps -> {
+                Timestamp desde = Timestamp.valueOf(INICIO.plusDays(random.nextInt(2 * 365)));
+                ps.setString(1, ESTADOS[random.nextInt(ESTADOS.length)]);
+                ps.setTimestamp(2, Timestamp.valueOf(INICIO.plusYears(3)));
+                ps.setTimestamp(3, desde);
+                ps.setTimestamp(4, desde);
+                ps.setBytes(5, new byte[16]);
+            }));
+            resultados.put("lista_espera por barbero y prioridad", medir(c, ESPERA_POR_BARBERO,
+                    ps -> ps.setString(1, "b" + random.nextInt(BARBEROS))));
+        }
+        return resultados;
+    }
+
+    /** Devuelve {p50, p99} en microsegundos. */
+    private double[] medir(Connection c, String sql, Parametros parametros) throws SQLException {
+        long[] tiempos = new long[MEDICIONES];
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            for (int i = 0; i < CALENTAMIENTO + MEDICIONES; i++) {
+                parametros.asignar(ps);
+                long inicio = System.nanoTime();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        // consumir todas las filas
+                    }
+                }
+                if (i >= CALENTAMIENTO) tiempos[i - CALENTAMIENTO] = System.nanoTime() - inicio;
+            }
+        }
+        Arrays.sort(tiempos);
+        return new double[] {
+                tiempos[MEDICIONES / 2] / 1_000.0,
+                tiempos[(int) (MEDICIONES * 0.99)] / 1_000.0
+        };
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    @FunctionalInterface
+    private interface Parametros {
+        void asignar(PreparedStatement ps) throws SQLException;
+    }
+}
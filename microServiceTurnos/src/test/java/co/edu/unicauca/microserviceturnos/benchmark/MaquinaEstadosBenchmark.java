@@ -0,0 +1,181 @@
+package co.edu.unicauca.microserviceturnos.benchmark;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.AccionInvalidaTurnoException;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Transiciones por segundo de la máquina de estados de {@link Turno} (tabla fija con un
+ * objeto por estado) frente a la implementación anterior, reproducida abajo: un objeto
+ * de estado nuevo por transición, cadena de instanceof para volver al enum y un println
+ * por acción.
+ *
+ * Cada ronda aplica sobre {@code benchmark.turnos} turnos el ciclo confirmar → iniciar →
+ * finalizar. Las acciones inválidas quedan fuera: en ambas versiones las domina crear la
+ * excepción. La salida estándar se manda a un stream vacío mientras mide la versión
+ * anterior, así que su costo de I/O real queda por debajo del de producción.
+ *
+ *   mvn -Pbenchmark test -Dtest=MaquinaEstadosBenchmark [-Dbenchmark.turnos=10000]
+ */
+@Tag("benchmark")
+public class MaquinaEstadosBenchmark {
+
+    private static final int TURNOS = Integer.getInteger("benchmark.turnos", 10_000);
+    private static final int TRANSICIONES_POR_TURNO = 3;
+    private static final int CALENTAMIENTO = 200;
+    private static final int RONDAS = 200;
+
+    @Test
+    void medirTransiciones() {
+        PrintStream salida = System.out;
+        double[] actual;
+        double[] anterior;
+        try {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            actual = medir(MaquinaEstadosBenchmark::cicloActual);
+            anterior = medir(MaquinaEstadosBenchmark::cicloAnterior);
+        } finally {
+            System.setOut(salida);
+        }
+
+        System.out.printf("%n%,d turnos x %d transiciones por ronda (millones de transiciones/s)%n",
+                TURNOS, TRANSICIONES_POR_TURNO);
+        System.out.printf("%-10s %-10s %-10s %s%n", "", "p50", "p99", "mejor");
+        imprimir("tabla", actual);
+        imprimir("anterior", anterior);
+    }
+
+    private static double[] medir(Consumer<TurnoAnterior[]> ciclo) {
+        TurnoAnterior[] turnos = new TurnoAnterior[TURNOS];
+        for (int i = 0; i < TURNOS; i++) turnos[i] = new TurnoAnterior();
+
+        double[] tasas = new double[RONDAS];
+        for (int r = 0; r < CALENTAMIENTO + RONDAS; r++) {
+            for (TurnoAnterior t : turnos) t.reiniciar();
+
+            long inicio = System.nanoTime();
+            ciclo.accept(turnos);
+            long fin = System.nanoTime();
+
+            if (r >= CALENTAMIENTO) {
+                tasas[r - CALENTAMIENTO] = (double) TURNOS * TRANSICIONES_POR_TURNO / ((fin - inicio) / 1_000.0);
+            }
+        }
+        Arrays.sort(tasas);
+        return tasas;
+    }
+
+    private static void cicloActual(TurnoAnterior[] turnos) {
+        for (TurnoAnterior t : turnos) {
+            Turno turno = t.entidad;
+            turno.confirmar();
+            turno.iniciar();
+            turno.finalizar();
+        }
+    }
+
+    private static void cicloAnterior(TurnoAnterior[] turnos) {
+        for (TurnoAnterior t : turnos) {
+            t.getEstadoTurnoObjeto().confirmar();
+            t.getEstadoTurnoObjeto().iniciar();
+            t.getEstadoTurnoObjeto().finalizar();
+        }
+    }
+
+    // p50 es la mediana; p99 de la tasa es la ronda más lenta salvo el 1 %
+    private static void imprimir(String nombre, double[] tasas) {
+        System.out.printf("%-10s %-10.1f %-10.1f %.1f%n", nombre,
+                tasas[RONDAS / 2], tasas[(int) (RONDAS * 0.01)], tasas[RONDAS - 1]);
+    }
+
+    // ------------------------------------------------------------------
+    // Implementación anterior (estado por objeto), solo para comparar
+    // ------------------------------------------------------------------
+
+    private static final class TurnoAnterior {
+        private final Turno entidad = new Turno();
+        private EstadoTurnoEnum estado;
+
+        void reiniciar() {
+            entidad.setEstado(EstadoTurnoEnum.PENDIENTE);
+            estado = EstadoTurnoEnum.PENDIENTE;
+        }
+
+        EstadoAnterior getEstadoTurnoObjeto() {
+            switch (estado) {
+                case PENDIENTE: return new PendienteAnterior(this);
+                case CONFIRMADO: return new ConfirmadoAnterior(this);
+                case EN_PROCESO: return new EnProcesoAnterior(this);
+                case FINALIZADO: return new FinalizadoAnterior(this);
+                default: throw new IllegalStateException("Estado no reproducido: " + estado);
+            }
+        }
+
+        void setEstadoTurno(EstadoAnterior nuevo) {
+            if (nuevo instanceof PendienteAnterior) estado = EstadoTurnoEnum.PENDIENTE;
+            else if (nuevo instanceof ConfirmadoAnterior) estado = EstadoTurnoEnum.CONFIRMADO;
+            else if (nuevo instanceof EnProcesoAnterior) estado = EstadoTurnoEnum.EN_PROCESO;
+            else if (nuevo instanceof FinalizadoAnterior) estado = EstadoTurnoEnum.FINALIZADO;
+            else throw new IllegalArgumentException("Estado desconocido: " + nuevo.getClass());
+        }
+    }
+
+    private abstract static class EstadoAnterior {
+        protected final TurnoAnterior turno;
+
+        EstadoAnterior(TurnoAnterior turno) {
+            this.turno = turno;
+        }
+
+        void confirmar() { rechazar("No se puede confirmar."); }
+        void iniciar() { rechazar("No se puede iniciar."); }
+        void finalizar() { rechazar("No se puede finalizar."); }
+        void cancelar() { rechazar("No se puede cancelar."); }
+
+        static void rechazar(String mensaje) {
+            System.out.println(mensaje);
+            throw new AccionInvalidaTurnoException(mensaje);
+        }
+    }
+
+    private static final class PendienteAnterior extends EstadoAnterior {
+        PendienteAnterior(TurnoAnterior t) { super(t); }
+
+        @Override
+        void confirmar() {
+            System.out.println("Turno confirmado.");
+            turno.setEstadoTurno(new ConfirmadoAnterior(turno));
+        }
+    }
+
+    private static final class ConfirmadoAnterior extends EstadoAnterior {
+        ConfirmadoAnterior(TurnoAnterior t) { super(t); }
+
+        @Override
+        void iniciar() {
+            System.out.println("Turno en proceso.");
+            turno.setEstadoTurno(new EnProcesoAnterior(turno));
+        }
+    }
+
+    private static final class EnProcesoAnterior extends EstadoAnterior {
+        EnProcesoAnterior(TurnoAnterior t) { super(t); }
+
+        @Override
+        void finalizar() {
+            System.out.println("Turno finalizado.");
+            turno.setEstadoTurno(new FinalizadoAnterior(turno));
+        }
+    }
+
+    private static final class FinalizadoAnterior extends EstadoAnterior {
+        FinalizadoAnterior(TurnoAnterior t) { super(t); }
+    }
+}
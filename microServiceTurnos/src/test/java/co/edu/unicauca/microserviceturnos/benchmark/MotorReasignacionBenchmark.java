@@ -0,0 +1,86 @@
+package co.edu.unicauca.microserviceturnos.benchmark;
+
+import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
+import co.edu.unicauca.microserviceturnos.espera.ColasEspera;
+import co.edu.unicauca.microserviceturnos.espera.EntradaEspera;
+import co.edu.unicauca.microserviceturnos.espera.MotorReasignacion;
+import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Latencia de {@link MotorReasignacion#mejorCandidato} con {@code benchmark.entradas} personas
+ * en lista de espera (10.000 por defecto), repartidas entre pocos barberos intercambiables
+ * para que cada hueco tenga miles de candidatas.
+ *
+ *   mvn -Pbenchmark test -Dtest=MotorReasignacionBenchmark [-Dbenchmark.entradas=50000]
+ */
+@Tag("benchmark")
+public class MotorReasignacionBenchmark {
+
+    private static final int ENTRADAS = Integer.getInteger("benchmark.entradas", 10_000);
+    private static final int BARBEROS = 4;
+    private static final int[] DURACIONES = {45, 60, 75, 90, 120};
+    private static final int CALENTAMIENTO = 20_000;
+    private static final int MEDICIONES = 10_000;
+
+    @Test
+    void medirMejorCandidato() {
+        ListaEsperaRepository repositorio = Mockito.mock(ListaEsperaRepository.class);
+        Mockito.when(repositorio.findByBarberoId(anyString())).thenReturn(List.of());
+
+        ColasEspera colas = new ColasEspera(repositorio);
+        MotorReasignacion motor = new MotorReasignacion(colas, 45, "b0,b1,b2,b3");
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Random random = new Random(42);
+        for (int i = 0; i < ENTRADAS; i++) {
+            ListaEspera le = new ListaEspera();
+            le.setId(UUID.randomUUID());
+            le.setClienteId("c" + i);
+            le.setBarberoId("b" + random.nextInt(BARBEROS));
+            le.setServicioId("s" + random.nextInt(20));
+            le.setPrioridad(random.nextInt(5));
+            le.setFechaSolicitud(ahora.minusMinutes(random.nextInt(7 * 24 * 60)));
+            le.setDuracionMinutos(random.nextInt(10) == 0 ? null : DURACIONES[random.nextInt(DURACIONES.length)]);
+            colas.encolar(le);
+        }
+
+        List<Long> tiempos = new ArrayList<>(MEDICIONES);
+        int encontrados = 0;
+        for (int i = 0; i < CALENTAMIENTO + MEDICIONES; i++) {
+            String barbero = "b" + random.nextInt(BARBEROS);
+            int minutosLibres = 30 + random.nextInt(120);
+
+            long inicio = System.nanoTime();
+            Optional<EntradaEspera> elegido = motor.mejorCandidato(barbero, minutosLibres, ahora);
+            long fin = System.nanoTime();
+
+            if (i >= CALENTAMIENTO) {
+                tiempos.add(fin - inicio);
+                if (elegido.isPresent()) encontrados++;
+            }
+        }
+
+        long[] ordenados = tiempos.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ordenados);
+        System.out.printf("%nmejorCandidato con %,d entradas en espera (microsegundos)%n", ENTRADAS);
+        System.out.printf("%-10s %-10s %-10s %s%n", "p50", "p99", "max", "huecos asignados");
+        System.out.printf("%-10.1f %-10.1f %-10.1f %d/%d%n",
+                ordenados[MEDICIONES / 2] / 1_000.0,
+                ordenados[(int) (MEDICIONES * 0.99)] / 1_000.0,
+                ordenados[MEDICIONES - 1] / 1_000.0,
+                encontrados, MEDICIONES);
+    }
+}
@@ -0,0 +1,94 @@
+package co.edu.unicauca.microserviceturnos.controller;
+
+import co.edu.unicauca.microserviceturnos.dto.FiltroTurnos;
+import co.edu.unicauca.microserviceturnos.dto.PaginaTurnos;
+import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import co.edu.unicauca.microserviceturnos.service.TurnoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TurnoControllerTest {
+
+    @Mock
+    TurnoService turnoService;
+
+    @InjectMocks
+    TurnoController turnoController;
+
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(turnoController, "objectMapper", objectMapper);
+    }
+
+    private TurnoRequest turno(String clienteId, LocalDateTime fechaHora) {
+        TurnoRequest t = new TurnoRequest();
+        t.setClienteId(clienteId);
+        t.setFechaHora(fechaHora);
+        return t;
+    }
+
+    @Test
+    void getTurnos_devuelveElCursorEnLaCabeceraSoloSiHayMas() {
+        FiltroTurnos filtro = new FiltroTurnos();
+        when(turnoService.buscarTurnos(filtro, null, 1))
+                .thenReturn(new PaginaTurnos(List.of(new TurnoRequest()), "abc"));
+        when(turnoService.buscarTurnos(filtro, "abc", 1))
+                .thenReturn(new PaginaTurnos(List.of(new TurnoRequest()), null));
+
+        ResponseEntity<List<TurnoRequest>> primera = turnoController.getTurnos(filtro, null, 1);
+        ResponseEntity<List<TurnoRequest>> ultima = turnoController.getTurnos(filtro, "abc", 1);
+
+        assertEquals("abc", primera.getHeaders().getFirst("X-Siguiente-Cursor"));
+        assertFalse(ultima.getHeaders().containsKey("X-Siguiente-Cursor"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportarTurnos_escribeUnObjetoJsonPorLinea() throws Exception {
+        LocalDateTime diez = LocalDateTime.of(2030, 5, 6, 10, 0);
+        FiltroTurnos filtro = new FiltroTurnos();
+        doAnswer(inv -> {
+            Consumer<TurnoRequest> consumidor = inv.getArgument(2);
+            consumidor.accept(turno("c1", diez));
+            consumidor.accept(turno("c2", diez.plusHours(1)));
+            return null;
+        }).when(turnoService).exportarTurnos(eq(filtro), eq("cur"), any(Consumer.class));
+
+        ResponseEntity<StreamingResponseBody> respuesta = turnoController.exportarTurnos(filtro, "cur");
+        assertEquals("application/x-ndjson", respuesta.getHeaders().getContentType().toString());
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        respuesta.getBody().writeTo(salida);
+
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lineas.length);
+        JsonNode primera = objectMapper.readTree(lineas[0]);
+        assertEquals("c1", primera.get("clienteId").asText());
+        assertEquals(diez, objectMapper.treeToValue(primera, TurnoRequest.class).getFechaHora());
+        assertEquals("c2", objectMapper.readTree(lineas[1]).get("clienteId").asText());
+    }
+}
@@ -0,0 +1,72 @@
+package co.edu.unicauca.microserviceturnos.espera;
+
+import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
+import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ColasEsperaTest {
+
+    @Mock
+    ListaEsperaRepository listaEsperaRepository;
+
+    ColasEspera colas;
+
+    LocalDateTime base = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setup() {
+        colas = new ColasEspera(listaEsperaRepository);
+    }
+
+    private ListaEspera espera(String clienteId, int prioridad, LocalDateTime fechaSolicitud) {
+        ListaEspera le = new ListaEspera();
+        le.setId(UUID.randomUUID());
+        le.setClienteId(clienteId);
+        le.setBarberoId("b1");
+        le.setServicioId("s1");
+        le.setPrioridad(prioridad);
+        le.setFechaSolicitud(fechaSolicitud);
+        return le;
+    }
+
+    @Test
+    void siguiente_ordenaPorPrioridadYLuegoPorFecha() {
+        ListaEspera antigua = espera("c1", 1, base);
+        ListaEspera urgente = espera("c2", 0, base.plusMinutes(30));
+        when(listaEsperaRepository.findByBarberoId("b1")).thenReturn(List.of(antigua, urgente));
+
+        ListaEspera otraUrgente = espera("c3", 0, base.plusMinutes(10));
+        colas.encolar(otraUrgente);
+
+        assertEquals("c3", colas.siguiente("b1").orElseThrow().getClienteId());
+        assertEquals(1, colas.posicion("b1", "c3"));
+        assertEquals(2, colas.posicion("b1", "c2"));
+        assertEquals(3, colas.posicion("b1", "c1"));
+        assertEquals(0, colas.posicion("b1", "otro"));
+
+        colas.retirar("b1", otraUrgente.getId());
+        assertEquals("c2", colas.siguiente("b1").orElseThrow().getClienteId());
+        assertEquals(2, colas.tamanio("b1"));
+
+        // La cola se cargó una sola vez
+        verify(listaEsperaRepository, times(1)).findByBarberoId("b1");
+    }
+
+    @Test
+    void siguiente_colaVacia() {
+        when(listaEsperaRepository.findByBarberoId("b2")).thenReturn(List.of());
+        assertTrue(colas.siguiente("b2").isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package co.edu.unicauca.microserviceturnos.espera;
+
+import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
+import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MotorReasignacionTest {
+
+    @Mock
+    ListaEsperaRepository listaEsperaRepository;
+
+    ColasEspera colas;
+    MotorReasignacion motor;
+
+    LocalDateTime ahora = LocalDateTime.now();
+
+    @BeforeEach
+    void setup() {
+        when(listaEsperaRepository.findByBarberoId(anyString())).thenReturn(List.of());
+        colas = new ColasEspera(listaEsperaRepository);
+        motor = new MotorReasignacion(colas, 45, "b1,b2");
+    }
+
+    private void espera(String clienteId, String barberoId, int prioridad, int horasEsperando, Integer duracion) {
+        ListaEspera le = new ListaEspera();
+        le.setId(UUID.randomUUID());
+        le.setClienteId(clienteId);
+        le.setBarberoId(barberoId);
+        le.setServicioId("s1");
+        le.setPrioridad(prioridad);
+        le.setFechaSolicitud(ahora.minusHours(horasEsperando));
+        le.setDuracionMinutos(duracion);
+        colas.encolar(le);
+    }
+
+    @Test
+    void mejorCandidato_descartaLasQueNoCaben() {
+        espera("largo", "b1", 0, 48, 90);
+        espera("corto", "b1", 0, 1, 45);
+
+        assertEquals("corto", motor.mejorCandidato("b1", 60, ahora).orElseThrow().getClienteId());
+        assertEquals("largo", motor.mejorCandidato("b1", 120, ahora).orElseThrow().getClienteId());
+        assertTrue(motor.mejorCandidato("b1", 30, ahora).isEmpty());
+    }
+
+    @Test
+    void mejorCandidato_prioridadPesaMasQueLaEspera() {
+        espera("antiguo", "b1", 1, 72, 45);
+        espera("prioritario", "b1", 0, 1, 45);
+
+        assertEquals("prioritario", motor.mejorCandidato("b1", 60, ahora).orElseThrow().getClienteId());
+    }
+
+    @Test
+    void mejorCandidato_consideraBarberosIntercambiables() {
+        espera("de-b2", "b2", 0, 5, 60);
+
+        assertEquals("de-b2", motor.mejorCandidato("b1", 60, ahora).orElseThrow().getClienteId());
+        assertTrue(motor.mejorCandidato("b3", 60, ahora).isEmpty());
+    }
+
+    @Test
+    void mejorCandidato_duracionDesconocidaUsaLaMinima() {
+        espera("sin-duracion", "b1", 0, 2, null);
+
+        assertTrue(motor.mejorCandidato("b1", 40, ahora).isEmpty());
+        assertEquals("sin-duracion", motor.mejorCandidato("b1", 45, ahora).orElseThrow().getClienteId());
+    }
+}
@@ -0,0 +1,92 @@
+package co.edu.unicauca.microserviceturnos.estadisticas;
+
+import co.edu.unicauca.microserviceturnos.entities.EstadisticaDiaria;
+import co.edu.unicauca.microserviceturnos.entities.EstadisticaDiariaId;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.EstadisticaDiariaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EstadisticasDiariasTest {
+
+    EstadisticaDiariaRepository repository = mock(EstadisticaDiariaRepository.class);
+    Map<EstadisticaDiariaId, EstadisticaDiaria> filas = new HashMap<>();
+    EstadisticasDiarias estadisticas = new EstadisticasDiarias();
+
+    LocalDateTime manana = LocalDate.now().plusDays(1).atTime(10, 0);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(estadisticas, "estadisticaDiariaRepository", repository);
+        ReflectionTestUtils.setField(estadisticas, "minDurationMinutes", 45);
+        // Como el upsert: crea la fila del día si no está y le suma el delta
+        doAnswer(inv -> {
+            EstadisticaDiaria delta = inv.getArgument(0);
+            EstadisticaDiaria fila = filas.computeIfAbsent(delta.getId(), EstadisticaDiaria::new);
+            fila.setPendientes(fila.getPendientes() + delta.getPendientes());
+            fila.setConfirmados(fila.getConfirmados() + delta.getConfirmados());
+            fila.setEnProceso(fila.getEnProceso() + delta.getEnProceso());
+            fila.setFinalizados(fila.getFinalizados() + delta.getFinalizados());
+            fila.setCancelados(fila.getCancelados() + delta.getCancelados());
+            fila.setNoAsistio(fila.getNoAsistio() + delta.getNoAsistio());
+            fila.setMinutosReservados(fila.getMinutosReservados() + delta.getMinutosReservados());
+            return null;
+        }).when(repository).acumular(any());
+    }
+
+    @Test
+    void mover_cuentaPorEstadoYDescuentaMinutosAlCancelar() {
+        Turno t = new Turno("c1", "b1", "s1", manana, null);
+        t.setDuracionMinutos(30);
+        estadisticas.mover(null, AporteDia.de(t));
+
+        AporteDia antes = AporteDia.de(t);
+        t.cancelar();
+        estadisticas.mover(antes, AporteDia.de(t));
+
+        EstadisticaDiaria dia = fila("b1", manana.toLocalDate());
+        assertEquals(0, dia.getPendientes());
+        assertEquals(1, dia.getCancelados());
+        assertEquals(0, dia.getMinutosReservados());
+    }
+
+    @Test
+    void mover_reprogramadoAOtroDiaPasaElTurnoDeFila() {
+        Turno t = new Turno("c1", "b1", "s1", manana, null);
+        estadisticas.mover(null, AporteDia.de(t));
+
+        AporteDia antes = AporteDia.de(t);
+        t.setFechaHora(manana.plusDays(1));
+        estadisticas.mover(antes, AporteDia.de(t));
+
+        assertEquals(0, fila("b1", manana.toLocalDate()).getPendientes());
+        EstadisticaDiaria siguiente = fila("b1", manana.toLocalDate().plusDays(1));
+        assertEquals(1, siguiente.getPendientes());
+        assertEquals(45, siguiente.getMinutosReservados());
+    }
+
+    private EstadisticaDiaria fila(String barberoId, LocalDate fecha) {
+        return filas.get(new EstadisticaDiariaId(barberoId, fecha));
+    }
+
+    @Test
+    void mover_noLeeLaFilaAntesDeEscribir() {
+        Turno t = new Turno("c1", "b1", "s1", manana, null);
+        estadisticas.mover(null, AporteDia.de(t));
+
+        verify(repository).acumular(any());
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+    }
+}
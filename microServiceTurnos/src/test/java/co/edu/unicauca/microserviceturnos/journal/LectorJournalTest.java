@@ -0,0 +1,96 @@
+package co.edu.unicauca.microserviceturnos.journal;
+
+import co.edu.unicauca.microserviceturnos.dto.OcupacionDia;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.TransicionTurno;
+import co.edu.unicauca.microserviceturnos.repository.TransicionTurnoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LectorJournalTest {
+
+    TransicionTurnoRepository repository = mock(TransicionTurnoRepository.class);
+    OcupacionDiaria ocupacion = new OcupacionDiaria(45);
+    TasaNoShow tasaNoShow = new TasaNoShow();
+
+    LectorJournal lector;
+
+    LocalDateTime manana = LocalDate.now().plusDays(1).atTime(10, 0);
+
+    @BeforeEach
+    void setup() {
+        lector = new LectorJournal(repository, List.of(ocupacion, tasaNoShow), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(lector, "tamanioLote", 100);
+        ReflectionTestUtils.setField(lector, "graciaHuecoMs", 30_000L);
+    }
+
+    @Test
+    void reconstruir_aplicaTransicionesYDescuentaLasCanceladas() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        when(repository.findBySecuenciaGreaterThanOrderBySecuenciaAsc(eq(0L), any(Limit.class))).thenReturn(List.of(
+                entrada(1, a, TipoTransicion.CREADO, EstadoTurnoEnum.PENDIENTE, 45, 0),
+                entrada(2, b, TipoTransicion.CREADO, EstadoTurnoEnum.PENDIENTE, 30, 0),
+                entrada(3, c, TipoTransicion.CREADO, EstadoTurnoEnum.PENDIENTE, 45, 0),
+                entrada(4, b, TipoTransicion.CANCELADO, EstadoTurnoEnum.CANCELADO, 30, 0),
+                entrada(5, a, TipoTransicion.FINALIZADO, EstadoTurnoEnum.FINALIZADO, 45, 0),
+                entrada(6, c, TipoTransicion.NO_ASISTIO, EstadoTurnoEnum.NO_ASISTIO, 45, 0)));
+
+        lector.reconstruir();
+
+        assertEquals(6, lector.ultimaSecuencia());
+        OcupacionDia dia = ocupacion.ocupacion("b1", manana.toLocalDate(), manana.toLocalDate()).get(0);
+        assertEquals(1, dia.getTurnos());
+        assertEquals(45, dia.getMinutosOcupados());
+        assertEquals(0.5, tasaNoShow.tasa("b1").getTasa(), 1e-9);
+    }
+
+    @Test
+    void seguir_seDetieneEnHuecoRecienteYLoSaltaTrasLaGracia() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        when(repository.findBySecuenciaGreaterThanOrderBySecuenciaAsc(eq(0L), any(Limit.class))).thenReturn(List.of(
+                entrada(1, a, TipoTransicion.CREADO, EstadoTurnoEnum.PENDIENTE, 45, 0),
+                entrada(3, b, TipoTransicion.CREADO, EstadoTurnoEnum.PENDIENTE, 45, 0)));
+
+        // La secuencia 2 puede ser de una transacción que todavía no confirma
+        lector.seguir();
+        assertEquals(1, lector.ultimaSecuencia());
+
+        // Pasada la gracia el hueco se da por perdido
+        when(repository.findBySecuenciaGreaterThanOrderBySecuenciaAsc(eq(1L), any(Limit.class))).thenReturn(List.of(
+                entrada(3, b, TipoTransicion.CREADO, EstadoTurnoEnum.PENDIENTE, 45, 60)));
+        lector.seguir();
+
+        assertEquals(3, lector.ultimaSecuencia());
+        assertEquals(2, ocupacion.ocupacion("b1", manana.toLocalDate(), manana.toLocalDate()).get(0).getTurnos());
+    }
+
+    private TransicionTurno entrada(long secuencia, UUID turnoId, TipoTransicion tipo, EstadoTurnoEnum estado,
+                                    int minutos, int segundosAtras) {
+        TransicionTurno t = new TransicionTurno();
+        t.setSecuencia(secuencia);
+        t.setTurnoId(turnoId);
+        t.setTipo(tipo);
+        t.setEstado(estado);
+        t.setClienteId("c1");
+        t.setBarberoId("b1");
+        t.setFechaHora(manana);
+        t.setDuracionMinutos(minutos);
+        t.setRegistradaEn(LocalDateTime.now().minusSeconds(segundosAtras));
+        return t;
+    }
+}
@@ -0,0 +1,92 @@
+package co.edu.unicauca.microserviceturnos.scheduler;
+
+import co.edu.unicauca.microserviceturnos.entities.EventoSaliente;
+import co.edu.unicauca.microserviceturnos.repository.EventoSalienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RelayOutboxTest {
+
+    EventoSalienteRepository repository = mock(EventoSalienteRepository.class);
+    RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    RabbitOperations canal = mock(RabbitOperations.class);
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    RelayOutbox relay;
+
+    @BeforeEach
+    void setup() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(rabbitTemplate.invoke(any())).thenAnswer(inv ->
+                inv.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(canal));
+
+        relay = new RelayOutbox(repository, rabbitTemplate, transactionManager, registry);
+        ReflectionTestUtils.setField(relay, "tamanioLote", 2);
+        ReflectionTestUtils.setField(relay, "esperaConfirmacionMs", 1000L);
+    }
+
+    @Test
+    void drenar_publicaPorLotesYBorraTrasConfirmar() {
+        List<EventoSaliente> primero = List.of(evento(1L), evento(2L));
+        List<EventoSaliente> segundo = List.of(evento(3L));
+        when(repository.findPendientes(any(Limit.class))).thenReturn(primero).thenReturn(segundo);
+        when(repository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+
+        relay.drenar();
+
+        var orden = inOrder(canal, repository);
+        orden.verify(canal, times(2)).send(eq("cola"), any(Message.class));
+        orden.verify(canal).waitForConfirmsOrDie(1000L);
+        orden.verify(repository).deleteAllInBatch(primero);
+        orden.verify(canal).send(eq("cola"), any(Message.class));
+        orden.verify(canal).waitForConfirmsOrDie(1000L);
+        orden.verify(repository).deleteAllInBatch(segundo);
+
+        assertEquals(3.0, registry.get("turnos.outbox.publicados").counter().count());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void drenar_sinConfirmacion_noBorraYMideElRetraso() {
+        EventoSaliente viejo = evento(1L);
+        viejo.setFechaCreacion(LocalDateTime.now().minusSeconds(30));
+        when(repository.findPendientes(any(Limit.class))).thenReturn(List.of(viejo));
+        when(repository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(viejo));
+        doThrow(new AmqpException("nack")).when(canal).waitForConfirmsOrDie(anyLong());
+
+        relay.drenar();
+
+        verify(repository, never()).deleteAllInBatch(anyIterable());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, registry.get("turnos.outbox.fallos").counter().count());
+        assertTrue(relay.retrasoMs() >= 30_000);
+    }
+
+    private static EventoSaliente evento(Long id) {
+        EventoSaliente e = new EventoSaliente();
+        e.setId(id);
+        e.setTipo("NOTIFICACION_TURNO");
+        e.setDestino("cola");
+        e.setPayload("{\"clienteId\":\"c" + id + "\"}");
+        e.setFechaCreacion(LocalDateTime.now());
+        return e;
+    }
+}
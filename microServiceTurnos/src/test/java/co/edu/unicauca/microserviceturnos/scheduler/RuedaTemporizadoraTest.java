@@ -0,0 +1,58 @@
+package co.edu.unicauca.microserviceturnos.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuedaTemporizadoraTest {
+
+    @Test
+    void avanzarHasta_disparaCadaClaveEnSuTick() {
+        RuedaTemporizadora<String> rueda = new RuedaTemporizadora<>(1_000);
+        rueda.programar("a", 1_005);
+        rueda.programar("b", 1_000 + 64 * 3 + 7);      // nivel 1
+        rueda.programar("c", 1_000 + 64 * 64 * 2 + 1);  // nivel 2
+
+        assertEquals(List.of(), rueda.avanzarHasta(1_004));
+        assertEquals(List.of("a"), rueda.avanzarHasta(1_005));
+        assertEquals(List.of(), rueda.avanzarHasta(1_000 + 64 * 3 + 6));
+        assertEquals(List.of("b"), rueda.avanzarHasta(1_000 + 64 * 3 + 7));
+        assertEquals(List.of(), rueda.avanzarHasta(1_000 + 64 * 64 * 2));
+        assertEquals(List.of("c"), rueda.avanzarHasta(1_000 + 64 * 64 * 2 + 1));
+        assertEquals(0, rueda.tamanio());
+    }
+
+    @Test
+    void cancelar_yReprogramar() {
+        RuedaTemporizadora<String> rueda = new RuedaTemporizadora<>(0);
+        rueda.programar("a", 100);
+        rueda.programar("b", 100);
+        assertTrue(rueda.cancelar("a"));
+        assertFalse(rueda.cancelar("a"));
+
+        rueda.programar("b", 200);
+
+        assertEquals(List.of(), rueda.avanzarHasta(199));
+        assertEquals(List.of("b"), rueda.avanzarHasta(200));
+    }
+
+    @Test
+    void programar_enElPasado_venceEnElSiguienteTick() {
+        RuedaTemporizadora<String> rueda = new RuedaTemporizadora<>(500);
+        rueda.programar("a", 10);
+
+        assertEquals(List.of("a"), rueda.avanzarHasta(501));
+    }
+
+    @Test
+    void plazosMasAllaDelUltimoNivel_noSeDisparanAntes() {
+        long lejos = 1L << 26;
+        RuedaTemporizadora<String> rueda = new RuedaTemporizadora<>(0);
+        rueda.programar("a", lejos);
+
+        assertEquals(List.of(), rueda.avanzarHasta(lejos - 1));
+        assertEquals(List.of("a"), rueda.avanzarHasta(lejos));
+    }
+}
@@ -0,0 +1,65 @@
+package co.edu.unicauca.microserviceturnos.scheduler;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.CarrilOcupadoException;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VencimientosNoShowTest {
+
+    VencimientosNoShow vencimientos = new VencimientosNoShow(10, 300);
+
+    private Turno confirmadoVencido() {
+        Turno t = new Turno("c1", "b1", "s1", LocalDateTime.now().minusHours(1), "");
+        t.setId(UUID.randomUUID());
+        t.setEstado(EstadoTurnoEnum.CONFIRMADO);
+        return t;
+    }
+
+    // La rueda avanza con el reloj: hay que dejar pasar al menos un tick
+    private void siguienteTick() throws InterruptedException {
+        Thread.sleep(1100);
+        vencimientos.avanzar();
+    }
+
+    @Test
+    void avanzar_siElProcesoFalla_elPlazoVuelveALaRueda() throws Exception {
+        List<UUID> entregados = new ArrayList<>();
+        vencimientos.alVencer(id -> {
+            entregados.add(id);
+            if (entregados.size() == 1) throw new CarrilOcupadoException("ocupado");
+            if (entregados.size() == 2) throw new IllegalStateException("sin conexión");
+        });
+        Turno t = confirmadoVencido();
+        vencimientos.sincronizar(t);
+
+        // Carril ocupado: se reintenta en el tick siguiente
+        siguienteTick();
+        assertEquals(1, vencimientos.pendientes());
+        siguienteTick();
+        assertEquals(2, entregados.size());
+
+        // Otro error: vuelve a la rueda con espera, no se pierde
+        assertEquals(1, vencimientos.pendientes());
+    }
+
+    @Test
+    void avanzar_siElProcesoTermina_elPlazoSale() throws Exception {
+        List<UUID> entregados = new ArrayList<>();
+        vencimientos.alVencer(entregados::add);
+        Turno t = confirmadoVencido();
+        vencimientos.sincronizar(t);
+
+        siguienteTick();
+
+        assertEquals(List.of(t.getId()), entregados);
+        assertEquals(0, vencimientos.pendientes());
+    }
+}
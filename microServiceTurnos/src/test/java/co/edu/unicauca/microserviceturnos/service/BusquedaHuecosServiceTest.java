@@ -0,0 +1,121 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.dto.HuecoDisponible;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BusquedaHuecosServiceTest {
+
+    @Mock
+    TurnoRepository turnoRepository;
+
+    @Mock
+    UsuariosClient usuariosClient;
+
+    @Mock
+    CatalogoClient catalogoClient;
+
+    @InjectMocks
+    BusquedaHuecosService busquedaHuecosService;
+
+    AgendaBarberos agendaBarberos;
+
+    LocalDate manana = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setup() {
+        lenient().when(turnoRepository.findByBarberoIdAndFechaHoraBetween(anyString(), any(), any()))
+                .thenReturn(List.of());
+        agendaBarberos = new AgendaBarberos(turnoRepository, 45, 5, 365);
+
+        ReflectionTestUtils.setField(busquedaHuecosService, "agendaBarberos", agendaBarberos);
+        ReflectionTestUtils.setField(busquedaHuecosService, "horariosBarberos",
+                new HorariosBarberos(mock(HorarioSemanalRepository.class), mock(ExcepcionHorarioRepository.class),
+                        LocalTime.of(9, 0), LocalTime.of(18, 0)));
+        ReflectionTestUtils.setField(busquedaHuecosService, "minDurationMinutes", 45);
+        ReflectionTestUtils.setField(busquedaHuecosService, "pasoMinutos", 15);
+        ReflectionTestUtils.setField(busquedaHuecosService, "maxDias", 60);
+        ReflectionTestUtils.setField(busquedaHuecosService, "hilos", 2);
+        busquedaHuecosService.iniciar();
+    }
+
+    @AfterEach
+    void cerrar() {
+        busquedaHuecosService.cerrar();
+    }
+
+    private void ocupar(String barberoId, LocalDateTime fechaHora, int duracion) {
+        Turno t = new Turno("c", barberoId, "s1", fechaHora, "");
+        t.setId(UUID.randomUUID());
+        t.setDuracionMinutos(duracion);
+        agendaBarberos.sincronizar(t);
+    }
+
+    @Test
+    void buscar_devuelveLosMasTempranosEntreBarberos() {
+        when(usuariosClient.barberosActivos()).thenReturn(List.of("b1", "b2"));
+        ocupar("b1", manana.atTime(9, 0), 45);     // ocupa 08:55-09:50 con el buffer
+        ocupar("b2", manana.atTime(9, 30), 45);    // ocupa 09:25-10:20
+
+        List<HuecoDisponible> huecos = busquedaHuecosService.buscar("s1", 45, manana.atTime(9, 0), null, 4);
+
+        assertEquals(4, huecos.size());
+        assertEquals("b1", huecos.get(0).getBarberoId());
+        assertEquals(manana.atTime(10, 0), huecos.get(0).getFechaHora());
+        assertEquals(manana.atTime(10, 15), huecos.get(1).getFechaHora());
+        assertEquals(manana.atTime(10, 30), huecos.get(2).getFechaHora());
+        assertEquals("b1", huecos.get(2).getBarberoId());
+        assertEquals("b2", huecos.get(3).getBarberoId());
+        assertEquals(manana.atTime(10, 30), huecos.get(3).getFechaHora());
+        assertEquals("s1", huecos.get(0).getServicioId());
+    }
+
+    @Test
+    void buscar_pasaAlDiaSiguienteSiNoAlcanza() {
+        when(usuariosClient.barberosActivos()).thenReturn(List.of("b1"));
+
+        // Un turno de 90 minutos desde las 16:30 cabe justo antes del cierre; el siguiente ya no
+        List<HuecoDisponible> huecos = busquedaHuecosService.buscar(null, 90,
+                manana.atTime(16, 30), null, 2);
+
+        assertEquals(manana.atTime(16, 30), huecos.get(0).getFechaHora());
+        assertEquals(manana.plusDays(1).atTime(9, 0), huecos.get(1).getFechaHora());
+    }
+
+    @Test
+    void buscar_validaParametros() {
+        assertThrows(ValidacionTurnoException.class,
+                () -> busquedaHuecosService.buscar(null, 30, null, null, null));
+        assertThrows(ValidacionTurnoException.class,
+                () -> busquedaHuecosService.buscar(null, null, null, null, 500));
+        assertThrows(ValidacionTurnoException.class,
+                () -> busquedaHuecosService.buscar(null, null, manana.atTime(12, 0), manana.atTime(11, 0), null));
+    }
+}
@@ -0,0 +1,149 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.agenda.CambioCatalogo;
+import co.edu.unicauca.microserviceturnos.dto.ServicioCatalogo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogoClientTest {
+
+    CatalogoClient catalogoClient;
+    AtomicInteger llamadas;
+    HttpStatus estado;
+    Supplier<String> cuerpo;
+    List<Object> eventos;
+
+    @BeforeEach
+    void setup() {
+        llamadas = new AtomicInteger();
+        estado = HttpStatus.OK;
+        cuerpo = () -> "[{\"id\":1,\"nombre\":\"Corte\",\"duracion\":60,\"precio\":25000,\"estado\":true},"
+                + "{\"id\":2,\"nombre\":\"Barba\",\"duracion\":45,\"precio\":15000,\"estado\":false}]";
+
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(req -> {
+                    llamadas.incrementAndGet();
+                    return Mono.just(ClientResponse.create(estado)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(cuerpo.get())
+                            .build());
+                })
+                .build();
+
+        eventos = new ArrayList<>();
+        catalogoClient = new CatalogoClient();
+        catalogoClient.setApplicationEventPublisher(eventos::add);
+        ReflectionTestUtils.setField(catalogoClient, "webClient", webClient);
+        ReflectionTestUtils.setField(catalogoClient, "catalogoServiceUrl", "http://catalogo/catalogo");
+    }
+
+    @Test
+    void reservas_seValidanContraLaReplicaSinSalirALaRed() {
+        catalogoClient.recargar().join();
+
+        assertEquals(OptionalInt.of(60), catalogoClient.duracion("1"));
+        assertNull(catalogoClient.motivoNoReservable("1"));
+        assertNotNull(catalogoClient.motivoNoReservable("2"));   // inactivo
+        assertNotNull(catalogoClient.motivoNoReservable("9"));   // no existe
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void eventos_actualizanYEliminanServicios() {
+        catalogoClient.recargar().join();
+
+        catalogoClient.alCambiarServicio(new ServicioCatalogo(1L, "Corte", 90, 30000.0, true),
+                "catalogo.servicio.actualizado");
+        catalogoClient.alCambiarServicio(new ServicioCatalogo(2L, "Barba", 45, 15000.0, true),
+                "catalogo.servicio.actualizado");
+        catalogoClient.alCambiarServicio(new ServicioCatalogo(3L, "Tinte", 120, 50000.0, true),
+                "catalogo.servicio.creado");
+        catalogoClient.alCambiarServicio(new ServicioCatalogo(1L, "Corte", 90, 30000.0, true),
+                "catalogo.servicio.eliminado");
+
+        assertNotNull(catalogoClient.motivoNoReservable("1"));
+        assertNull(catalogoClient.motivoNoReservable("2"));
+        assertEquals(OptionalInt.of(120), catalogoClient.duracion("3"));
+    }
+
+    @Test
+    void carga_noPisaLoQueCambioUnEventoMientrasLeia() {
+        // El evento llega después de que el catálogo armó la respuesta, pero antes de aplicarla
+        cuerpo = () -> {
+            String viejo = "[{\"id\":1,\"nombre\":\"Corte\",\"duracion\":60,\"estado\":true}]";
+            catalogoClient.alCambiarServicio(new ServicioCatalogo(1L, "Corte", 75, null, true),
+                    "catalogo.servicio.actualizado");
+            return viejo;
+        };
+
+        catalogoClient.recargar().join();
+
+        assertEquals(OptionalInt.of(75), catalogoClient.duracion("1"));
+    }
+
+    @Test
+    void sinReplica_noRechazaNiSaleALaRedEnLaPeticion() {
+        estado = HttpStatus.SERVICE_UNAVAILABLE;
+        catalogoClient.recargar().join();
+
+        assertNull(catalogoClient.motivoNoReservable("9"));
+        assertTrue(catalogoClient.duracion("1").isEmpty());
+        assertFalse(catalogoClient.replicaCargada());
+        assertEquals(1, llamadas.get());
+
+        estado = HttpStatus.OK;
+        catalogoClient.recargar().join();
+        assertEquals(OptionalInt.of(60), catalogoClient.duracion("1"));
+        assertTrue(catalogoClient.replicaCargada());
+    }
+
+    @Test
+    void recargaFallida_conservaLaReplicaAnterior() {
+        catalogoClient.recargar().join();
+
+        estado = HttpStatus.SERVICE_UNAVAILABLE;
+        catalogoClient.recargar().join();
+
+        assertEquals(OptionalInt.of(60), catalogoClient.duracion("1"));
+        assertNotNull(catalogoClient.motivoNoReservable("2"));
+    }
+
+    @Test
+    void cambioDeDuracionOEstado_publicaCambioCatalogo() {
+        catalogoClient.recargar().join();
+        assertEquals(1, eventos.size());   // la primera carga
+
+        // Solo el precio: los huecos no cambian
+        catalogoClient.alCambiarServicio(new ServicioCatalogo(1L, "Corte", 60, 30000.0, true),
+                "catalogo.servicio.actualizado");
+        assertEquals(1, eventos.size());
+
+        catalogoClient.alCambiarServicio(new ServicioCatalogo(1L, "Corte", 90, 30000.0, true),
+                "catalogo.servicio.actualizado");
+        catalogoClient.alCambiarServicio(new ServicioCatalogo(2L, "Barba", 45, 15000.0, true),
+                "catalogo.servicio.actualizado");
+        assertEquals(3, eventos.size());
+        assertEquals("1", ((CambioCatalogo) eventos.get(1)).getServicioId());
+
+        // Una recarga sin diferencias no publica
+        cuerpo = () -> "[{\"id\":1,\"nombre\":\"Corte\",\"duracion\":90,\"estado\":true},"
+                + "{\"id\":2,\"nombre\":\"Barba\",\"duracion\":45,\"estado\":true}]";
+        catalogoClient.recargar().join();
+        assertEquals(3, eventos.size());
+    }
+}
@@ -0,0 +1,109 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.entities.ListaEspera;
+import co.edu.unicauca.microserviceturnos.espera.ColasEspera;
+import co.edu.unicauca.microserviceturnos.espera.EntradaEspera;
+import co.edu.unicauca.microserviceturnos.espera.MotorReasignacion;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
+import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ListaEsperaServiceTest {
+
+    ListaEsperaRepository listaEsperaRepository = mock(ListaEsperaRepository.class);
+    TurnoRepository turnoRepository = mock(TurnoRepository.class);
+    ListaEsperaService listaEsperaService;
+
+    LocalDateTime manana = LocalDate.now().plusDays(1).atStartOfDay();
+
+    @BeforeEach
+    void setup() {
+        ColasEspera colas = new ColasEspera(listaEsperaRepository);
+        listaEsperaService = new ListaEsperaService();
+        ReflectionTestUtils.setField(listaEsperaService, "listaEsperaRepository", listaEsperaRepository);
+        ReflectionTestUtils.setField(listaEsperaService, "colasEspera", colas);
+        ReflectionTestUtils.setField(listaEsperaService, "motorReasignacion", new MotorReasignacion(colas, 45, ""));
+        ReflectionTestUtils.setField(listaEsperaService, "agendaBarberos", new AgendaBarberos(turnoRepository, 45, 5, 365));
+        ReflectionTestUtils.setField(listaEsperaService, "reservasActivas", new ReservasActivas(100));
+        ReflectionTestUtils.setField(listaEsperaService, "turnoRepository", turnoRepository);
+        ReflectionTestUtils.setField(listaEsperaService, "horariosBarberos",
+                new HorariosBarberos(mock(HorarioSemanalRepository.class), mock(ExcepcionHorarioRepository.class),
+                        LocalTime.of(9, 0), LocalTime.of(18, 0)));
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq("b1"), any(), any())).thenReturn(List.of());
+    }
+
+    private ListaEspera espera(String clienteId, int prioridad, int duracion) {
+        ListaEspera le = new ListaEspera();
+        le.setId(UUID.randomUUID());
+        le.setClienteId(clienteId);
+        le.setBarberoId("b1");
+        le.setServicioId("s1");
+        le.setPrioridad(prioridad);
+        le.setFechaSolicitud(manana.minusDays(1));
+        le.setDuracionMinutos(duracion);
+        return le;
+    }
+
+    @Test
+    void reclamar_siOtroSeLlevoLaEntrada_pasaALaSiguiente() {
+        ListaEspera primera = espera("c1", 0, 45);
+        ListaEspera segunda = espera("c2", 3, 45);
+        when(listaEsperaRepository.findByBarberoId("b1")).thenReturn(List.of(primera, segunda));
+        when(listaEsperaRepository.borrarPorId(primera.getId())).thenReturn(0);
+        when(listaEsperaRepository.borrarPorId(segunda.getId())).thenReturn(1);
+
+        Optional<EntradaEspera> reclamada = listaEsperaService.reclamarParaHueco("b1", manana.withHour(10), null);
+
+        assertEquals("c2", reclamada.orElseThrow().getClienteId());
+        // La que ya no estaba sale de la cola sin esperar un commit
+        assertEquals(0, listaEsperaService.posicion("b1", "c1").map(p -> 1).orElse(0));
+    }
+
+    @Test
+    void reclamar_elHuecoNoPasaDelCierre() {
+        ListaEspera larga = espera("c1", 0, 90);
+        when(listaEsperaRepository.findByBarberoId("b1")).thenReturn(List.of(larga));
+        when(listaEsperaRepository.borrarPorId(any())).thenReturn(1);
+
+        // 17:00 deja una hora hasta el cierre de las 18:00: no cabe un servicio de 90 minutos
+        assertTrue(listaEsperaService.reclamarParaHueco("b1", manana.withHour(17), null).isEmpty());
+        assertTrue(listaEsperaService.reclamarParaHueco("b1", manana.withHour(16), null).isPresent());
+        verify(listaEsperaRepository, times(1)).borrarPorId(larga.getId());
+    }
+
+    @Test
+    void reclamar_saltaAQuienYaTieneTurnoConElBarbero() {
+        ListaEspera conTurno = espera("c1", 0, 45);
+        ListaEspera siguiente = espera("c2", 0, 45);   // mismo grupo (duración, prioridad), más reciente
+        siguiente.setFechaSolicitud(conTurno.getFechaSolicitud().plusHours(1));
+        when(listaEsperaRepository.findByBarberoId("b1")).thenReturn(List.of(conTurno, siguiente));
+        when(listaEsperaRepository.borrarPorId(any())).thenReturn(1);
+        when(turnoRepository.existsByClienteIdAndBarberoIdAndFechaHoraAfterAndEstadoNotIn(eq("c1"), eq("b1"), any(), any()))
+                .thenReturn(true);
+
+        Optional<EntradaEspera> reclamada = listaEsperaService.reclamarParaHueco("b1", manana.withHour(10), null);
+
+        assertEquals("c2", reclamada.orElseThrow().getClienteId());
+        verify(listaEsperaRepository, never()).borrarPorId(conTurno.getId());
+        // Sigue esperando su lugar
+        assertEquals(1, listaEsperaService.posicion("b1", "c1").orElseThrow().getPosicion());
+    }
+}
@@ -0,0 +1,169 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CarrilesBarbero;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.dto.ResultadoLote;
+import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.journal.JournalTurnos;
+import co.edu.unicauca.microserviceturnos.mappers.TurnoMapper;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
+import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LoteTurnosServiceTest {
+
+    @Mock
+    TurnoRepository turnoRepository;
+
+    @Mock
+    ListaEsperaRepository listaEsperaRepository;
+
+    @Mock
+    TurnoMapper turnoMapper;
+
+    @Mock
+    OutboxService outboxService;
+
+    @Mock
+    JournalTurnos journalTurnos;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    CatalogoClient catalogoClient;
+
+    @InjectMocks
+    LoteTurnosService loteTurnosService;
+
+    LocalDateTime diez = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(loteTurnosService, "minDurationMinutes", 45);
+        ReflectionTestUtils.setField(loteTurnosService, "bufferMinutes", 5);
+        ReflectionTestUtils.setField(loteTurnosService, "maxItems", 10);
+        ReflectionTestUtils.setField(loteTurnosService, "agendaBarberos",
+                new AgendaBarberos(turnoRepository, 45, 5, 365));
+        ReflectionTestUtils.setField(loteTurnosService, "reservasActivas", new ReservasActivas(100));
+        ReflectionTestUtils.setField(loteTurnosService, "horariosBarberos",
+                new HorariosBarberos(mock(HorarioSemanalRepository.class), mock(ExcepcionHorarioRepository.class),
+                        LocalTime.of(9, 0), LocalTime.of(18, 0)));
+        ReflectionTestUtils.setField(loteTurnosService, "carriles",
+                new CarrilesBarbero(turnoRepository, 1000, new SimpleMeterRegistry()));
+    }
+
+    private TurnoRequest item(String clienteId, String barberoId, LocalDateTime fechaHora) {
+        TurnoRequest dto = new TurnoRequest();
+        dto.setClienteId(clienteId);
+        dto.setBarberoId(barberoId);
+        dto.setServicioId("s1");
+        dto.setFechaHora(fechaHora);
+        return dto;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void crearLote_validaContraExistentesYEntreItems() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+        when(turnoRepository.findClientesConReservaActiva(eq("b1"), any(), any(), any())).thenReturn(List.of("c4"));
+        when(listaEsperaRepository.findClientesEnEspera(eq("b1"), any())).thenReturn(List.of());
+
+        Turno existente = new Turno("otro", "b1", "s1", diez.plusHours(3), "");
+        existente.setDuracionMinutos(45);
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq("b1"), any(), any())).thenReturn(List.of(existente));
+
+        when(turnoMapper.dtoToEntity(any())).thenAnswer(inv -> {
+            TurnoRequest dto = inv.getArgument(0);
+            return new Turno(dto.getClienteId(), dto.getBarberoId(), dto.getServicioId(), dto.getFechaHora(), "");
+        });
+        when(turnoRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Turno> turnos = inv.getArgument(0);
+            turnos.forEach(t -> t.setId(UUID.randomUUID()));
+            return turnos;
+        });
+        when(turnoMapper.entityToDto(any())).thenReturn(new TurnoRequest());
+
+        List<TurnoRequest> items = List.of(
+                item("c1", "b1", diez),
+                item("c2", "b1", diez.plusMinutes(30)),   // choca con el item anterior
+                item("c3", "b1", diez.plusHours(3)),      // choca con el existente
+                item("c4", "b1", diez.plusHours(5)),      // ya tiene turno activo
+                item("c5", "b1", diez.plusHours(1)),
+                item("c1", "b1", diez.plusHours(6)),      // segundo turno del mismo cliente en el lote
+                item("c6", "b1", diez.minusDays(5)));     // en el pasado
+        ResultadoLote resultado = loteTurnosService.crearLote(items);
+
+        assertEquals(2, resultado.getCreados());
+        assertEquals(5, resultado.getRechazados());
+        assertTrue(resultado.getResultados().get(0).isCreado());
+        assertEquals("Horario ocupado.", resultado.getResultados().get(1).getError());
+        assertEquals("Horario ocupado.", resultado.getResultados().get(2).getError());
+        assertFalse(resultado.getResultados().get(3).isCreado());
+        assertTrue(resultado.getResultados().get(4).isCreado());
+        assertFalse(resultado.getResultados().get(5).isCreado());
+        assertFalse(resultado.getResultados().get(6).isCreado());
+
+        verify(turnoRepository, times(1)).saveAll(argThat(l -> ((List<?>) l).size() == 2));
+        verify(outboxService).registrarNotificaciones(argThat(l -> l.size() == 2));
+
+        // La duración resuelta va al turno guardado, no al DTO recibido
+        verify(turnoRepository).saveAll(argThat(l -> ((List<Turno>) l).stream().allMatch(t -> t.getDuracionMinutos() == 45)));
+        assertTrue(items.stream().allMatch(dto -> dto.getDuracionMinutos() == null && dto.getFechaCreacion() == null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void crearLote_siFallaElGuardado_noDevuelveElErrorDeLaBase() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+        when(turnoRepository.findClientesConReservaActiva(eq("b1"), any(), any(), any())).thenReturn(List.of());
+        when(listaEsperaRepository.findClientesEnEspera(eq("b1"), any())).thenReturn(List.of());
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq("b1"), any(), any())).thenReturn(List.of());
+        when(turnoMapper.dtoToEntity(any())).thenAnswer(inv -> {
+            TurnoRequest dto = inv.getArgument(0);
+            return new Turno(dto.getClienteId(), dto.getBarberoId(), dto.getServicioId(), dto.getFechaHora(), "");
+        });
+        when(turnoRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement [Duplicate entry for key 'turno.PRIMARY'] [insert into turno ...]"));
+
+        ResultadoLote resultado = loteTurnosService.crearLote(List.of(item("c1", "b1", diez), item("c2", "b1", diez.plusHours(1))));
+
+        assertEquals(0, resultado.getCreados());
+        assertTrue(resultado.getResultados().stream()
+                .allMatch(r -> LoteTurnosService.ERROR_GUARDADO.equals(r.getError())));
+    }
+
+    @Test
+    void crearLote_excedeMaximo_lanzaValidacion() {
+        List<TurnoRequest> items = java.util.Collections.nCopies(11, item("c1", "b1", diez));
+        assertThrows(ValidacionTurnoException.class, () -> loteTurnosService.crearLote(items));
+    }
+}
@@ -0,0 +1,87 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.config.RabbitMQConfig;
+import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificacionServiceTest {
+
+    @Mock
+    RabbitTemplate rabbitTemplate;
+
+    @Mock
+    UsuariosClient usuariosClient;
+
+    @InjectMocks
+    NotificacionService notificacionService;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ThreadPoolExecutor ejecutor;
+    CountDownLatch soltar = new CountDownLatch(1);
+
+    @BeforeEach
+    void setup() {
+        ejecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        ReflectionTestUtils.setField(notificacionService, "ejecutorNotificaciones", ejecutor);
+        ReflectionTestUtils.setField(notificacionService, "meterRegistry", registry);
+        notificacionService.registrarMetricas();
+    }
+
+    @AfterEach
+    void cerrar() {
+        soltar.countDown();
+        ejecutor.shutdownNow();
+    }
+
+    @Test
+    void enviarNotificacionAsync_poolLleno_derivaAPendientes() throws Exception {
+        // Ocupa el único hilo y el único lugar de la cola
+        ejecutor.execute(() -> {
+            try {
+                soltar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ejecutor.execute(() -> { });
+
+        TurnoRequest t = new TurnoRequest();
+        t.setClienteId("c1");
+        notificacionService.enviarNotificacionAsync(t);
+
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.QUEUE_NOTIFICACIONES_PENDIENTES), same(t));
+        assertEquals(1, registry.get("turnos.notificaciones.rechazadas").counter().count());
+        assertEquals(0, registry.get("turnos.notificaciones.descartadas").counter().count());
+    }
+
+    @Test
+    void procesarPendiente_siFalla_noConfirmaElMensaje() {
+        when(usuariosClient.obtenerUsuario("c1")).thenThrow(new IllegalStateException("usuarios no responde"));
+
+        TurnoRequest t = new TurnoRequest();
+        t.setClienteId("c1");
+
+        // La excepción tiene que llegar al contenedor para que reintente y, al final, lo mande a fallidas
+        assertThrows(IllegalStateException.class, () -> notificacionService.procesarPendiente(t));
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
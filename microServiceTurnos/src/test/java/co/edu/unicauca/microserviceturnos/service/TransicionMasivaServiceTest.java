@@ -0,0 +1,159 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CarrilesBarbero;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.dto.ResultadoTransicionMasiva;
+import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.espera.EntradaEspera;
+import co.edu.unicauca.microserviceturnos.journal.JournalTurnos;
+import co.edu.unicauca.microserviceturnos.mappers.TurnoMapper;
+import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import co.edu.unicauca.microserviceturnos.scheduler.VencimientosNoShow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransicionMasivaServiceTest {
+
+    @Mock
+    TurnoRepository turnoRepository;
+
+    @Mock
+    TurnoMapper turnoMapper;
+
+    @Mock
+    ListaEsperaService listaEsperaService;
+
+    @Mock
+    OutboxService outboxService;
+
+    @Mock
+    JournalTurnos journalTurnos;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    TransicionMasivaService transicionMasivaService;
+
+    LocalDateTime dia = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(transicionMasivaService, "agendaBarberos",
+                new AgendaBarberos(turnoRepository, 45, 5, 365));
+        ReflectionTestUtils.setField(transicionMasivaService, "reservasActivas", new ReservasActivas(100));
+        ReflectionTestUtils.setField(transicionMasivaService, "vencimientosNoShow", new VencimientosNoShow(10, 300));
+        ReflectionTestUtils.setField(transicionMasivaService, "carriles",
+                new CarrilesBarbero(turnoRepository, 1000, new SimpleMeterRegistry()));
+    }
+
+    private Turno turno(String clienteId, int hora, EstadoTurnoEnum estado) {
+        Turno t = new Turno(clienteId, "b1", "s1", dia.withHour(hora), null);
+        t.setId(UUID.randomUUID());
+        t.setDuracionMinutos(45);
+        t.setEstado(estado);
+        return t;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cancelar_actualizaEnConjuntoYReasignaEnUnaPasada() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+
+        Turno diez = turno("c1", 10, EstadoTurnoEnum.CONFIRMADO);
+        Turno once = turno("c2", 11, EstadoTurnoEnum.PENDIENTE);
+        Set<EstadoTurnoEnum> origenes = EnumSet.of(EstadoTurnoEnum.PENDIENTE, EstadoTurnoEnum.CONFIRMADO);
+        when(turnoRepository.findParaTransicion(eq("b1"), any(), any(), eq(origenes)))
+                .thenReturn(List.of(once, diez));
+
+        // Solo hay una persona esperando: toma el primer hueco
+        EntradaEspera espera = new EntradaEspera(UUID.randomUUID(), "c9", "b1", "s2", 0, dia, 45);
+        when(listaEsperaService.reclamarParaHueco(eq("b1"), any(), any()))
+                .thenReturn(Optional.of(espera), Optional.empty());
+        when(listaEsperaService.duracion(espera)).thenReturn(45);
+        when(turnoRepository.save(any(Turno.class))).thenAnswer(inv -> {
+            Turno t = inv.getArgument(0);
+            t.setId(UUID.randomUUID());
+            return t;
+        });
+        when(turnoMapper.entityToDto(any())).thenReturn(new TurnoRequest());
+
+        ResultadoTransicionMasiva r = transicionMasivaService.aplicar(
+                "b1", "cancelar", dia, dia.plusDays(1), true);
+
+        verify(turnoRepository, times(1)).actualizarEstado(eq("b1"), any(), any(), eq(origenes),
+                eq(EstadoTurnoEnum.CANCELADO));
+        assertEquals("CANCELADO", r.getEstado());
+        assertEquals(2, r.getAfectados());
+        assertEquals(List.of(diez.getId().toString(), once.getId().toString()), r.getTurnoIds());
+
+        assertEquals(1, r.getReasignados());
+        verify(turnoRepository).save(argThat(t -> t.getClienteId().equals("c9")
+                && t.getFechaHora().equals(diez.getFechaHora())));
+        verify(listaEsperaService).reclamarParaHueco("b1", diez.getFechaHora(), diez.getId());
+        verify(outboxService, times(1)).registrarNotificaciones(argThat(l -> l.size() == 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void confirmar_dejaFueraLosQueEmpiezanEnMenosDeDosHoras() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+        when(turnoRepository.findParaTransicion(eq("b1"), any(), any(), any())).thenReturn(List.of());
+
+        LocalDateTime ahora = LocalDateTime.now();
+        transicionMasivaService.aplicar("b1", "confirmar", ahora.minusHours(1), ahora.plusDays(1), false);
+
+        verify(turnoRepository).findParaTransicion(eq("b1"),
+                argThat(desde -> !desde.isBefore(ahora.plusHours(2))), eq(ahora.plusDays(1)), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void confirmar_rangoDentroDeLasDosHoras_noTocaNada() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+
+        LocalDateTime ahora = LocalDateTime.now();
+
+        ResultadoTransicionMasiva r = transicionMasivaService.aplicar("b1", "confirmar", ahora, ahora.plusHours(1), false);
+
+        assertEquals(0, r.getAfectados());
+        verify(turnoRepository, never()).findParaTransicion(any(), any(), any(), any());
+        verify(turnoRepository, never()).actualizarEstado(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void aplicar_accionNoAdmitida_lanzaValidacion() {
+        assertThrows(ValidacionTurnoException.class,
+                () -> transicionMasivaService.aplicar("b1", "finalizar", dia, dia.plusDays(1), true));
+        assertThrows(ValidacionTurnoException.class,
+                () -> transicionMasivaService.aplicar("b1", "cancelar", dia, dia, true));
+        verifyNoInteractions(turnoRepository);
+    }
+}
@@ -3,27 +3,50 @@ package co.edu.unicauca.microserviceturnos.service;
 import co.edu.unicauca.microserviceturnos.Excepciones.ListaEsperaException;
 import co.edu.unicauca.microserviceturnos.Excepciones.TurnoSolapadoException;
 import co.edu.unicauca.microserviceturnos.Excepciones.ValidacionTurnoException;
+import co.edu.unicauca.microserviceturnos.agenda.AgendaBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.CacheDisponibilidad;
+import co.edu.unicauca.microserviceturnos.agenda.HorariosBarberos;
+import co.edu.unicauca.microserviceturnos.agenda.ReservasActivas;
+import co.edu.unicauca.microserviceturnos.dto.FiltroTurnos;
+import co.edu.unicauca.microserviceturnos.dto.PaginaTurnos;
 import co.edu.unicauca.microserviceturnos.dto.TurnoRequest;
+import co.edu.unicauca.microserviceturnos.dto.TurnoUpdate;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
 import co.edu.unicauca.microserviceturnos.entities.Turno;
+import co.edu.unicauca.microserviceturnos.journal.JournalTurnos;
 import co.edu.unicauca.microserviceturnos.mappers.TurnoMapper;
+import co.edu.unicauca.microserviceturnos.repository.ExcepcionHorarioRepository;
+import co.edu.unicauca.microserviceturnos.repository.HorarioSemanalRepository;
 import co.edu.unicauca.microserviceturnos.repository.ListaEsperaRepository;
 import co.edu.unicauca.microserviceturnos.repository.TurnoRepository;
+import co.edu.unicauca.microserviceturnos.scheduler.VencimientosNoShow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +59,7 @@ public class TurnoServiceTest {
     TurnoMapper turnoMapper;
 
     @Mock
-    NotificacionService notificacionService;
+    OutboxService outboxService;
 
     @Mock
     ListaEsperaRepository listaEsperaRepository;
@@ -44,6 +67,15 @@ public class TurnoServiceTest {
     @Mock
     ListaEsperaService listaEsperaService;
 
+    @Mock
+    JournalTurnos journalTurnos;
+
+    @Mock
+    CatalogoClient catalogoClient;
+
+    @Mock
+    EntityManager entityManager;
+
     @InjectMocks
     TurnoService turnoService;
 
@@ -52,6 +84,16 @@ public class TurnoServiceTest {
         // Ensure default config values are set
         ReflectionTestUtils.setField(turnoService, "minDurationMinutes", 45);
         ReflectionTestUtils.setField(turnoService, "bufferMinutes", 5);
+        ReflectionTestUtils.setField(turnoService, "pasoDisponibilidadMinutos", 5);
+        ReflectionTestUtils.setField(turnoService, "agendaBarberos",
+                new AgendaBarberos(turnoRepository, 45, 5, 365));
+        ReflectionTestUtils.setField(turnoService, "vencimientosNoShow", new VencimientosNoShow(10, 300));
+        ReflectionTestUtils.setField(turnoService, "reservasActivas", new ReservasActivas(100));
+        ReflectionTestUtils.setField(turnoService, "cacheDisponibilidad",
+                new CacheDisponibilidad(100, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(turnoService, "horariosBarberos",
+                new HorariosBarberos(mock(HorarioSemanalRepository.class), mock(ExcepcionHorarioRepository.class),
+                        LocalTime.of(9, 0), LocalTime.of(18, 0)));
     }
 
     @Test
@@ -80,7 +122,8 @@ public class TurnoServiceTest {
         LocalDateTime inicio = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
         dto.setFechaHora(inicio);
 
-        when(turnoRepository.findByClienteId("cliente1")).thenReturn(new ArrayList<>());
+        when(turnoRepository.existsByClienteIdAndBarberoIdAndFechaHoraAfterAndEstadoNotIn(
+                eq("cliente1"), eq("barbero1"), any(), any())).thenReturn(false);
         when(listaEsperaRepository.existsByClienteIdAndBarberoId("cliente1", "barbero1")).thenReturn(false);
 
         // Create existing turno that overlaps (e.g., at same time)
@@ -98,6 +141,70 @@ public class TurnoServiceTest {
         verify(listaEsperaService, times(1)).guardarEnLista(any());
     }
 
+    @Test
+    void updateTurno_chocaConOtroTurno_lanzaSinGuardar() {
+        LocalDateTime diez = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Turno propio = new Turno("cliente1", "barbero1", "s1", diez, "");
+        propio.setId(UUID.randomUUID());
+        propio.setDuracionMinutos(45);
+        Turno otro = new Turno("cliente2", "barbero1", "s1", diez.plusHours(1), "");
+        otro.setId(UUID.randomUUID());
+        otro.setDuracionMinutos(45);
+        when(turnoRepository.findById(propio.getId())).thenReturn(Optional.of(propio));
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq("barbero1"), any(), any()))
+                .thenReturn(List.of(propio, otro));
+
+        TurnoUpdate dto = new TurnoUpdate();
+        dto.setClienteId("cliente1");
+        dto.setBarberoId("barbero1");
+        dto.setServicioId("s1");
+
+        // Correrlo 5 minutos solo se cruza consigo mismo: se permite
+        dto.setFechaHora(diez.plusMinutes(5));
+        when(turnoRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        turnoService.updateTurno(propio.getId(), dto);
+
+        // Llevarlo encima del de las 11:00 no
+        dto.setFechaHora(diez.plusMinutes(40));
+        assertThrows(TurnoSolapadoException.class, () -> turnoService.updateTurno(propio.getId(), dto));
+        verify(turnoRepository, times(1)).save(any());
+    }
+
+    @Test
+    void createTurno_servicioInactivoEnCatalogo_lanzaSinTocarLaAgenda() {
+        TurnoRequest dto = new TurnoRequest();
+        dto.setClienteId("cliente1");
+        dto.setBarberoId("barbero1");
+        dto.setServicioId("serv1");
+        dto.setFechaHora(LocalDateTime.now().plusDays(1).withHour(10).withMinute(0));
+
+        when(catalogoClient.motivoNoReservable("serv1")).thenReturn("El servicio serv1 no está activo.");
+
+        assertThrows(ValidacionTurnoException.class, () -> turnoService.createTurno(dto));
+        verify(turnoRepository, never()).findByBarberoIdAndFechaHoraBetween(any(), any(), any());
+        verify(turnoRepository, never()).save(any());
+    }
+
+    @Test
+    void createTurno_reservaActivaConocida_noConsultaBD() {
+        LocalDateTime inicio = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+        Turno previo = new Turno("cliente1", "barbero1", "s", inicio.plusDays(1), "");
+        previo.setId(UUID.randomUUID());
+        ReservasActivas reservas = (ReservasActivas) ReflectionTestUtils.getField(turnoService, "reservasActivas");
+        reservas.sincronizar(previo);
+
+        TurnoRequest dto = new TurnoRequest();
+        dto.setClienteId("cliente1");
+        dto.setBarberoId("barbero1");
+        dto.setServicioId("serv1");
+        dto.setFechaHora(inicio);
+
+        assertThrows(ValidacionTurnoException.class, () -> turnoService.createTurno(dto));
+        verify(turnoRepository, never()).existsByClienteIdAndBarberoIdAndFechaHoraAfterAndEstadoNotIn(
+                any(), any(), any(), any());
+    }
+
     @Test
     void getDisponibilidadBarbero_excludesOccupiedHour() {
         String barberoId = "barbero1";
@@ -105,11 +212,12 @@ public class TurnoServiceTest {
         LocalDateTime ocupada = fecha.atTime(LocalTime.of(11,0));
 
         Turno t = new Turno("c1", barberoId, "s1", ocupada, "");
+        t.setId(UUID.randomUUID());
         List<Turno> ocupados = List.of(t);
 
         when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq(barberoId), any(), any())).thenReturn(ocupados);
 
-        var disp = turnoService.getDisponibilidadBarbero(barberoId, fecha.toString(), 1);
+        var disp = turnoService.getDisponibilidadBarbero(barberoId, fecha.toString(), 1, null, null);
 
         assertNotNull(disp);
         assertEquals(barberoId, disp.getBarberoId());
@@ -119,4 +227,133 @@ public class TurnoServiceTest {
         var horas = disp.getHorarios().get(0).getHorasDisponibles();
         assertFalse(horas.contains("11:00"));
     }
+
+    @Test
+    void getDisponibilidadBarbero_consideraDuracionYBuffer() {
+        String barberoId = "barbero1";
+        LocalDate fecha = LocalDate.now().plusDays(2);
+
+        // 10:30 + 60 min ocupa 10:25-11:35 con buffer: bloquea 10:00 y 11:00
+        Turno t = new Turno("c1", barberoId, "s1", fecha.atTime(10, 30), "");
+        t.setId(UUID.randomUUID());
+        t.setDuracionMinutos(60);
+
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq(barberoId), any(), any())).thenReturn(List.of(t));
+
+        var horas = turnoService.getDisponibilidadBarbero(barberoId, fecha.toString(), 1, null, null)
+                .getHorarios().get(0).getHorasDisponibles();
+
+        assertFalse(horas.contains("10:00"));
+        assertFalse(horas.contains("11:00"));
+        assertTrue(horas.contains("09:00"));
+        assertTrue(horas.contains("12:00"));
+    }
+
+    @Test
+    void getDisponibilidadBarbero_inicioDondeCabeLaDuracionDelServicio() {
+        String barberoId = "barbero1";
+        LocalDate fecha = LocalDate.now().plusDays(2);
+
+        // 13:00 + 60 min ocupa 12:55-14:05 con buffer
+        Turno t = new Turno("c1", barberoId, "s1", fecha.atTime(13, 0), "");
+        t.setId(UUID.randomUUID());
+        t.setDuracionMinutos(60);
+
+        when(turnoRepository.findByBarberoIdAndFechaHoraBetween(eq(barberoId), any(), any())).thenReturn(List.of(t));
+        when(catalogoClient.duracion("s90")).thenReturn(OptionalInt.of(90));
+
+        var horas = turnoService.getDisponibilidadBarbero(barberoId, fecha.toString(), 1, "s90", null)
+                .getHorarios().get(0).getHorasDisponibles();
+
+        assertTrue(horas.contains("11:25"));   // termina justo donde empieza el buffer
+        assertFalse(horas.contains("11:30"));
+        assertFalse(horas.contains("14:00"));
+        assertTrue(horas.contains("14:05"));
+        assertTrue(horas.contains("16:30"));   // termina con la jornada
+        assertFalse(horas.contains("16:35"));
+        assertEquals(horas, turnoService.getDisponibilidadBarbero(barberoId, fecha.toString(), 1, null, 90)
+                .getHorarios().get(0).getHorasDisponibles());
+    }
+
+    @Test
+    void getDisponibilidadBarbero_duracionMenorQueLaMinima_lanza() {
+        assertThrows(ValidacionTurnoException.class,
+                () -> turnoService.getDisponibilidadBarbero("barbero1", null, 1, null, 30));
+    }
+
+    private Turno turnoEn(LocalDateTime fechaHora) {
+        Turno t = new Turno("cliente1", "barbero1", "s1", fechaHora, "");
+        t.setId(UUID.randomUUID());
+        return t;
+    }
+
+    @Test
+    void buscarTurnos_pideUnaFilaDeMasYSigueDesdeElCursor() {
+        LocalDateTime diez = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Turno a = turnoEn(diez);
+        Turno b = turnoEn(diez.plusHours(1));
+        Turno c = turnoEn(diez.plusHours(2));
+        when(turnoMapper.entityToDto(any())).thenReturn(new TurnoRequest());
+
+        FiltroTurnos filtro = new FiltroTurnos();
+        filtro.setBarberoId("barbero1");
+        filtro.setEstado("pendiente");
+
+        // Primera página: sin cursor arranca desde el principio y pide limite + 1
+        when(turnoRepository.buscarPagina(eq(EstadoTurnoEnum.PENDIENTE), eq("barbero1"), isNull(), isNull(), isNull(),
+                eq(LocalDateTime.of(1970, 1, 1, 0, 0)), eq(new UUID(0L, 0L)), eq(Limit.of(3))))
+                .thenReturn(List.of(a, b, c));
+
+        PaginaTurnos primera = turnoService.buscarTurnos(filtro, null, 2);
+        assertEquals(2, primera.getTurnos().size());
+        assertNotNull(primera.getSiguienteCursor());
+
+        // La siguiente sigue después del último entregado (b), no del sobrante (c)
+        when(turnoRepository.buscarPagina(eq(EstadoTurnoEnum.PENDIENTE), eq("barbero1"), isNull(), isNull(), isNull(),
+                eq(b.getFechaHora()), eq(b.getId()), eq(Limit.of(3))))
+                .thenReturn(List.of(c));
+
+        PaginaTurnos segunda = turnoService.buscarTurnos(filtro, primera.getSiguienteCursor(), 2);
+        assertEquals(1, segunda.getTurnos().size());
+        assertNull(segunda.getSiguienteCursor());
+    }
+
+    @Test
+    void buscarTurnos_cursorOLimiteInvalidos_lanzanValidacion() {
+        FiltroTurnos filtro = new FiltroTurnos();
+        String sinId = Base64.getUrlEncoder().encodeToString("2030-01-01T10:00".getBytes(StandardCharsets.UTF_8));
+        String fechaMala = Base64.getUrlEncoder().encodeToString(
+                ("ayer|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(ValidacionTurnoException.class, () -> turnoService.buscarTurnos(filtro, "no es base64!", 10));
+        assertThrows(ValidacionTurnoException.class, () -> turnoService.buscarTurnos(filtro, sinId, 10));
+        assertThrows(ValidacionTurnoException.class, () -> turnoService.buscarTurnos(filtro, fechaMala, 10));
+        assertThrows(ValidacionTurnoException.class, () -> turnoService.buscarTurnos(filtro, null, 0));
+        assertThrows(ValidacionTurnoException.class, () -> turnoService.buscarTurnos(filtro, null, 501));
+        verifyNoInteractions(turnoRepository);
+    }
+
+    @Test
+    void exportarTurnos_entregaCadaFilaDesdeElCursorYLaSuelta() {
+        LocalDateTime diez = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Turno a = turnoEn(diez);
+        Turno b = turnoEn(diez.plusHours(1));
+        when(turnoMapper.entityToDto(any())).thenAnswer(inv -> {
+            TurnoRequest dto = new TurnoRequest();
+            dto.setFechaHora(((Turno) inv.getArgument(0)).getFechaHora());
+            return dto;
+        });
+        when(turnoRepository.buscarPagina(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(a, b));
+        String cursor = turnoService.buscarTurnos(new FiltroTurnos(), null, 1).getSiguienteCursor();
+
+        when(turnoRepository.buscarStream(isNull(), isNull(), isNull(), isNull(), isNull(), eq(a.getFechaHora()), eq(a.getId())))
+                .thenReturn(Stream.of(b));
+
+        List<TurnoRequest> exportados = new ArrayList<>();
+        turnoService.exportarTurnos(new FiltroTurnos(), cursor, exportados::add);
+
+        assertEquals(List.of(b.getFechaHora()), exportados.stream().map(TurnoRequest::getFechaHora).toList());
+        verify(entityManager).detach(b);
+    }
 }
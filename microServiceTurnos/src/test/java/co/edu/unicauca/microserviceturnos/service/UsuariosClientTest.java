@@ -0,0 +1,164 @@
+package co.edu.unicauca.microserviceturnos.service;
+
+import co.edu.unicauca.microserviceturnos.dto.UsuarioActualizadoEvent;
+import co.edu.unicauca.microserviceturnos.dto.UsuarioResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UsuariosClientTest {
+
+    UsuariosClient usuariosClient;
+    AtomicInteger llamadas;
+    List<String> pedidos = new CopyOnWriteArrayList<>();
+    volatile boolean usuariosCaido;
+
+    @BeforeEach
+    void setup() {
+        llamadas = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(req -> {
+                    llamadas.incrementAndGet();
+                    if (req.url().getPath().endsWith("/barberos")) {
+                        if (usuariosCaido) return Mono.error(new IllegalStateException("usuarios no responde"));
+                        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"success\":true,\"data\":[{\"id\":\"b1\",\"estado\":true},"
+                                        + "{\"id\":\"b2\",\"estado\":false}]}")
+                                .build());
+                    }
+                    pedidos.add(req.url().getQuery());
+                    String ids = req.url().getQuery().substring("ids=".length());
+                    String cuerpo = Arrays.stream(ids.split(","))
+                            .filter(id -> !id.equals("404"))
+                            .map(id -> "{\"id\":\"" + id + "\",\"nombre\":\"Ana\",\"telefono\":\"300\"}")
+                            .collect(Collectors.joining(",", "[", "]"));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body(cuerpo)
+                                    .build())
+                            .delayElement(Duration.ofMillis(200));
+                })
+                .build();
+
+        usuariosClient = new UsuariosClient();
+        ReflectionTestUtils.setField(usuariosClient, "webClient", webClient);
+        ReflectionTestUtils.setField(usuariosClient, "usuariosServiceUrl", "http://usuarios/usuarios");
+        ReflectionTestUtils.setField(usuariosClient, "usuariosTtlSegundos", 600L);
+        ReflectionTestUtils.setField(usuariosClient, "barberosTtlSegundos", 60L);
+        ReflectionTestUtils.setField(usuariosClient, "usuariosMaxEntradas", 2);
+        ReflectionTestUtils.setField(usuariosClient, "loteEsperaMs", 20L);
+        ReflectionTestUtils.setField(usuariosClient, "loteMaxIds", 3);
+        ReflectionTestUtils.setField(usuariosClient, "loteHilos", 2);
+        usuariosClient.iniciar();
+    }
+
+    @AfterEach
+    void cerrar() {
+        usuariosClient.cerrar();
+    }
+
+    @Test
+    void obtenerUsuarios_juntaLosIdsEnLotes() {
+        Map<String, UsuarioResponse> usuarios = usuariosClient.obtenerUsuarios(List.of("1", "2", "404", "2", "4"));
+
+        assertEquals(List.of("1", "2", "4"), List.copyOf(usuarios.keySet()));
+        // Tres ids distintos llenan un lote; el cuarto sale en el siguiente
+        assertEquals(2, llamadas.get());
+        assertTrue(pedidos.contains("ids=1,2,404"));
+        assertTrue(pedidos.contains("ids=4"));
+    }
+
+    @Test
+    void obtenerUsuarios_idNoNumericoCuentaComoInexistente() {
+        Map<String, UsuarioResponse> usuarios = usuariosClient.obtenerUsuarios(List.of("1", "abc", "2"));
+
+        assertEquals(List.of("1", "2"), List.copyOf(usuarios.keySet()));
+        assertEquals(List.of("ids=1,2"), pedidos);
+    }
+
+    @Test
+    void obtenerUsuario_consultasSimultaneasHacenUnaSolaLlamada() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        List<Future<UsuarioResponse>> respuestas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            respuestas.add(hilos.submit(() -> usuariosClient.obtenerUsuario("7")));
+        }
+        for (Future<UsuarioResponse> f : respuestas) {
+            assertEquals("300", f.get().getTelefono());
+        }
+        hilos.shutdown();
+
+        assertEquals(1, llamadas.get());
+
+        // Ya en caché
+        usuariosClient.obtenerUsuario("7");
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void alActualizarUsuario_refrescaElPerfilSinLlamar() {
+        usuariosClient.obtenerUsuario("7");
+
+        UsuarioActualizadoEvent evento = new UsuarioActualizadoEvent();
+        evento.setId("7");
+        evento.setNombre("Ana");
+        evento.setTelefono("311");
+        usuariosClient.alActualizarUsuario(evento);
+
+        assertEquals("311", usuariosClient.obtenerUsuario("7").getTelefono());
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void alActualizarBarbero_releeLaListaPeroConservaLaAnteriorSiUsuariosFalla() {
+        assertEquals(List.of("b1"), usuariosClient.barberosActivos());
+        assertEquals(List.of("b1"), usuariosClient.barberosActivos());
+        assertEquals(1, llamadas.get());
+
+        UsuarioActualizadoEvent evento = new UsuarioActualizadoEvent();
+        evento.setId("b2");
+        evento.setRol("barbero");
+        usuariosClient.alActualizarUsuario(evento);
+
+        // Vencida por el evento: intenta releer y, sin respuesta, sigue con la conocida
+        usuariosCaido = true;
+        assertEquals(List.of("b1"), usuariosClient.barberosActivos());
+        assertEquals(2, llamadas.get());
+    }
+
+    @Test
+    void obtenerUsuario_descartaElMenosUsado() {
+        usuariosClient.obtenerUsuario("1");
+        usuariosClient.obtenerUsuario("2");
+        usuariosClient.obtenerUsuario("1");
+        usuariosClient.obtenerUsuario("3");     // sale el 2
+
+        assertEquals(2, usuariosClient.perfilesEnCache());
+        usuariosClient.obtenerUsuario("1");
+        assertEquals(3, llamadas.get());
+        usuariosClient.obtenerUsuario("2");
+        assertEquals(4, llamadas.get());
+    }
+}
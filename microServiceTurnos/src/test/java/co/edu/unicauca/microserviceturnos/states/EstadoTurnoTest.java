@@ -0,0 +1,58 @@
+package co.edu.unicauca.microserviceturnos.states;
+
+import co.edu.unicauca.microserviceturnos.Excepciones.AccionInvalidaTurnoException;
+import co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum;
+import co.edu.unicauca.microserviceturnos.entities.Turno;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static co.edu.unicauca.microserviceturnos.entities.EstadoTurnoEnum.*;
+import static co.edu.unicauca.microserviceturnos.states.AccionTurno.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EstadoTurnoTest {
+
+    @Test
+    void aplicar_soloPermiteLasTransicionesDeLaTabla() {
+        Map<EstadoTurnoEnum, Map<AccionTurno, EstadoTurnoEnum>> permitidas = new EnumMap<>(EstadoTurnoEnum.class);
+        permitidas.put(PENDIENTE, Map.of(CONFIRMAR, CONFIRMADO, INICIAR, EN_PROCESO, CANCELAR, CANCELADO));
+        permitidas.put(CONFIRMADO, Map.of(INICIAR, EN_PROCESO, CANCELAR, CANCELADO, MARCAR_NO_ASISTIO, NO_ASISTIO));
+        permitidas.put(EN_PROCESO, Map.of(FINALIZAR, FINALIZADO));
+
+        for (EstadoTurnoEnum estado : EstadoTurnoEnum.values()) {
+            Map<AccionTurno, EstadoTurnoEnum> desde = permitidas.getOrDefault(estado, Map.of());
+            for (AccionTurno accion : AccionTurno.values()) {
+                EstadoTurno e = EstadoTurno.de(estado);
+                if (desde.containsKey(accion)) {
+                    assertEquals(desde.get(accion), e.aplicar(accion), estado + " / " + accion);
+                } else {
+                    AccionInvalidaTurnoException ex =
+                            assertThrows(AccionInvalidaTurnoException.class, () -> e.aplicar(accion));
+                    assertFalse(ex.getMessage().isBlank());
+                }
+            }
+        }
+    }
+
+    @Test
+    void turno_recorreElCicloYConservaElMensajeDeError() {
+        Turno t = new Turno("c1", "b1", "s1", null, null);
+        assertSame(EstadoTurno.de(PENDIENTE), t.getEstadoTurnoObjeto());
+
+        t.confirmar();
+        t.iniciar();
+        t.finalizar();
+        assertEquals(FINALIZADO, t.getEstado());
+
+        AccionInvalidaTurnoException ex = assertThrows(AccionInvalidaTurnoException.class, t::cancelar);
+        assertEquals("No se puede cancelar un turno finalizado.", ex.getMessage());
+        assertEquals(FINALIZADO, t.getEstado());
+
+        // El estado cambiado por fuera (p. ej. al mapear) se respeta en la siguiente acción
+        t.setEstado(CONFIRMADO);
+        t.noAsistio();
+        assertEquals(NO_ASISTIO, t.getEstado());
+    }
+}
@@ -14,16 +14,20 @@ import co.edu.unicauca.UsuariosMicroService.infra.dto.UsuarioRequest;
 import co.edu.unicauca.UsuariosMicroService.service.UsuarioService;
 import co.edu.unicauca.UsuariosMicroService.infra.exception.UserAlreadyExistsException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/usuarios")
 public class UsuarioController {
 
     private static final Logger log = LoggerFactory.getLogger(UsuarioController.class);
+    private static final int MAX_IDS_LOTE = 500;
 
     @Autowired
     private UsuarioService service;
@@ -245,6 +249,40 @@ public class UsuarioController {
         return ResponseEntity.ok(Map.of("success", true, "message", "Teléfono disponible"));
     }
 
+    // -------------------------------------------
+    // OBTENER VARIOS USUARIOS POR ID (uso interno)
+    // -------------------------------------------
+    @GetMapping("/batch")
+    public ResponseEntity<?> getUsuariosByIds(@RequestParam List<String> ids) {
+        if (ids.size() > MAX_IDS_LOTE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "Se admiten como máximo " + MAX_IDS_LOTE + " ids"));
+        }
+
+        // Un id que no es numérico no existe: se omite como los demás no encontrados
+        Set<Long> pedidos = new LinkedHashSet<>();
+        for (String id : ids) {
+            try {
+                pedidos.add(Long.valueOf(id.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Id de usuario inválido en el lote: {}", id);
+            }
+        }
+
+        Map<Long, User> encontrados = new HashMap<>();
+        for (User u : service.findByIds(pedidos)) {
+            encontrados.put(u.getId(), u);
+        }
+
+        // En el orden pedido; los ids que no existen se omiten
+        List<UsuarioResumenDTO> resultado = new ArrayList<>();
+        for (Long id : pedidos) {
+            User u = encontrados.get(id);
+            if (u != null) resultado.add(toResumen(u));
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getUsuarioById(@PathVariable String id) {
 
@@ -370,5 +408,14 @@ public class UsuarioController {
                     .body(Map.of("success", false, "message", "Error interno al cambiar estado del barbero"));
         }
     }
-}
 
+    private UsuarioResumenDTO toResumen(User u) {
+        UsuarioResumenDTO dto = new UsuarioResumenDTO();
+        dto.setId(String.valueOf(u.getId()));
+        dto.setNombre(u.getNombre());
+        dto.setTelefono(u.getTelefono());
+        dto.setRol(u.getRol());
+        dto.setEstado(u.isEstado());
+        return dto;
+    }
+}
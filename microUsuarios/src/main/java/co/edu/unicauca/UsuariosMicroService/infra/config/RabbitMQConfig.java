@@ -1,6 +1,7 @@
 package co.edu.unicauca.UsuariosMicroService.infra.config;
 
 import com.rabbitmq.client.ConnectionFactory;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
@@ -13,6 +14,8 @@ public class RabbitMQConfig {
 
     public static final String USER_QUEUE_CREATED = "UsuariosQueue";    
     public static final String USER_QUEUE_UPDATED = "UsuariosUpdatedQueue";    
+    // Difusión de cambios de usuario: cada servicio interesado enlaza su propia cola
+    public static final String USUARIOS_EXCHANGE = "usuarios.eventos";
     @Bean
     public Queue UsuarioCreatedQueue() {
         return new Queue(USER_QUEUE_CREATED , true);
@@ -22,6 +25,10 @@ public class RabbitMQConfig {
         return new Queue(USER_QUEUE_UPDATED , true);
     }
     @Bean
+    public FanoutExchange usuariosExchange() {
+        return new FanoutExchange(USUARIOS_EXCHANGE, true, false);
+    }
+    @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
@@ -0,0 +1,15 @@
+package co.edu.unicauca.UsuariosMicroService.infra.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Se difunde por el exchange de eventos de usuarios para que otros servicios refresquen sus copias
+@Getter
+@Setter
+public class UsuarioActualizadoEvent {
+    private Long id;
+    private String nombre;
+    private String telefono;
+    private String rol;
+    private boolean estado;
+}
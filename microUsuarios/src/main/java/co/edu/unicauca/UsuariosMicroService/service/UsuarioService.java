@@ -12,9 +12,11 @@ import org.slf4j.LoggerFactory;
 import co.edu.unicauca.UsuariosMicroService.entities.User;
 import co.edu.unicauca.UsuariosMicroService.infra.config.RabbitMQConfig;
 import co.edu.unicauca.UsuariosMicroService.infra.dto.UserCreateRequest;
+import co.edu.unicauca.UsuariosMicroService.infra.dto.UsuarioActualizadoEvent;
 import co.edu.unicauca.UsuariosMicroService.infra.dto.UsuarioRequest;
 import co.edu.unicauca.UsuariosMicroService.repository.UsuarioRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.modelmapper.ModelMapper;
@@ -50,6 +52,11 @@ public class UsuarioService {
     public Optional<User> findById(Long id) {
         return repository.findById(id);
     }
+
+    // Una sola consulta "where id in (...)"; no garantiza orden
+    public List<User> findByIds(Collection<Long> ids) {
+        return repository.findAllById(ids);
+    }
     
     @Transactional
     public User save(UsuarioRequest usuarioRequest) {
@@ -135,6 +142,7 @@ public class UsuarioService {
         } catch (Exception e) {
             log.warn("Error publicando evento de actualización de usuario: {}", e.getMessage());
         }
+        publicarUsuarioActualizado(updated);
 
         return updated;
     }
@@ -203,10 +211,26 @@ public class UsuarioService {
         } catch (Exception e) {
             log.warn("Error publicando evento de actualización de estado del barbero: {}", e.getMessage());
         }
+        publicarUsuarioActualizado(actualizado);
 
         return actualizado;
     }
     
+    // Difunde el usuario actualizado (Turnos lo usa para refrescar su caché de perfiles)
+    private void publicarUsuarioActualizado(User user) {
+        try {
+            UsuarioActualizadoEvent evento = new UsuarioActualizadoEvent();
+            evento.setId(user.getId());
+            evento.setNombre(user.getNombre());
+            evento.setTelefono(user.getTelefono());
+            evento.setRol(user.getRol());
+            evento.setEstado(user.isEstado());
+            rabbitTemplate.convertAndSend(RabbitMQConfig.USUARIOS_EXCHANGE, "", evento);
+        } catch (Exception e) {
+            log.warn("Error difundiendo actualización del usuario {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     private String generateEmail(User user) {
         return user.getTelefono() != null && user.getTelefono().contains("@") ? 
                user.getTelefono() : 